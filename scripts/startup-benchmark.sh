@@ -0,0 +1,104 @@
+#!/usr/bin/env bash
+#
+# Measures the time from launching the JVM to the first successful GET /api/dogbreeds, for each
+# startup configuration of the application jar.
+#
+# Build the jar with the fast-start profile first, so the AOT configurations can be measured too:
+#
+#   ./mvnw -Pfast-start package -DskipTests
+#   scripts/startup-benchmark.sh [runs]
+#
+# Every configuration gets its own database, seeded by an unmeasured first start, so the measured
+# starts find an unchanged catalog like a restarted instance does. Reports the fastest and the
+# median of the measured starts, in milliseconds. Needs a JDK, curl and GNU date.
+
+set -euo pipefail
+
+runs=${1:-5}
+port=${PORT:-18080}
+root=$(cd "$(dirname "$0")/.." && pwd)
+jar=$(ls "$root"/target/dogapi-*.jar | head -n 1)
+work=$(mktemp -d)
+pid=
+elapsed=
+
+cleanup() {
+  if [[ -n $pid ]]; then
+    kill "$pid" 2>/dev/null || true
+  fi
+  rm -rf "$work"
+}
+trap cleanup EXIT
+
+# CDS needs the application and its libraries as plain jars on the class path
+java -Djarmode=tools -jar "$jar" extract --destination "$work/app" >/dev/null
+app="$work/app/$(basename "$jar")"
+
+now_ms() {
+  echo $(($(date +%s%N) / 1000000))
+}
+
+# Starts the application with the given JVM options and sets elapsed to the milliseconds until the
+# first successful GET /api/dogbreeds.
+start_once() {
+  local name=$1 database=$2
+  shift 2
+  local start
+  start=$(now_ms)
+  java "$@" -jar "$app" --server.port="$port" \
+    --spring.datasource.url="jdbc:h2:file:$database" >"$work/$name.log" 2>&1 &
+  pid=$!
+  until curl -fs -o /dev/null "http://localhost:$port/api/dogbreeds"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "$name: the application exited, see its log:" >&2
+      cat "$work/$name.log" >&2
+      exit 1
+    fi
+    sleep 0.01
+  done
+  elapsed=$(($(now_ms) - start))
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  pid=
+}
+
+# Measures one configuration: a name, then the JVM options to start it with.
+measure() {
+  local name=$1
+  shift
+  local database="$work/$name/dogdb"
+  local times=()
+  start_once "$name" "$database" "$@"
+  for ((run = 0; run < runs; run++)); do
+    start_once "$name" "$database" "$@"
+    times+=("$elapsed")
+  done
+  local sorted
+  sorted=$(printf '%s\n' "${times[@]}" | sort -n)
+  printf '%-22s min %6d ms   median %6d ms\n' "$name" \
+    "$(head -n 1 <<<"$sorted")" "$(sed -n "$((runs / 2 + 1))p" <<<"$sorted")"
+}
+
+# Creates a class data sharing archive from a training run with the given JVM options and prints
+# the option that uses it.
+cds_archive() {
+  local archive="$work/$1.jsa"
+  shift
+  java -XX:ArchiveClassesAtExit="$archive" -Dspring.context.exit=onRefresh "$@" -jar "$app" \
+    --spring.datasource.url=jdbc:h2:mem:training >"$work/training.log" 2>&1
+  echo "-XX:SharedArchiveFile=$archive"
+}
+
+prod=(-Dspring.profiles.active=prod)
+measure default
+measure prod-validate "${prod[@]}" -Dspring.main.lazy-initialization=false
+measure prod-lazy "${prod[@]}"
+measure prod-lazy-cds "${prod[@]}" "$(cds_archive prod "${prod[@]}")"
+
+if [[ $(unzip -Z1 "$jar") == *__ApplicationContextInitializer* ]]; then
+  aot=("${prod[@]}" -Dspring.aot.enabled=true)
+  measure prod-lazy-aot "${aot[@]}"
+  measure prod-lazy-aot-cds "${aot[@]}" "$(cds_archive aot "${aot[@]}")"
+else
+  echo "Skipping the AOT configurations: $(basename "$jar") was not built with -Pfast-start" >&2
+fi
@@ -0,0 +1,68 @@
+package com.github.vcxxxx.dogapi.benchmark;
+
+import com.github.vcxxxx.dogapi.config.SeedFileParser;
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import com.github.vcxxxx.dogapi.search.BreedSearchIndex;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latency of {@link BreedSearchIndex} searches over the bundled seed catalog, for prefixes, typos
+ * and a query matching nothing, and of applying a single renamed breed to the index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BreedSearchBenchmark {
+
+  /** Query of the search benchmark. */
+  @State(Scope.Benchmark)
+  public static class Query {
+
+    @Param({"b", "bul", "retr", "retreiver", "goldne", "terier", "french bull", "spanel", "xyzzy"})
+    String text;
+  }
+
+  private BreedSearchIndex index;
+  private DogBreed renamed;
+
+  @Setup
+  public void setUp() throws IOException {
+    List<DogBreed> breeds = new ArrayList<>();
+    try (InputStream in = getClass().getResourceAsStream("/dogs.json")) {
+      SeedFileParser.parse(
+          in,
+          (breed, subBreed) -> breeds.add(new DogBreed((long) breeds.size(), breed, subBreed)));
+    }
+    index = BreedSearchIndex.of(breeds);
+    DogBreed first = breeds.get(0);
+    renamed = new DogBreed(first.getId(), first.getBreed(), "renamed", 1L);
+  }
+
+  @Benchmark
+  public List<DogBreed> search(Query query) {
+    return index.search(query.text, 20);
+  }
+
+  @Benchmark
+  public BreedSearchIndex applyRename() {
+    return index.with(List.of(renamed), List.of());
+  }
+}
@@ -0,0 +1,69 @@
+package com.github.vcxxxx.dogapi.benchmark;
+
+import com.github.vcxxxx.dogapi.catalog.BreedTable;
+import com.github.vcxxxx.dogapi.config.SeedFiles;
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Memory of a list of breed entities, as loaded from the database, against a {@link BreedTable}
+ * of the same breeds.
+ *
+ * <p>Run with the GC profiler, {@code -Djmh.args="BreedTableFootprintBenchmark -prof gc"}, and
+ * compare {@code gc.alloc.rate.norm}, the bytes allocated per operation. The entity list retains
+ * everything it allocates, so its figure is its footprint; the table also allocates temporary
+ * structures while it is built, so its figure is an upper bound of its footprint.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BreedTableFootprintBenchmark {
+
+  private static final int SUB_BREEDS_PER_BREED = 10;
+
+  @Param({"100000", "1000000"})
+  int rows;
+
+  private List<DogBreed> entities;
+
+  @Setup
+  public void setUp() {
+    entities = entities();
+  }
+
+  /** Creates entities the way Hibernate does, with separate name strings on every row. */
+  @Benchmark
+  public List<DogBreed> entities() {
+    List<DogBreed> list = new ArrayList<>(rows);
+    for (int i = 0; i < rows; i++) {
+      list.add(
+          new DogBreed(
+              (long) i + 1,
+              new String(SeedFiles.name(i / SUB_BREEDS_PER_BREED)),
+              new String(SeedFiles.name(i % SUB_BREEDS_PER_BREED)),
+              0L));
+    }
+    return list;
+  }
+
+  @Benchmark
+  public BreedTable table() {
+    return BreedTable.of(entities);
+  }
+}
@@ -0,0 +1,88 @@
+package com.github.vcxxxx.dogapi.benchmark;
+
+import com.github.vcxxxx.dogapi.DogBreedApiApplication;
+import com.github.vcxxxx.dogapi.config.SeedFiles;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Application context backed by a fresh file-based H2 database seeded with a generated catalog.
+ *
+ * <p>Each fixture lives in its own temporary directory, which is deleted on {@link #close()}.
+ */
+final class CatalogFixture implements AutoCloseable {
+
+  private final Path directory;
+  private final ConfigurableApplicationContext context;
+
+  private CatalogFixture(Path directory, ConfigurableApplicationContext context) {
+    this.directory = directory;
+    this.context = context;
+  }
+
+  /**
+   * Starts the application without a web server against a database holding the given number of
+   * breeds.
+   *
+   * @param catalogSize the number of breeds to seed
+   * @param properties additional {@code name=value} application properties
+   * @return the started fixture
+   * @throws IOException if the seed file cannot be written
+   */
+  static CatalogFixture start(int catalogSize, String... properties) throws IOException {
+    Path directory = Files.createTempDirectory("dogapi-benchmark-");
+    Path seedFile = SeedFiles.write(directory.resolve("dogs.json"), catalogSize);
+
+    List<String> args = new ArrayList<>();
+    args.add("--spring.datasource.url=jdbc:h2:file:" + directory.resolve("dogdb"));
+    args.add("--dogapi.seed.location=file:" + seedFile);
+    args.add("--logging.level.root=warn");
+    for (String property : properties) {
+      args.add("--" + property);
+    }
+
+    ConfigurableApplicationContext context =
+        new SpringApplicationBuilder(DogBreedApiApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(args.toArray(String[]::new));
+    return new CatalogFixture(directory, context);
+  }
+
+  /**
+   * Returns a bean of the application context.
+   *
+   * @param type the bean type
+   * @param <T> the bean type
+   * @return the bean
+   */
+  <T> T bean(Class<T> type) {
+    return context.getBean(type);
+  }
+
+  /**
+   * Returns the IDs of all seeded breeds.
+   *
+   * @return the breed IDs in ascending order
+   */
+  long[] ids() {
+    return bean(JdbcTemplate.class)
+        .queryForList("select id from dog_breeds order by id", Long.class)
+        .stream()
+        .mapToLong(Long::longValue)
+        .toArray();
+  }
+
+  @Override
+  public void close() throws IOException {
+    context.close();
+    FileSystemUtils.deleteRecursively(directory);
+  }
+}
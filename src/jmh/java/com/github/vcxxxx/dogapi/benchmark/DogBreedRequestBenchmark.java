@@ -0,0 +1,84 @@
+package com.github.vcxxxx.dogapi.benchmark;
+
+import com.github.vcxxxx.dogapi.controller.DogBreedRequestValidator;
+import com.github.vcxxxx.dogapi.dto.BreedNames;
+import com.github.vcxxxx.dogapi.dto.DogBreedRequest;
+import com.github.vcxxxx.dogapi.exception.ValidationError;
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of validating a breed request body and mapping it to an entity, with Bean Validation and
+ * {@code trim().toLowerCase()} as before, and with {@link DogBreedRequestValidator} and {@link
+ * BreedNames}.
+ *
+ * <p>Run with the GC profiler to compare allocations, reported as {@code gc.alloc.rate.norm} in
+ * bytes per request: {@code -Djmh.args="DogBreedRequestBenchmark -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DogBreedRequestBenchmark {
+
+  /** A request in normal form, one that needs normalizing, and an invalid one. */
+  @Param({"hound:afghan", "Hound:Afghan", "hound:afghan1"})
+  String request;
+
+  private ValidatorFactory validatorFactory;
+  private Validator beanValidator;
+  private DogBreedRequestValidator requestValidator;
+  private DogBreedRequest body;
+
+  @Setup
+  public void setUp() {
+    validatorFactory = Validation.buildDefaultValidatorFactory();
+    beanValidator = validatorFactory.getValidator();
+    requestValidator = new DogBreedRequestValidator();
+    String[] names = request.split(":");
+    body = new DogBreedRequest(names[0], names[1]);
+  }
+
+  @TearDown
+  public void tearDown() {
+    validatorFactory.close();
+  }
+
+  @Benchmark
+  public Object beanValidation() {
+    Set<ConstraintViolation<DogBreedRequest>> violations = beanValidator.validate(body);
+    if (!violations.isEmpty()) {
+      return violations;
+    }
+    return new DogBreed(body.breed().trim().toLowerCase(), body.subBreed().trim().toLowerCase());
+  }
+
+  @Benchmark
+  public Object fastPath() {
+    List<ValidationError> errors = requestValidator.validate(body);
+    if (!errors.isEmpty()) {
+      return errors;
+    }
+    return new DogBreed(BreedNames.normalize(body.breed()), BreedNames.normalize(body.subBreed()));
+  }
+}
@@ -0,0 +1,67 @@
+package com.github.vcxxxx.dogapi.benchmark;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.vcxxxx.dogapi.config.SeedFiles;
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Cost of serializing {@code List<DogBreed>} with an object mapper configured like the
+ * application's, as a single array and row by row as the streaming endpoints do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DogBreedSerializationBenchmark {
+
+  @Param({"100", "10000", "1000000"})
+  int catalogSize;
+
+  private ObjectMapper objectMapper;
+  private List<DogBreed> breeds;
+
+  @Setup
+  public void setUp() {
+    objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    breeds = new ArrayList<>(catalogSize);
+    for (int i = 0; i < catalogSize; i++) {
+      breeds.add(new DogBreed((long) i + 1, SeedFiles.name(i / 10), SeedFiles.name(i % 10)));
+    }
+  }
+
+  @Benchmark
+  public byte[] writeArray() throws IOException {
+    return objectMapper.writeValueAsBytes(breeds);
+  }
+
+  @Benchmark
+  public void writeNdjson() throws IOException {
+    try (JsonGenerator generator = objectMapper.createGenerator(OutputStream.nullOutputStream())) {
+      generator.setRootValueSeparator(null);
+      for (DogBreed breed : breeds) {
+        generator.writeObject(breed);
+        generator.writeRaw('\n');
+      }
+    }
+  }
+}
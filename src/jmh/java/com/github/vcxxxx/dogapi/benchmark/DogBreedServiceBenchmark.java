@@ -0,0 +1,89 @@
+package com.github.vcxxxx.dogapi.benchmark;
+
+import com.github.vcxxxx.dogapi.config.SeedFiles;
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import com.github.vcxxxx.dogapi.service.DogBreedService;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latency of the {@link DogBreedService} read and write paths against a file-based H2 database.
+ *
+ * <p>Each trial starts the application against a freshly seeded database of {@code catalogSize}
+ * breeds, with the catalog snapshot mode on or off.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DogBreedServiceBenchmark {
+
+  @Param({"100", "10000", "1000000"})
+  int catalogSize;
+
+  @Param({"false", "true"})
+  boolean snapshot;
+
+  private CatalogFixture fixture;
+  private DogBreedService service;
+  private long[] ids;
+  private final AtomicLong names = new AtomicLong();
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    fixture = CatalogFixture.start(catalogSize, "dogapi.snapshot.enabled=" + snapshot);
+    service = fixture.bean(DogBreedService.class);
+    ids = fixture.ids();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    fixture.close();
+  }
+
+  @Benchmark
+  public List<DogBreed> getAllBreeds() {
+    return service.getAllBreeds();
+  }
+
+  @Benchmark
+  public DogBreed getBreedById() {
+    return service.getBreedById(randomId());
+  }
+
+  @Benchmark
+  public DogBreed createBreed() {
+    return service.createBreed(new DogBreed("bench" + nextName(), null));
+  }
+
+  @Benchmark
+  public DogBreed updateBreed() {
+    return service.updateBreed(randomId(), new DogBreed("updated", nextName()));
+  }
+
+  private long randomId() {
+    return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+  }
+
+  private String nextName() {
+    return SeedFiles.name(names.getAndIncrement());
+  }
+}
@@ -0,0 +1,88 @@
+package com.github.vcxxxx.dogapi.benchmark;
+
+import com.github.vcxxxx.dogapi.config.SeedFiles;
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import com.github.vcxxxx.dogapi.service.DogBreedService;
+import com.github.vcxxxx.dogapi.service.DogBreedWriteQueue;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+/**
+ * Throughput of concurrent single-breed creations against a file-based H2 database, with one
+ * commit per write and with the {@link DogBreedWriteQueue} committing them in groups.
+ *
+ * <p>Runs with 32 writer threads, or as many as given with {@code -t}, each creating breeds of its
+ * own, and a connection pool of the same size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(32)
+public class DogBreedWriteQueueBenchmark {
+
+  @Param({"false", "true"})
+  boolean queued;
+
+  private CatalogFixture fixture;
+  private DogBreedService service;
+  private DogBreedWriteQueue queue;
+
+  /** Breed names of one writer thread. */
+  @State(Scope.Thread)
+  public static class Writer {
+
+    private static final AtomicInteger THREADS = new AtomicInteger();
+
+    private String breed;
+    private long subBreeds;
+
+    @Setup
+    public void setUp() {
+      breed = "bench" + SeedFiles.name(THREADS.getAndIncrement());
+    }
+
+    DogBreed next() {
+      return new DogBreed(breed, SeedFiles.name(subBreeds++));
+    }
+  }
+
+  @Setup(Level.Trial)
+  public void setUp(BenchmarkParams params) throws IOException {
+    fixture =
+        CatalogFixture.start(
+            100,
+            "spring.datasource.hikari.maximum-pool-size=" + params.getThreads(),
+            "dogapi.write-queue.enabled=" + queued);
+    service = fixture.bean(DogBreedService.class);
+    queue = queued ? fixture.bean(DogBreedWriteQueue.class) : null;
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    fixture.close();
+  }
+
+  @Benchmark
+  public DogBreed createBreed(Writer writer) {
+    return queued ? queue.createBreed(writer.next()).join() : service.createBreed(writer.next());
+  }
+}
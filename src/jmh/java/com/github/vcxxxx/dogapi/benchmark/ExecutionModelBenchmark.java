@@ -0,0 +1,129 @@
+package com.github.vcxxxx.dogapi.benchmark;
+
+import com.github.vcxxxx.dogapi.config.SeedFiles;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Throughput of the thread-per-request model against virtual threads and repository admission
+ * control, under more concurrent HTTP clients than database connections.
+ *
+ * <p>Of the 200 clients, 160 page through the catalog from the database and 40 read the in-memory
+ * breed tree. An operation is one answered request: a request shed by admission control with 503
+ * is retried after its {@code Retry-After} delay within the same operation, and counted in the
+ * {@code rejected} counter. Any other failure, such as a connection error or an unexpected status,
+ * fails the run. Run with {@code -bm sample} for latency percentiles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 1, time = 5)
+@Measurement(iterations = 3, time = 5)
+public class ExecutionModelBenchmark {
+
+  private static final int CATALOG_SIZE = 100_000;
+  private static final int DB_POOL_SIZE = 4;
+
+  @Param({"false", "true"})
+  boolean virtualThreads;
+
+  @Param({"false", "true"})
+  boolean admission;
+
+  private CatalogFixture fixture;
+  private HttpClient client;
+  private String baseUrl;
+
+  /** Requests of one client thread shed by admission control. */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Rejections {
+
+    /** Requests shed with 503. */
+    public long rejected;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      rejected = 0;
+    }
+  }
+
+  @Setup
+  public void setUp() throws IOException {
+    fixture =
+        CatalogFixture.start(
+            CATALOG_SIZE,
+            "spring.main.web-application-type=servlet",
+            "server.port=0",
+            "spring.datasource.hikari.maximum-pool-size=" + DB_POOL_SIZE,
+            "spring.threads.virtual.enabled=" + virtualThreads,
+            "dogapi.admission.enabled=" + admission);
+    client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    baseUrl =
+        "http://localhost:"
+            + fixture.bean(Environment.class).getProperty("local.server.port")
+            + "/api/dogbreeds";
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    fixture.close();
+  }
+
+  @Benchmark
+  @Group("mixed")
+  @GroupThreads(160)
+  public void page(Rejections rejections) throws IOException, InterruptedException {
+    int after = ThreadLocalRandom.current().nextInt(CATALOG_SIZE);
+    send(baseUrl + "?limit=200&after=" + after, rejections);
+  }
+
+  @Benchmark
+  @Group("mixed")
+  @GroupThreads(40)
+  public void tree(Rejections rejections) throws IOException, InterruptedException {
+    int breed = ThreadLocalRandom.current().nextInt(CATALOG_SIZE / 10);
+    send(baseUrl + "/tree/" + SeedFiles.name(breed), rejections);
+  }
+
+  private void send(String url, Rejections rejections) throws IOException, InterruptedException {
+    HttpRequest request = HttpRequest.newBuilder(URI.create(url)).build();
+    while (true) {
+      HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+      int status = response.statusCode();
+      if (status == 200) {
+        return;
+      }
+      if (status != 503) {
+        throw new IllegalStateException("Unexpected status " + status + " from " + url);
+      }
+      rejections.rejected++;
+      long retryAfter = response.headers().firstValueAsLong(HttpHeaders.RETRY_AFTER).orElse(1);
+      Thread.sleep(TimeUnit.SECONDS.toMillis(retryAfter));
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package com.github.vcxxxx.dogapi.benchmark;
+
+import com.github.vcxxxx.dogapi.DogBreedApiApplication;
+import com.github.vcxxxx.dogapi.config.SeedFiles;
+import com.github.vcxxxx.dogapi.repository.DogBreedRepository;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Duration of a cold start that seeds an empty file-based H2 database from a generated seed file.
+ *
+ * <p>Every invocation starts the application against a new database and is timed once; the seed
+ * file is written beforehand and not part of the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class SeedLoadBenchmark {
+
+  @Param({"10000", "100000", "1000000"})
+  int rows;
+
+  private Path directory;
+  private Path seedFile;
+  private Path database;
+
+  @Setup
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("dogapi-benchmark-");
+    seedFile = SeedFiles.write(directory.resolve("dogs.json"), rows);
+  }
+
+  @Setup(Level.Invocation)
+  public void createDatabaseDirectory() throws IOException {
+    database = Files.createTempDirectory(directory, "db-");
+  }
+
+  @TearDown(Level.Invocation)
+  public void deleteDatabase() throws IOException {
+    FileSystemUtils.deleteRecursively(database);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    FileSystemUtils.deleteRecursively(directory);
+  }
+
+  @Benchmark
+  public long seedLoad() {
+    try (ConfigurableApplicationContext context =
+        new SpringApplicationBuilder(DogBreedApiApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(
+                "--spring.datasource.url=jdbc:h2:file:" + database.resolve("dogdb"),
+                "--dogapi.seed.location=file:" + seedFile,
+                "--logging.level.root=warn")) {
+      long count = context.getBean(DogBreedRepository.class).count();
+      if (count != rows) {
+        throw new IllegalStateException("Seeded " + count + " of " + rows + " rows");
+      }
+      return count;
+    }
+  }
+}
@@ -0,0 +1,122 @@
+package com.github.vcxxxx.dogapi.benchmark;
+
+import com.github.vcxxxx.dogapi.ratelimit.TokenBucketLimiter;
+import com.github.vcxxxx.dogapi.ratelimit.TokenBucketLimiter.Decision;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of {@link TokenBucketLimiter} under contention, against a baseline holding one lock
+ * around a map of buckets, with every thread hitting one shared client or each its own.
+ *
+ * <p>Runs with 16 threads; pass {@code -t} in {@code jmh.args} for other counts. The {@code
+ * evicting} group measures acquires while one thread keeps sweeping idle buckets.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(16)
+public class TokenBucketLimiterBenchmark {
+
+  private static final int LIMIT = Integer.MAX_VALUE / 2;
+  private static final String SHARED_CLIENT = "10.0.0.1";
+
+  private TokenBucketLimiter limiter;
+  private LockedLimiter baseline;
+
+  /** Client address of one benchmark thread. */
+  @State(Scope.Thread)
+  public static class Client {
+
+    private static final AtomicInteger THREADS = new AtomicInteger();
+
+    String address;
+
+    @Setup
+    public void setUp() {
+      address = "10.1." + THREADS.getAndIncrement() + ".1";
+    }
+  }
+
+  @Setup
+  public void setUp() {
+    limiter = new TokenBucketLimiter(LIMIT, Duration.ofSeconds(1));
+    baseline = new LockedLimiter(LIMIT, Duration.ofSeconds(1));
+  }
+
+  @Benchmark
+  public Decision sharedClient() {
+    return limiter.tryAcquire(SHARED_CLIENT);
+  }
+
+  @Benchmark
+  public boolean sharedClientLocked() {
+    return baseline.tryAcquire(SHARED_CLIENT);
+  }
+
+  @Benchmark
+  public Decision distinctClients(Client client) {
+    return limiter.tryAcquire(client.address);
+  }
+
+  @Benchmark
+  public boolean distinctClientsLocked(Client client) {
+    return baseline.tryAcquire(client.address);
+  }
+
+  @Benchmark
+  @Group("evicting")
+  @GroupThreads(15)
+  public Decision acquire(Client client) {
+    return limiter.tryAcquire(client.address);
+  }
+
+  @Benchmark
+  @Group("evicting")
+  @GroupThreads(1)
+  public void evictIdle() {
+    limiter.evictIdle();
+  }
+
+  /** Same algorithm with every bucket behind one lock. */
+  static final class LockedLimiter {
+
+    private final long nanosPerToken;
+    private final long capacityNanos;
+    private final Map<String, Long> buckets = new HashMap<>();
+
+    LockedLimiter(int limit, Duration window) {
+      nanosPerToken = Math.max(1, window.toNanos() / limit);
+      capacityNanos = nanosPerToken * limit;
+    }
+
+    synchronized boolean tryAcquire(String client) {
+      long now = System.nanoTime();
+      long next = Math.max(buckets.getOrDefault(client, Long.MIN_VALUE), now) + nanosPerToken;
+      if (next - now > capacityNanos) {
+        return false;
+      }
+      buckets.put(client, next);
+      return true;
+    }
+  }
+}
@@ -0,0 +1,168 @@
+package com.github.vcxxxx.dogapi.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A bounded, thread-safe read-through cache with size- and TTL-based eviction.
+ *
+ * <p>Hits are lock-free. When the cache grows beyond its maximum size, the oldest entries are
+ * evicted first. Every invalidation bumps an epoch, and a value loaded while an invalidation was in
+ * flight is returned to its caller but not stored. The epoch check and the store of a loaded value
+ * happen under the same lock as the invalidations, so an invalidation can never be overtaken by a
+ * concurrent load of the old value.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class BoundedCache<K, V> {
+
+  private final Map<K, Entry<K, V>> entries = new ConcurrentHashMap<>();
+  private final Queue<Entry<K, V>> insertionOrder = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger insertionOrderSize = new AtomicInteger();
+  private final AtomicLong epoch = new AtomicLong();
+  private final Object invalidationLock = new Object();
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  private final int maximumSize;
+  private final long ttlMillis;
+  private final Clock clock;
+
+  /**
+   * Creates a cache.
+   *
+   * @param maximumSize the maximum number of entries kept
+   * @param ttl how long an entry stays valid after being loaded
+   * @param clock the clock used to expire entries
+   */
+  public BoundedCache(int maximumSize, Duration ttl, Clock clock) {
+    if (maximumSize <= 0) {
+      throw new IllegalArgumentException("maximumSize must be positive");
+    }
+    this.maximumSize = maximumSize;
+    this.ttlMillis = ttl.toMillis();
+    this.clock = clock;
+  }
+
+  /**
+   * Returns the cached value for the key, loading and caching it on a miss or after expiry.
+   *
+   * @param key the key to look up
+   * @param loader computes the value on a miss; must not return null
+   * @return the cached or freshly loaded value
+   */
+  public V get(K key, Function<? super K, ? extends V> loader) {
+    long now = clock.millis();
+    Entry<K, V> entry = entries.get(key);
+    if (entry != null && entry.expiresAt > now) {
+      hits.increment();
+      return entry.value;
+    }
+
+    misses.increment();
+    long loadEpoch = epoch.get();
+    V value = loader.apply(key);
+    synchronized (invalidationLock) {
+      if (epoch.get() == loadEpoch) {
+        put(new Entry<>(key, value, now + ttlMillis));
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Removes the entry for the given key.
+   *
+   * @param key the key to invalidate
+   */
+  public void invalidate(K key) {
+    synchronized (invalidationLock) {
+      epoch.incrementAndGet();
+      entries.remove(key);
+    }
+  }
+
+  /**
+   * Removes every entry whose value matches the predicate.
+   *
+   * @param predicate selects the values to invalidate
+   */
+  public void invalidateIf(Predicate<? super V> predicate) {
+    synchronized (invalidationLock) {
+      epoch.incrementAndGet();
+      entries.values().removeIf(entry -> predicate.test(entry.value));
+    }
+  }
+
+  /** Removes all entries. */
+  public void invalidateAll() {
+    synchronized (invalidationLock) {
+      epoch.incrementAndGet();
+      entries.clear();
+    }
+  }
+
+  /**
+   * Returns the number of entries currently cached, including expired ones not yet evicted.
+   *
+   * @return the approximate entry count
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Returns a snapshot of the hit, miss and eviction counters.
+   *
+   * @return the current statistics
+   */
+  public CacheStats stats() {
+    return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), entries.size());
+  }
+
+  private void put(Entry<K, V> entry) {
+    entries.put(entry.key, entry);
+    insertionOrder.add(entry);
+    insertionOrderSize.incrementAndGet();
+    evictOldest();
+  }
+
+  private void evictOldest() {
+    // The queue may also hold entries that were since replaced or invalidated; bounding it at twice
+    // the maximum size keeps it from growing when the cache itself never fills up.
+    while (entries.size() > maximumSize || insertionOrderSize.get() > 2 * maximumSize) {
+      Entry<K, V> oldest = insertionOrder.poll();
+      if (oldest == null) {
+        return;
+      }
+      insertionOrderSize.decrementAndGet();
+      if (entries.remove(oldest.key, oldest)) {
+        evictions.increment();
+      }
+    }
+  }
+
+  private record Entry<K, V>(K key, V value, long expiresAt) {}
+
+  /**
+   * Point-in-time statistics of a {@link BoundedCache}.
+   *
+   * @param hits number of lookups served from the cache
+   * @param misses number of lookups that had to load the value
+   * @param evictions number of entries removed to respect the maximum size
+   * @param size number of entries currently cached
+   */
+  public record CacheStats(long hits, long misses, long evictions, int size) {}
+}
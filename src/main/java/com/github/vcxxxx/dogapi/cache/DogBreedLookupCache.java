@@ -0,0 +1,130 @@
+package com.github.vcxxxx.dogapi.cache;
+
+import com.github.vcxxxx.dogapi.cache.BoundedCache.CacheStats;
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import com.github.vcxxxx.dogapi.service.CatalogVersion;
+import com.github.vcxxxx.dogapi.service.DogBreedChangedEvent;
+import com.github.vcxxxx.dogapi.service.DogBreedChangedEvent.Change;
+import com.github.vcxxxx.dogapi.service.DogBreedChangedEvent.Type;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-process read-through cache for dog breed lookups by ID and by breed.
+ *
+ * <p>Entries are invalidated once a {@link DogBreedChangedEvent} has been committed, so cached
+ * reads never serve stale or deleted rows. The hit, miss and eviction counters of each lookup are
+ * exposed as metrics by {@code MetricsConfiguration}.
+ */
+@Component
+public class DogBreedLookupCache {
+
+  private final BoundedCache<Long, Optional<DogBreed>> byId;
+  private final BoundedCache<String, List<DogBreed>> byBreed;
+
+  /**
+   * Constructs the cache with the configured size and TTL.
+   *
+   * @param maximumSize maximum number of entries per lookup type
+   * @param ttl time after which an entry is reloaded from the database
+   */
+  @Autowired
+  public DogBreedLookupCache(
+      @Value("${dogapi.cache.maximum-size:10000}") int maximumSize,
+      @Value("${dogapi.cache.ttl:PT10M}") Duration ttl) {
+    this(maximumSize, ttl, Clock.systemUTC());
+  }
+
+  DogBreedLookupCache(int maximumSize, Duration ttl, Clock clock) {
+    this.byId = new BoundedCache<>(maximumSize, ttl, clock);
+    this.byBreed = new BoundedCache<>(maximumSize, ttl, clock);
+  }
+
+  /**
+   * Looks up a breed by ID, loading it on a miss.
+   *
+   * @param id the breed ID
+   * @param loader loads the breed from the database
+   * @return the cached or loaded breed, empty if it does not exist
+   */
+  public Optional<DogBreed> findById(Long id, Function<Long, Optional<DogBreed>> loader) {
+    return byId.get(id, loader);
+  }
+
+  /**
+   * Looks up all entries of a breed, loading them on a miss.
+   *
+   * @param breed the breed name
+   * @param loader loads the breeds from the database
+   * @return the cached or loaded breeds
+   */
+  public List<DogBreed> findByBreed(String breed, Function<String, List<DogBreed>> loader) {
+    return byBreed.get(breed, loader);
+  }
+
+  /**
+   * Invalidates every entry affected by a committed change.
+   *
+   * @param event the committed change event
+   */
+  @Order(CatalogVersion.APPLY_ORDER)
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onDogBreedChanged(DogBreedChangedEvent event) {
+    if (event.isReload()) {
+      invalidateAll();
+      return;
+    }
+    event.changes().forEach(this::invalidate);
+  }
+
+  /** Removes all cached entries. */
+  public void invalidateAll() {
+    byId.invalidateAll();
+    byBreed.invalidateAll();
+  }
+
+  /**
+   * Returns the hit, miss and eviction counters of each lookup type.
+   *
+   * @return statistics keyed by lookup name, {@code byId} and {@code byBreed}
+   */
+  public Map<String, CacheStats> stats() {
+    return Map.of("byId", byId.stats(), "byBreed", byBreed.stats());
+  }
+
+  private void invalidate(Change change) {
+    byId.invalidate(change.id());
+    invalidateKeys(change.previous());
+    invalidateKeys(change.current());
+
+    if (change.type() != Type.CREATED && change.previous() == null) {
+      // Without the previous values the old keys are unknown, so drop whatever refers to the ID.
+      byBreed.invalidateIf(
+          cached -> cached.stream().anyMatch(breed -> Objects.equals(breed.getId(), change.id())));
+    }
+  }
+
+  private void invalidateKeys(DogBreed breed) {
+    if (breed != null) {
+      byBreed.invalidate(breed.getBreed());
+    }
+  }
+
+  /**
+   * Key of a breed and sub-breed pair.
+   *
+   * @param breed the breed name
+   * @param subBreed the sub-breed name, may be null
+   */
+  public record BreedKey(String breed, String subBreed) {}
+}
@@ -0,0 +1,287 @@
+package com.github.vcxxxx.dogapi.catalog;
+
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * Immutable, dictionary-encoded table of dog breeds, sorted by ID.
+ *
+ * <p>Breed and sub-breed names repeat on many rows but come from a small vocabulary, so each
+ * distinct name is stored once in a name table and rows refer to it by an {@code int} code. Rows
+ * are kept in parallel primitive arrays rather than as objects, which takes a fraction of the
+ * memory of a list of entities and lets full scans run over contiguous memory.
+ *
+ * <p>{@link DogBreed} entities are only created when a row is read, as fresh copies that callers
+ * may keep or modify.
+ */
+public final class BreedTable {
+
+  /** Code of a missing sub-breed. */
+  private static final int NO_NAME = -1;
+
+  /** Stored version of an entity without version. */
+  private static final long NO_VERSION = Long.MIN_VALUE;
+
+  private static final BreedTable EMPTY = new Builder(0).build();
+
+  private final String[] names;
+  private final Map<String, Integer> codes;
+  private final long[] ids;
+  private final long[] versions;
+  private final int[] breedCodes;
+  private final int[] subBreedCodes;
+  private final int[][] rowsByBreedCode;
+  private final List<DogBreed> rows = new Rows();
+
+  private BreedTable(
+      String[] names,
+      Map<String, Integer> codes,
+      long[] ids,
+      long[] versions,
+      int[] breedCodes,
+      int[] subBreedCodes) {
+    this.names = names;
+    this.codes = codes;
+    this.ids = ids;
+    this.versions = versions;
+    this.breedCodes = breedCodes;
+    this.subBreedCodes = subBreedCodes;
+    this.rowsByBreedCode = indexByBreed(names.length, breedCodes);
+  }
+
+  /**
+   * Builds a table of the given breeds.
+   *
+   * @param breeds the breeds, in any order; each must have an ID
+   * @return the table
+   */
+  public static BreedTable of(Collection<DogBreed> breeds) {
+    return EMPTY.with(breeds, List.of());
+  }
+
+  /**
+   * Builds a new table from this one with the given breeds added or replaced and the given IDs
+   * removed.
+   *
+   * @param upserts breeds to add or replace, matched by ID
+   * @param removedIds IDs of breeds to remove
+   * @return the new table
+   */
+  public BreedTable with(Collection<DogBreed> upserts, Collection<Long> removedIds) {
+    Map<Long, DogBreed> latest = new HashMap<>();
+    upserts.forEach(breed -> latest.put(breed.getId(), breed));
+    List<DogBreed> added = new ArrayList<>(latest.values());
+    added.sort(Comparator.comparing(DogBreed::getId));
+    Set<Long> skipped = new HashSet<>(removedIds);
+    skipped.addAll(latest.keySet());
+
+    // Merge the existing rows, already in ID order, with the sorted upserts
+    Builder builder = new Builder(ids.length + added.size());
+    int next = 0;
+    for (int row = 0; row < ids.length; row++) {
+      while (next < added.size() && added.get(next).getId() < ids[row]) {
+        builder.add(added.get(next++));
+      }
+      if (!skipped.contains(ids[row])) {
+        builder.add(ids[row], name(breedCodes[row]), name(subBreedCodes[row]), versions[row]);
+      }
+    }
+    while (next < added.size()) {
+      builder.add(added.get(next++));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Returns the breed with the given ID.
+   *
+   * @param id the breed ID
+   * @return a new entity for the breed, or null if it is not in the table
+   */
+  public DogBreed get(long id) {
+    int row = Arrays.binarySearch(ids, id);
+    return row < 0 ? null : toEntity(row);
+  }
+
+  /**
+   * Returns all entries of the given breed, one per sub-breed.
+   *
+   * @param breed the main breed name
+   * @return a view of the entries in ID order, empty if the breed is unknown
+   */
+  public List<DogBreed> getByBreed(String breed) {
+    Integer code = codes.get(breed);
+    if (code == null || rowsByBreedCode[code].length == 0) {
+      return List.of();
+    }
+    return new RowView(rowsByBreedCode[code]);
+  }
+
+  /**
+   * Returns all breeds in ascending ID order.
+   *
+   * @return an unmodifiable view creating a new entity on every element access
+   */
+  public List<DogBreed> rows() {
+    return rows;
+  }
+
+  /**
+   * Returns the number of breeds in the table.
+   *
+   * @return the number of rows
+   */
+  public int size() {
+    return ids.length;
+  }
+
+  /**
+   * Returns the number of distinct breed and sub-breed names in the name table.
+   *
+   * @return the name table size
+   */
+  public int nameCount() {
+    return names.length;
+  }
+
+  private DogBreed toEntity(int row) {
+    long version = versions[row];
+    return new DogBreed(
+        ids[row],
+        name(breedCodes[row]),
+        name(subBreedCodes[row]),
+        version == NO_VERSION ? null : version);
+  }
+
+  private String name(int code) {
+    return code == NO_NAME ? null : names[code];
+  }
+
+  private static int[][] indexByBreed(int nameCount, int[] breedCodes) {
+    int[] counts = new int[nameCount];
+    for (int code : breedCodes) {
+      counts[code]++;
+    }
+    int[][] index = new int[nameCount][];
+    for (int code = 0; code < nameCount; code++) {
+      index[code] = new int[counts[code]];
+    }
+    Arrays.fill(counts, 0);
+    for (int row = 0; row < breedCodes.length; row++) {
+      int code = breedCodes[row];
+      index[code][counts[code]++] = row;
+    }
+    return index;
+  }
+
+  /** View of all rows. */
+  private final class Rows extends AbstractList<DogBreed> implements RandomAccess {
+
+    @Override
+    public DogBreed get(int index) {
+      return toEntity(index);
+    }
+
+    @Override
+    public int size() {
+      return ids.length;
+    }
+  }
+
+  /** View of the given rows. */
+  private final class RowView extends AbstractList<DogBreed> implements RandomAccess {
+
+    private final int[] selected;
+
+    private RowView(int[] selected) {
+      this.selected = selected;
+    }
+
+    @Override
+    public DogBreed get(int index) {
+      return toEntity(selected[index]);
+    }
+
+    @Override
+    public int size() {
+      return selected.length;
+    }
+  }
+
+  /** Appends rows in ascending ID order, assigning name codes as new names appear. */
+  private static final class Builder {
+
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final long[] ids;
+    private final long[] versions;
+    private final int[] breedCodes;
+    private final int[] subBreedCodes;
+    private int size;
+
+    private Builder(int capacity) {
+      ids = new long[capacity];
+      versions = new long[capacity];
+      breedCodes = new int[capacity];
+      subBreedCodes = new int[capacity];
+    }
+
+    private void add(DogBreed breed) {
+      Long version = breed.getVersion();
+      add(
+          breed.getId(),
+          breed.getBreed(),
+          breed.getSubBreed(),
+          version == null ? NO_VERSION : version);
+    }
+
+    private void add(long id, String breed, String subBreed, long version) {
+      if (size > 0 && ids[size - 1] >= id) {
+        throw new IllegalStateException("Rows must be added in ascending ID order");
+      }
+      ids[size] = id;
+      versions[size] = version;
+      breedCodes[size] = code(breed);
+      subBreedCodes[size] = subBreed == null ? NO_NAME : code(subBreed);
+      size++;
+    }
+
+    private int code(String name) {
+      Integer code = codes.get(name);
+      if (code == null) {
+        code = names.size();
+        names.add(name);
+        codes.put(name, code);
+      }
+      return code;
+    }
+
+    private BreedTable build() {
+      return new BreedTable(
+          names.toArray(String[]::new),
+          Map.copyOf(codes),
+          trim(ids),
+          trim(versions),
+          trim(breedCodes),
+          trim(subBreedCodes));
+    }
+
+    private long[] trim(long[] column) {
+      return size == column.length ? column : Arrays.copyOf(column, size);
+    }
+
+    private int[] trim(int[] column) {
+      return size == column.length ? column : Arrays.copyOf(column, size);
+    }
+  }
+}
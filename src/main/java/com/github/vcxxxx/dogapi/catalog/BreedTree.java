@@ -0,0 +1,205 @@
+package com.github.vcxxxx.dogapi.catalog;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Immutable view of the breed catalog grouped as breed to sub-breeds, the shape of {@code
+ * dogs.json}, held as pre-encoded JSON.
+ *
+ * <p>Each breed is encoded once as a {@code {"breed":["sub", ...]}} fragment, and the full tree is
+ * assembled from those fragments. Applying a change re-encodes only the breeds it touches. Like the
+ * catalog snapshot, a tree is never modified once built.
+ */
+public final class BreedTree {
+
+  private final Map<Long, DogBreed> byId;
+  private final NavigableMap<String, Branch> branches;
+  private final byte[] json;
+
+  private BreedTree(Map<Long, DogBreed> byId, NavigableMap<String, Branch> branches) {
+    this.byId = byId;
+    this.branches = Collections.unmodifiableNavigableMap(branches);
+    this.json = assemble(branches.values());
+  }
+
+  /**
+   * Builds a tree of the given breeds.
+   *
+   * @param breeds the breeds in the catalog
+   * @param objectMapper mapper used to encode the fragments
+   * @return the new tree
+   */
+  public static BreedTree of(Collection<DogBreed> breeds, ObjectMapper objectMapper) {
+    return new BreedTree(Map.of(), new TreeMap<>()).with(breeds, List.of(), objectMapper);
+  }
+
+  /**
+   * Builds a new tree from this one with the given breeds added or replaced and the given IDs
+   * removed.
+   *
+   * @param upserts breeds to add or replace, matched by ID
+   * @param removedIds IDs of breeds to remove
+   * @param objectMapper mapper used to encode the changed fragments
+   * @return the new tree
+   */
+  public BreedTree with(
+      Collection<DogBreed> upserts, Collection<Long> removedIds, ObjectMapper objectMapper) {
+    Map<Long, DogBreed> nextIds = new HashMap<>(byId);
+    Map<String, Group> touched = new HashMap<>();
+
+    for (Long id : removedIds) {
+      DogBreed removed = nextIds.remove(id);
+      if (removed != null) {
+        group(touched, removed.getBreed()).remove(removed.getSubBreed());
+      }
+    }
+    for (DogBreed breed : upserts) {
+      DogBreed entry = new DogBreed(breed.getId(), breed.getBreed(), breed.getSubBreed());
+      DogBreed replaced = nextIds.put(entry.getId(), entry);
+      if (replaced != null) {
+        group(touched, replaced.getBreed()).remove(replaced.getSubBreed());
+      }
+      group(touched, entry.getBreed()).add(entry.getSubBreed());
+    }
+
+    NavigableMap<String, Branch> nextBranches = new TreeMap<>(branches);
+    touched.forEach(
+        (name, group) -> {
+          if (group.isEmpty()) {
+            nextBranches.remove(name);
+          } else {
+            nextBranches.put(name, group.encode(name, objectMapper));
+          }
+        });
+    return new BreedTree(nextIds, nextBranches);
+  }
+
+  /**
+   * Returns the full tree as a JSON object mapping each breed to its sorted sub-breeds.
+   *
+   * <p>The returned array is shared and must not be modified.
+   *
+   * @return the pre-encoded JSON bytes
+   */
+  public byte[] json() {
+    return json;
+  }
+
+  /**
+   * Returns the tree of a single breed as a JSON object with one member.
+   *
+   * <p>The returned array is shared and must not be modified.
+   *
+   * @param breed the main breed name
+   * @return the pre-encoded JSON bytes, or null if the breed is unknown
+   */
+  public byte[] json(String breed) {
+    Branch branch = branches.get(breed);
+    return branch == null ? null : branch.json();
+  }
+
+  /**
+   * Returns the number of distinct breeds in the tree.
+   *
+   * @return the number of breeds
+   */
+  public int breedCount() {
+    return branches.size();
+  }
+
+  private Group group(Map<String, Group> touched, String name) {
+    return touched.computeIfAbsent(name, key -> new Group(branches.get(key)));
+  }
+
+  private static byte[] assemble(Collection<Branch> branches) {
+    int size = 2 + Math.max(branches.size() - 1, 0);
+    for (Branch branch : branches) {
+      size += branch.json().length - 2;
+    }
+    byte[] out = new byte[size];
+    int pos = 0;
+    out[pos++] = '{';
+    for (Branch branch : branches) {
+      if (pos > 1) {
+        out[pos++] = ',';
+      }
+      // Copy the fragment without its enclosing braces
+      byte[] fragment = branch.json();
+      System.arraycopy(fragment, 1, out, pos, fragment.length - 2);
+      pos += fragment.length - 2;
+    }
+    out[pos] = '}';
+    return out;
+  }
+
+  /**
+   * Encoded entries of one breed.
+   *
+   * @param subBreeds the sorted sub-breed names
+   * @param bare whether the breed also has an entry without a sub-breed
+   * @param json the encoded {@code {"breed":[...]}} fragment
+   */
+  private record Branch(NavigableSet<String> subBreeds, boolean bare, byte[] json) {}
+
+  /** Mutable copy of a branch while changes are applied. */
+  private static final class Group {
+
+    private final NavigableSet<String> subBreeds;
+    private boolean bare;
+
+    Group(Branch branch) {
+      this.subBreeds = branch == null ? new TreeSet<>() : new TreeSet<>(branch.subBreeds());
+      this.bare = branch != null && branch.bare();
+    }
+
+    void add(String subBreed) {
+      if (subBreed == null) {
+        bare = true;
+      } else {
+        subBreeds.add(subBreed);
+      }
+    }
+
+    void remove(String subBreed) {
+      if (subBreed == null) {
+        bare = false;
+      } else {
+        subBreeds.remove(subBreed);
+      }
+    }
+
+    boolean isEmpty() {
+      return subBreeds.isEmpty() && !bare;
+    }
+
+    Branch encode(String name, ObjectMapper objectMapper) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+        generator.writeStartObject();
+        generator.writeArrayFieldStart(name);
+        for (String subBreed : subBreeds) {
+          generator.writeString(subBreed);
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return new Branch(Collections.unmodifiableNavigableSet(subBreeds), bare, out.toByteArray());
+    }
+  }
+}
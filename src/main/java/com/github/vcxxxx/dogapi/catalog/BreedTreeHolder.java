@@ -0,0 +1,115 @@
+package com.github.vcxxxx.dogapi.catalog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import com.github.vcxxxx.dogapi.repository.DogBreedRepository;
+import com.github.vcxxxx.dogapi.service.CatalogVersion;
+import com.github.vcxxxx.dogapi.service.DogBreedChangedEvent;
+import com.github.vcxxxx.dogapi.service.DogBreedChangedEvent.Change;
+import com.github.vcxxxx.dogapi.service.DogBreedChangedEvent.Type;
+import com.github.vcxxxx.dogapi.service.StaleChangeFilter;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Holds the current {@link BreedTree}.
+ *
+ * <p>Readers obtain the tree with a single volatile read and get pre-encoded bytes back. Committed
+ * writes re-encode only the breeds they touch, under a lock, and are published by swapping the
+ * reference. A {@link StaleChangeFilter} drops changes that arrive after a newer change of the same
+ * breed.
+ */
+@Component
+public class BreedTreeHolder {
+
+  private static final Logger logger = LoggerFactory.getLogger(BreedTreeHolder.class);
+
+  private final DogBreedRepository dogBreedRepository;
+  private final ObjectMapper objectMapper;
+  private final Object writeLock = new Object();
+  private final StaleChangeFilter staleChangeFilter = new StaleChangeFilter();
+
+  private volatile BreedTree current;
+
+  /**
+   * Constructs the holder.
+   *
+   * @param dogBreedRepository repository used to build the initial tree
+   * @param objectMapper mapper used to encode the tree
+   */
+  public BreedTreeHolder(DogBreedRepository dogBreedRepository, ObjectMapper objectMapper) {
+    this.dogBreedRepository = dogBreedRepository;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Returns the current tree, building it from the database on first use.
+   *
+   * @return the current breed tree
+   */
+  public BreedTree get() {
+    BreedTree tree = current;
+    if (tree != null) {
+      return tree;
+    }
+    synchronized (writeLock) {
+      return current != null ? current : rebuild();
+    }
+  }
+
+  /** Builds the initial tree once the application, including its seed data, is ready. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    rebuild();
+  }
+
+  /**
+   * Publishes a new tree containing a committed change.
+   *
+   * @param event the committed change event
+   */
+  @Order(CatalogVersion.APPLY_ORDER)
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onDogBreedChanged(DogBreedChangedEvent event) {
+    synchronized (writeLock) {
+      if (current == null || event.isReload()) {
+        rebuild();
+        return;
+      }
+
+      List<DogBreed> upserts = new ArrayList<>();
+      List<Long> removedIds = new ArrayList<>();
+      for (Change change : staleChangeFilter.accept(event.changes())) {
+        if (change.type() == Type.DELETED) {
+          removedIds.add(change.id());
+        } else {
+          upserts.add(change.current());
+        }
+      }
+      current = current.with(upserts, removedIds, objectMapper);
+    }
+  }
+
+  /**
+   * Rebuilds the tree from the database and publishes it.
+   *
+   * @return the new tree
+   */
+  public BreedTree rebuild() {
+    synchronized (writeLock) {
+      List<DogBreed> breeds = dogBreedRepository.findAll();
+      staleChangeFilter.reset(breeds);
+      BreedTree tree = BreedTree.of(breeds, objectMapper);
+      current = tree;
+      logger.info("Published breed tree with {} breeds.", tree.breedCount());
+      return tree;
+    }
+  }
+}
@@ -0,0 +1,145 @@
+package com.github.vcxxxx.dogapi.catalog;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Encodes pre-serialized catalog responses once per catalog version instead of once per request.
+ *
+ * <p>Encodings are memoized against the snapshot or body they were computed from. Both are
+ * immutable and replaced on every catalog change, so an entry is reused for as long as its version
+ * is current, and released along with it.
+ *
+ * <p>Gzip pre-compression is enabled with {@code dogapi.snapshot.precompress=true}. Responses
+ * compressed this way already carry a {@code Content-Encoding}, so the server's on-the-fly
+ * compression leaves them alone.
+ */
+@Component
+public class CatalogEncodings {
+
+  private final boolean precompress;
+  private final List<AbstractJackson2HttpMessageConverter> converters;
+  private final List<MediaType> mediaTypes = new ArrayList<>();
+  private final Map<CatalogSnapshot, Map<MediaType, byte[]>> bodies =
+      Collections.synchronizedMap(new WeakHashMap<>());
+  private final Map<byte[], byte[]> gzipped = Collections.synchronizedMap(new WeakHashMap<>());
+
+  /**
+   * Constructs the encodings.
+   *
+   * @param precompress whether gzip bodies are pre-compressed and served when accepted
+   * @param converters the Jackson converters, whose mappers encode the non-JSON formats
+   */
+  public CatalogEncodings(
+      @Value("${dogapi.snapshot.precompress:false}") boolean precompress,
+      List<AbstractJackson2HttpMessageConverter> converters) {
+    this.precompress = precompress;
+    this.converters = converters;
+    mediaTypes.add(MediaType.APPLICATION_JSON);
+    converters.stream()
+        .flatMap(converter -> converter.getSupportedMediaTypes().stream())
+        .filter(mediaType -> !mediaType.isCompatibleWith(MediaType.APPLICATION_JSON))
+        .filter(mediaType -> !mediaType.getSubtype().endsWith("+json"))
+        .distinct()
+        .forEach(mediaTypes::add);
+  }
+
+  /**
+   * Returns whether gzip bodies are pre-compressed.
+   *
+   * @return true if {@link #gzip(byte[])} should be served to clients accepting gzip
+   */
+  public boolean isPrecompressionEnabled() {
+    return precompress;
+  }
+
+  /**
+   * Returns the media types the full catalog can be encoded in, JSON first.
+   *
+   * @return the supported media types
+   */
+  public List<MediaType> mediaTypes() {
+    return Collections.unmodifiableList(mediaTypes);
+  }
+
+  /**
+   * Returns the full list of breeds of a snapshot in the given format.
+   *
+   * @param snapshot the catalog snapshot
+   * @param mediaType one of {@link #mediaTypes()}
+   * @return the encoded list; shared and must not be modified
+   */
+  public byte[] encode(CatalogSnapshot snapshot, MediaType mediaType) {
+    if (MediaType.APPLICATION_JSON.equalsTypeAndSubtype(mediaType)) {
+      return snapshot.json();
+    }
+    return bodies
+        .computeIfAbsent(snapshot, key -> new ConcurrentHashMap<>())
+        .computeIfAbsent(mediaType, key -> serialize(snapshot, key));
+  }
+
+  /**
+   * Returns the gzip compressed form of a pre-serialized body.
+   *
+   * @param body the body; must not be modified afterwards
+   * @return the compressed body; shared and must not be modified
+   */
+  public byte[] gzip(byte[] body) {
+    return gzipped.computeIfAbsent(body, CatalogEncodings::compress);
+  }
+
+  /**
+   * Returns whether an {@code Accept-Encoding} header value accepts gzip.
+   *
+   * @param acceptEncoding the header value, may be null
+   * @return true if gzip is listed without a zero quality value
+   */
+  public static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parts = coding.split(";");
+      if (parts[0].trim().equalsIgnoreCase("gzip")) {
+        return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+      }
+    }
+    return false;
+  }
+
+  private byte[] serialize(CatalogSnapshot snapshot, MediaType mediaType) {
+    AbstractJackson2HttpMessageConverter converter =
+        converters.stream()
+            .filter(candidate -> candidate.getSupportedMediaTypes().contains(mediaType))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unsupported media type " + mediaType));
+    try {
+      return converter.getObjectMapper().writeValueAsBytes(snapshot.breeds());
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Failed to encode breed catalog as " + mediaType, e);
+    }
+  }
+
+  private static byte[] compress(byte[] body) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(body);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+}
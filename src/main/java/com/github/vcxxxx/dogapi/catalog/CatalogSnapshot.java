@@ -0,0 +1,107 @@
+package com.github.vcxxxx.dogapi.catalog;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable, fully indexed view of the breed catalog at one point in time.
+ *
+ * <p>A snapshot is never modified once built. Changes are applied by building a new snapshot from
+ * the previous one, so readers holding a reference always see a consistent catalog. The breeds are
+ * held in a dictionary-encoded {@link BreedTable}, and entities are created as they are read.
+ */
+public final class CatalogSnapshot {
+
+  private final BreedTable table;
+  private final byte[] json;
+
+  private CatalogSnapshot(BreedTable table, ObjectMapper objectMapper) {
+    this.table = table;
+    this.json = serialize(table.rows(), objectMapper);
+  }
+
+  /**
+   * Builds a snapshot of the given breeds.
+   *
+   * @param breeds the breeds in the catalog; they are copied into the snapshot
+   * @param objectMapper mapper used to pre-serialize the full list
+   * @return the new snapshot
+   */
+  public static CatalogSnapshot of(Collection<DogBreed> breeds, ObjectMapper objectMapper) {
+    return new CatalogSnapshot(BreedTable.of(breeds), objectMapper);
+  }
+
+  /**
+   * Builds a new snapshot from this one with the given breeds added or replaced and the given IDs
+   * removed.
+   *
+   * @param upserts breeds to add or replace, matched by ID
+   * @param removedIds IDs of breeds to remove
+   * @param objectMapper mapper used to pre-serialize the full list
+   * @return the new snapshot
+   */
+  public CatalogSnapshot with(
+      Collection<DogBreed> upserts, Collection<Long> removedIds, ObjectMapper objectMapper) {
+    return new CatalogSnapshot(table.with(upserts, removedIds), objectMapper);
+  }
+
+  /**
+   * Returns the breed with the given ID.
+   *
+   * @param id the breed ID
+   * @return a new entity for the breed, or null if it is not in the catalog
+   */
+  public DogBreed get(Long id) {
+    return id == null ? null : table.get(id);
+  }
+
+  /**
+   * Returns all entries of the given breed, one per sub-breed.
+   *
+   * @param breed the main breed name
+   * @return the entries in ID order, empty if the breed is unknown
+   */
+  public List<DogBreed> getByBreed(String breed) {
+    return table.getByBreed(breed);
+  }
+
+  /**
+   * Returns all breeds in ascending ID order.
+   *
+   * @return an unmodifiable list of all breeds
+   */
+  public List<DogBreed> breeds() {
+    return table.rows();
+  }
+
+  /**
+   * Returns the JSON array of all breeds, serialized once when the snapshot was built.
+   *
+   * <p>The returned array is shared and must not be modified.
+   *
+   * @return the pre-serialized JSON bytes
+   */
+  public byte[] json() {
+    return json;
+  }
+
+  /**
+   * Returns the number of breeds in the catalog.
+   *
+   * @return the catalog size
+   */
+  public int size() {
+    return table.size();
+  }
+
+  private static byte[] serialize(Collection<DogBreed> breeds, ObjectMapper objectMapper) {
+    try {
+      return objectMapper.writeValueAsBytes(breeds);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Failed to serialize breed catalog", e);
+    }
+  }
+}
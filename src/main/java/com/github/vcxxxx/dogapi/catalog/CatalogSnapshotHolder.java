@@ -0,0 +1,144 @@
+package com.github.vcxxxx.dogapi.catalog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import com.github.vcxxxx.dogapi.repository.DogBreedRepository;
+import com.github.vcxxxx.dogapi.service.CatalogVersion;
+import com.github.vcxxxx.dogapi.service.DogBreedChangedEvent;
+import com.github.vcxxxx.dogapi.service.DogBreedChangedEvent.Change;
+import com.github.vcxxxx.dogapi.service.DogBreedChangedEvent.Type;
+import com.github.vcxxxx.dogapi.service.StaleChangeFilter;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Holds the current {@link CatalogSnapshot} when the snapshot serving mode is enabled.
+ *
+ * <p>Readers obtain the snapshot with a single volatile read and never block. Committed writes are
+ * applied copy-on-write under a lock and published by swapping the reference, so a reader sees
+ * either the old or the new catalog, never a mix of both. Changes that arrive after a newer change
+ * of the same breed are dropped by a {@link StaleChangeFilter}, so the snapshot follows the commit
+ * order even when the listeners of concurrent writes run in a different one.
+ *
+ * <p>The mode is enabled with {@code dogapi.snapshot.enabled=true}.
+ */
+@Component
+public class CatalogSnapshotHolder {
+
+  private static final Logger logger = LoggerFactory.getLogger(CatalogSnapshotHolder.class);
+
+  private final boolean enabled;
+  private final DogBreedRepository dogBreedRepository;
+  private final ObjectMapper objectMapper;
+  private final Object writeLock = new Object();
+  private final StaleChangeFilter staleChangeFilter = new StaleChangeFilter();
+
+  private volatile CatalogSnapshot current;
+
+  /**
+   * Constructs the holder.
+   *
+   * @param enabled whether the snapshot serving mode is enabled
+   * @param dogBreedRepository repository used to build the initial snapshot
+   * @param objectMapper mapper used to pre-serialize the catalog
+   */
+  public CatalogSnapshotHolder(
+      @Value("${dogapi.snapshot.enabled:false}") boolean enabled,
+      DogBreedRepository dogBreedRepository,
+      ObjectMapper objectMapper) {
+    this.enabled = enabled;
+    this.dogBreedRepository = dogBreedRepository;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Returns whether the snapshot serving mode is enabled.
+   *
+   * @return true if reads should be served from the snapshot
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Returns the current snapshot, building it from the database on first use.
+   *
+   * @return the current catalog snapshot
+   * @throws IllegalStateException if the snapshot mode is disabled
+   */
+  public CatalogSnapshot get() {
+    if (!enabled) {
+      throw new IllegalStateException("Catalog snapshot mode is disabled");
+    }
+    CatalogSnapshot snapshot = current;
+    if (snapshot != null) {
+      return snapshot;
+    }
+    synchronized (writeLock) {
+      return current != null ? current : rebuild();
+    }
+  }
+
+  /** Builds the initial snapshot once the application, including its seed data, is ready. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    if (enabled) {
+      rebuild();
+    }
+  }
+
+  /**
+   * Publishes a new snapshot containing a committed change.
+   *
+   * @param event the committed change event
+   */
+  @Order(CatalogVersion.APPLY_ORDER)
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onDogBreedChanged(DogBreedChangedEvent event) {
+    if (!enabled) {
+      return;
+    }
+    synchronized (writeLock) {
+      if (current == null || event.isReload()) {
+        rebuild();
+        return;
+      }
+
+      List<DogBreed> upserts = new ArrayList<>();
+      List<Long> removedIds = new ArrayList<>();
+      for (Change change : staleChangeFilter.accept(event.changes())) {
+        if (change.type() == Type.DELETED) {
+          removedIds.add(change.id());
+        } else {
+          upserts.add(change.current());
+        }
+      }
+      current = current.with(upserts, removedIds, objectMapper);
+    }
+  }
+
+  /**
+   * Rebuilds the snapshot from the database and publishes it.
+   *
+   * @return the new snapshot
+   */
+  public CatalogSnapshot rebuild() {
+    synchronized (writeLock) {
+      List<DogBreed> breeds = dogBreedRepository.findAll(Sort.by("id"));
+      staleChangeFilter.reset(breeds);
+      CatalogSnapshot snapshot = CatalogSnapshot.of(breeds, objectMapper);
+      current = snapshot;
+      logger.info("Published breed catalog snapshot with {} entries.", snapshot.size());
+      return snapshot;
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package com.github.vcxxxx.dogapi.cluster;
+
+import com.github.vcxxxx.dogapi.service.CatalogVersion;
+import com.github.vcxxxx.dogapi.service.ChangeLog;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Transport that needs no infrastructure besides the shared database, where the {@link ChangeLog}
+ * already records every change in the writing transaction.
+ *
+ * <p>Publishing is a no-op. Instead, every node polls the persisted catalog version and catches up
+ * when it has moved, so changes reach other nodes within {@code dogapi.cluster.poll-interval}.
+ */
+public class ChangeLogInvalidationTransport implements InvalidationTransport {
+
+  private final CatalogVersion catalogVersion;
+  private volatile Consumer<ClusterInvalidation> receiver = invalidation -> {};
+
+  /**
+   * Constructs the transport.
+   *
+   * @param catalogVersion the catalog version, polled in the database
+   */
+  public ChangeLogInvalidationTransport(CatalogVersion catalogVersion) {
+    this.catalogVersion = catalogVersion;
+  }
+
+  @Override
+  public CompletableFuture<Void> publish(ClusterInvalidation invalidation) {
+    return CompletableFuture.completedFuture(null);
+  }
+
+  @Override
+  public void subscribe(Consumer<ClusterInvalidation> receiver) {
+    this.receiver = receiver;
+  }
+
+  /** Hands the persisted catalog version to the receiver, which ignores it if already there. */
+  @Scheduled(
+      fixedDelayString = "${dogapi.cluster.poll-interval:PT1S}",
+      initialDelayString = "${dogapi.cluster.poll-interval:PT1S}")
+  public void poll() {
+    receiver.accept(new ClusterInvalidation(null, catalogVersion.persisted()));
+  }
+}
@@ -0,0 +1,90 @@
+package com.github.vcxxxx.dogapi.cluster;
+
+import com.github.vcxxxx.dogapi.repository.DogBreedRepository;
+import com.github.vcxxxx.dogapi.service.CatalogVersion;
+import com.github.vcxxxx.dogapi.service.ChangeLog;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Runs this node as part of a cluster sharing one database, when {@code
+ * dogapi.cluster.enabled=true}.
+ *
+ * <p>The transport is chosen with {@code dogapi.cluster.transport}: {@code change-log}, the
+ * default, polls the shared change log; {@code loopback} connects application contexts in the same
+ * JVM, for tests.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "dogapi.cluster.enabled", havingValue = "true")
+public class ClusterConfiguration {
+
+  /**
+   * Keeps the cluster beans eager under {@code spring.main.lazy-initialization=true}.
+   *
+   * <p>The invalidations subscribe to the transport when they are created; created on the first
+   * local write instead, they would miss the writes of the other nodes until then.
+   *
+   * @return the filter excluding the transport and invalidations from lazy initialization
+   */
+  @Bean
+  static LazyInitializationExcludeFilter clusterLazyInitializationExcludeFilter() {
+    return LazyInitializationExcludeFilter.forBeanTypes(
+        InvalidationTransport.class, ClusterInvalidations.class);
+  }
+
+  /**
+   * Follows the shared change log to pick up writes of other nodes.
+   *
+   * @param catalogVersion the catalog version, polled in the database
+   * @return the transport
+   */
+  @Bean
+  @ConditionalOnProperty(
+      name = "dogapi.cluster.transport",
+      havingValue = "change-log",
+      matchIfMissing = true)
+  ChangeLogInvalidationTransport changeLogInvalidationTransport(CatalogVersion catalogVersion) {
+    return new ChangeLogInvalidationTransport(catalogVersion);
+  }
+
+  /**
+   * Connects the application contexts of one JVM that use the same group name.
+   *
+   * @param group the name of the group to join
+   * @return the transport
+   */
+  @Bean
+  @ConditionalOnProperty(name = "dogapi.cluster.transport", havingValue = "loopback")
+  LoopbackInvalidationTransport loopbackInvalidationTransport(
+      @Value("${dogapi.cluster.loopback.group:default}") String group) {
+    return new LoopbackInvalidationTransport(group);
+  }
+
+  /**
+   * Keeps this node consistent with the writes of the other nodes.
+   *
+   * @param changeLog the shared change log
+   * @param catalogVersion the catalog version of this node
+   * @param dogBreedRepository repository the changed breeds are re-read from
+   * @param eventPublisher publisher of the changes for the local listeners
+   * @param transport the transport to the other nodes
+   * @param ackTimeout how long a write waits for the other nodes to catch up
+   * @return the cluster invalidations
+   */
+  @Bean
+  ClusterInvalidations clusterInvalidations(
+      ChangeLog changeLog,
+      CatalogVersion catalogVersion,
+      DogBreedRepository dogBreedRepository,
+      ApplicationEventPublisher eventPublisher,
+      InvalidationTransport transport,
+      @Value("${dogapi.cluster.ack-timeout:PT2S}") Duration ackTimeout) {
+    return new ClusterInvalidations(
+        changeLog, catalogVersion, dogBreedRepository, eventPublisher, transport, ackTimeout);
+  }
+}
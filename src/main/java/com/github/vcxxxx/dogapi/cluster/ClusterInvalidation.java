@@ -0,0 +1,13 @@
+package com.github.vcxxxx.dogapi.cluster;
+
+/**
+ * Message telling the other nodes of a cluster that the catalog has changed.
+ *
+ * <p>It carries no breed values: receivers catch up from the shared {@link
+ * com.github.vcxxxx.dogapi.service.ChangeLog} and database, so a message can be applied any number
+ * of times and in any order.
+ *
+ * @param origin the ID of the node that made the change, or null if not sent by a node
+ * @param catalogVersion the catalog version receivers should catch up to
+ */
+public record ClusterInvalidation(String origin, long catalogVersion) {}
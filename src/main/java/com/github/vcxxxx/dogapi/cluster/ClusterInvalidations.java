@@ -0,0 +1,191 @@
+package com.github.vcxxxx.dogapi.cluster;
+
+import com.github.vcxxxx.dogapi.dto.ChangeFeed;
+import com.github.vcxxxx.dogapi.exception.ChangeLogCompactedException;
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import com.github.vcxxxx.dogapi.model.DogBreedChange;
+import com.github.vcxxxx.dogapi.repository.DogBreedRepository;
+import com.github.vcxxxx.dogapi.service.CatalogVersion;
+import com.github.vcxxxx.dogapi.service.ChangeLog;
+import com.github.vcxxxx.dogapi.service.DogBreedChangedEvent;
+import com.github.vcxxxx.dogapi.service.DogBreedChangedEvent.Change;
+import com.github.vcxxxx.dogapi.service.DogBreedChangedEvent.Type;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps the in-memory state of this node consistent with writes made by other nodes of a cluster.
+ *
+ * <p>Every node follows the shared {@link ChangeLog} in catalog version order. It re-reads the
+ * breeds changed since its position and publishes them as a {@link DogBreedChangedEvent} outside
+ * of any transaction, which caches and in-memory holders apply like a local change, and only then
+ * advances its {@link CatalogVersion}. ETags therefore never run ahead of the content they
+ * describe.
+ *
+ * <p>After a local write, the node catches up and then sends a {@link ClusterInvalidation} over
+ * the {@link InvalidationTransport}, waiting up to {@code dogapi.cluster.ack-timeout} for the
+ * other nodes to catch up too. With an acknowledging transport, a write is thus visible on every
+ * node once it returns.
+ */
+public class ClusterInvalidations {
+
+  private static final Logger logger = LoggerFactory.getLogger(ClusterInvalidations.class);
+
+  private final ChangeLog changeLog;
+  private final CatalogVersion catalogVersion;
+  private final DogBreedRepository dogBreedRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final InvalidationTransport transport;
+  private final Duration ackTimeout;
+  private final String nodeId = UUID.randomUUID().toString();
+  private final ExecutorService executor;
+  private final Object catchUpLock = new Object();
+  private long position;
+
+  /**
+   * Constructs the invalidations and subscribes to the transport.
+   *
+   * @param changeLog the shared change log
+   * @param catalogVersion the catalog version of this node
+   * @param dogBreedRepository repository the changed breeds are re-read from
+   * @param eventPublisher publisher of the changes for the local listeners
+   * @param transport the transport to the other nodes
+   * @param ackTimeout how long a write waits for the other nodes to catch up
+   */
+  public ClusterInvalidations(
+      ChangeLog changeLog,
+      CatalogVersion catalogVersion,
+      DogBreedRepository dogBreedRepository,
+      ApplicationEventPublisher eventPublisher,
+      InvalidationTransport transport,
+      Duration ackTimeout) {
+    this.changeLog = changeLog;
+    this.catalogVersion = catalogVersion;
+    this.dogBreedRepository = dogBreedRepository;
+    this.eventPublisher = eventPublisher;
+    this.transport = transport;
+    this.ackTimeout = ackTimeout;
+    this.position = catalogVersion.current();
+    CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("cluster-catch-up-");
+    threadFactory.setDaemon(true);
+    this.executor = Executors.newSingleThreadExecutor(threadFactory);
+    transport.subscribe(this::onInvalidation);
+  }
+
+  /**
+   * Catches up with a committed local write and tells the other nodes about it.
+   *
+   * <p>Runs on the writing thread, which is still bound to the completed transaction, so catching
+   * up is handed to a separate thread.
+   *
+   * @param event the committed change event
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  public void onDogBreedChanged(DogBreedChangedEvent event) {
+    try {
+      long version =
+          CompletableFuture.supplyAsync(this::catchUp, executor)
+              .get(ackTimeout.toMillis(), TimeUnit.MILLISECONDS);
+      transport
+          .publish(new ClusterInvalidation(nodeId, version))
+          .get(ackTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      logger.warn("Cluster nodes did not catch up within {}.", ackTimeout);
+    } catch (ExecutionException e) {
+      logger.warn("Failed to propagate a catalog change to the cluster.", e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Returns the catalog version up to which this node has applied all changes.
+   *
+   * @return the position of this node in the change log
+   */
+  public long position() {
+    synchronized (catchUpLock) {
+      return position;
+    }
+  }
+
+  /** Stops catching up after local writes. */
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private void onInvalidation(ClusterInvalidation invalidation) {
+    if (nodeId.equals(invalidation.origin()) || invalidation.catalogVersion() <= position()) {
+      return;
+    }
+    catchUp();
+  }
+
+  /**
+   * Applies every change committed since the current position, up to the persisted head.
+   *
+   * @return the new position
+   */
+  long catchUp() {
+    synchronized (catchUpLock) {
+      long head = catalogVersion.persisted();
+      while (position < head) {
+        ChangeFeed feed;
+        try {
+          feed = changeLog.changesSince(position, head, ChangeLog.MAX_FEED_SIZE);
+        } catch (ChangeLogCompactedException e) {
+          // The catalog was reloaded, or this node fell behind compaction
+          eventPublisher.publishEvent(DogBreedChangedEvent.reloaded());
+          advance(head);
+          break;
+        }
+        apply(feed.changes());
+        advance(feed.version());
+      }
+      return position;
+    }
+  }
+
+  private void apply(List<DogBreedChange> entries) {
+    List<Long> ids = entries.stream().map(DogBreedChange::getBreedId).distinct().toList();
+    if (ids.isEmpty()) {
+      return;
+    }
+    // Re-read rather than trust the log entries, which lack the entity version
+    Map<Long, DogBreed> current =
+        dogBreedRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(DogBreed::getId, Function.identity()));
+    List<Change> changes =
+        ids.stream()
+            .map(
+                id ->
+                    current.containsKey(id)
+                        ? new Change(Type.UPDATED, id, null, current.get(id))
+                        : new Change(Type.DELETED, id, null, null))
+            .toList();
+    eventPublisher.publishEvent(new DogBreedChangedEvent(changes));
+  }
+
+  private void advance(long version) {
+    position = version;
+    catalogVersion.advanceTo(version);
+  }
+}
@@ -0,0 +1,24 @@
+package com.github.vcxxxx.dogapi.cluster;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/** Carries {@link ClusterInvalidation} messages between the nodes of a cluster. */
+public interface InvalidationTransport {
+
+  /**
+   * Sends a message to the other nodes.
+   *
+   * @param invalidation the message
+   * @return completed once the other nodes have applied the message, or right away if the
+   *     transport does not acknowledge delivery
+   */
+  CompletableFuture<Void> publish(ClusterInvalidation invalidation);
+
+  /**
+   * Registers the receiver of messages sent by the other nodes. Called once, at startup.
+   *
+   * @param receiver applies a received message to this node
+   */
+  void subscribe(Consumer<ClusterInvalidation> receiver);
+}
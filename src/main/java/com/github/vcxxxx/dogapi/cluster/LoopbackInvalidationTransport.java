@@ -0,0 +1,71 @@
+package com.github.vcxxxx.dogapi.cluster;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Transport between application contexts running in the same JVM, for tests and local runs.
+ *
+ * <p>Contexts created with the same group name form a cluster. Every node applies received
+ * messages in order on its own thread, and a published message completes once all other nodes of
+ * the group have applied it.
+ */
+public class LoopbackInvalidationTransport implements InvalidationTransport, DisposableBean {
+
+  private static final Map<String, Set<LoopbackInvalidationTransport>> GROUPS =
+      new ConcurrentHashMap<>();
+
+  private final String group;
+  private final ExecutorService executor;
+  private volatile Consumer<ClusterInvalidation> receiver = invalidation -> {};
+
+  /**
+   * Joins the given group.
+   *
+   * @param group the name of the group of nodes to exchange messages with
+   */
+  public LoopbackInvalidationTransport(String group) {
+    this.group = group;
+    CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("loopback-" + group);
+    threadFactory.setDaemon(true);
+    this.executor = Executors.newSingleThreadExecutor(threadFactory);
+    GROUPS.computeIfAbsent(group, name -> ConcurrentHashMap.newKeySet()).add(this);
+  }
+
+  @Override
+  public CompletableFuture<Void> publish(ClusterInvalidation invalidation) {
+    return CompletableFuture.allOf(
+        GROUPS.getOrDefault(group, Set.of()).stream()
+            .filter(peer -> peer != this)
+            .map(peer -> peer.deliver(invalidation))
+            .toArray(CompletableFuture[]::new));
+  }
+
+  @Override
+  public void subscribe(Consumer<ClusterInvalidation> receiver) {
+    this.receiver = receiver;
+  }
+
+  /** Leaves the group. */
+  @Override
+  public void destroy() {
+    GROUPS.computeIfPresent(
+        group,
+        (name, members) -> {
+          members.remove(this);
+          return members.isEmpty() ? null : members;
+        });
+    executor.shutdownNow();
+  }
+
+  private CompletableFuture<Void> deliver(ClusterInvalidation invalidation) {
+    return CompletableFuture.runAsync(() -> receiver.accept(invalidation), executor);
+  }
+}
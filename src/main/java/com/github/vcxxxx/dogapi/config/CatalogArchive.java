@@ -0,0 +1,356 @@
+package com.github.vcxxxx.dogapi.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.github.vcxxxx.dogapi.exception.InvalidCatalogArchiveException;
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import com.github.vcxxxx.dogapi.service.CatalogVersion;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Exports the whole catalog to a self-describing NDJSON archive and imports it back, for backups
+ * and for seeding new nodes without replaying the seed file or the API.
+ *
+ * <p>An archive is one JSON object per line:
+ *
+ * <pre>
+ * {"format":"dogapi-catalog","formatVersion":1,"catalogVersion":42,"exportedAt":"..."}
+ * {"metadata":{"dog_breeds_loaded":"true","dog_breeds_seed_checksum":"..."}}
+ * {"id":1,"breed":"hound","subBreed":"afghan","version":0}
+ * ...
+ * {"count":1234,"sha256":"..."}
+ * </pre>
+ *
+ * <p>The last line holds the number of entries and the SHA-256 checksum of all bytes before it.
+ *
+ * <p>The export reads the table through a JDBC cursor in one repeatable-read transaction and
+ * writes each row as it arrives, through fixed-size buffers, so its memory use does not depend on
+ * the catalog size. The import maps the archive file into memory, checks it against its checksum
+ * and parses it in place, handing the entries to {@link DogBreedDataLoader#importCatalog} as they
+ * are read.
+ */
+@Component
+public class CatalogArchive {
+
+  /** Value of the {@code format} header field. */
+  public static final String FORMAT = "dogapi-catalog";
+
+  /** Version of the archive layout written by this class. */
+  public static final int FORMAT_VERSION = 1;
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final CatalogVersion catalogVersion;
+  private final DogBreedDataLoader dataLoader;
+  private final JsonFactory jsonFactory;
+  private final int fetchSize;
+
+  /**
+   * Constructs the archive.
+   *
+   * @param jdbcTemplate template the table is read with
+   * @param catalogVersion the catalog version recorded in exports
+   * @param dataLoader loader the imported entries are written with
+   * @param objectMapper mapper whose factory creates the JSON generators and parsers
+   * @param fetchSize number of rows fetched from the cursor at a time
+   */
+  public CatalogArchive(
+      JdbcTemplate jdbcTemplate,
+      CatalogVersion catalogVersion,
+      DogBreedDataLoader dataLoader,
+      ObjectMapper objectMapper,
+      @Value("${dogapi.seed.batch-size:1000}") int fetchSize) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.catalogVersion = catalogVersion;
+    this.dataLoader = dataLoader;
+    this.jsonFactory = objectMapper.getFactory();
+    this.fetchSize = fetchSize;
+  }
+
+  /**
+   * Writes the whole catalog as an archive.
+   *
+   * @param out the stream to write to; not closed
+   * @return the number of exported entries
+   * @throws IOException if writing fails
+   */
+  @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+  public long export(OutputStream out) throws IOException {
+    MessageDigest digest = sha256();
+    BufferedOutputStream buffered = new BufferedOutputStream(out, BUFFER_SIZE);
+    DigestOutputStream digesting = new DigestOutputStream(buffered, digest);
+    long count;
+    try (JsonGenerator generator = jsonFactory.createGenerator(digesting)) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      generator.setRootValueSeparator(null);
+
+      generator.writeStartObject();
+      generator.writeStringField("format", FORMAT);
+      generator.writeNumberField("formatVersion", FORMAT_VERSION);
+      generator.writeNumberField("catalogVersion", catalogVersion.persisted());
+      generator.writeStringField("exportedAt", Instant.now().toString());
+      generator.writeEndObject();
+      generator.writeRaw('\n');
+
+      generator.writeStartObject();
+      generator.writeObjectFieldStart("metadata");
+      for (Map.Entry<String, String> entry : dataLoader.seedMetadata().entrySet()) {
+        generator.writeStringField(entry.getKey(), entry.getValue());
+      }
+      generator.writeEndObject();
+      generator.writeEndObject();
+      generator.writeRaw('\n');
+
+      count = writeEntries(generator);
+      generator.flush();
+    }
+
+    // The trailer is not part of the checksummed content
+    digesting.on(false);
+    try (JsonGenerator generator = jsonFactory.createGenerator(buffered)) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      generator.writeStartObject();
+      generator.writeNumberField("count", count);
+      generator.writeStringField("sha256", HexFormat.of().formatHex(digest.digest()));
+      generator.writeEndObject();
+      generator.writeRaw('\n');
+    }
+    buffered.flush();
+    return count;
+  }
+
+  /**
+   * Replaces the catalog with the content of an archive file.
+   *
+   * <p>The whole archive is verified against its checksum before anything is written. An archive
+   * that turns out to be invalid while it is loaded leaves the catalog unchanged.
+   *
+   * @param file the archive file
+   * @return the number of imported entries
+   * @throws InvalidCatalogArchiveException if the archive is malformed, of an unsupported format
+   *     version, or does not match its checksum
+   * @throws IOException if the file cannot be read
+   */
+  public long importFrom(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new InvalidCatalogArchiveException("larger than 2 GB");
+      }
+      ByteBuffer archive = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      int trailerStart = trailerStart(archive);
+      ByteBuffer content = archive.slice(0, trailerStart);
+      Trailer trailer = readTrailer(archive.slice(trailerStart, archive.limit() - trailerStart));
+
+      MessageDigest digest = sha256();
+      digest.update(content.duplicate());
+      if (!HexFormat.of().formatHex(digest.digest()).equals(trailer.sha256())) {
+        throw new InvalidCatalogArchiveException("checksum mismatch");
+      }
+
+      try (JsonParser parser = jsonFactory.createParser(new ByteBufferBackedInputStream(content))) {
+        readHeader(parser);
+        Map<String, String> metadata = readMetadata(parser);
+        return dataLoader.importCatalog(
+            consumer -> {
+              long count = readEntries(parser, consumer);
+              if (count != trailer.count()) {
+                throw new InvalidCatalogArchiveException(
+                    "expected " + trailer.count() + " entries but found " + count);
+              }
+            },
+            metadata);
+      }
+    }
+  }
+
+  private long writeEntries(JsonGenerator generator) {
+    long[] count = new long[1];
+    jdbcTemplate.query(
+        connection -> {
+          PreparedStatement statement =
+              connection.prepareStatement(
+                  "select id, breed, sub_breed, version from dog_breeds order by id");
+          statement.setFetchSize(fetchSize);
+          return statement;
+        },
+        (RowCallbackHandler)
+            rs -> {
+              try {
+                generator.writeStartObject();
+                generator.writeNumberField("id", rs.getLong(1));
+                generator.writeStringField("breed", rs.getString(2));
+                String subBreed = rs.getString(3);
+                if (subBreed != null) {
+                  generator.writeStringField("subBreed", subBreed);
+                }
+                generator.writeNumberField("version", rs.getLong(4));
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+              } catch (IOException e) {
+                throw new UncheckedIOException(e);
+              }
+              count[0]++;
+            });
+    return count[0];
+  }
+
+  private static void readHeader(JsonParser parser) throws IOException {
+    String format = null;
+    int formatVersion = -1;
+    expect(parser, JsonToken.START_OBJECT);
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String name = parser.currentName();
+      parser.nextToken();
+      switch (name) {
+        case "format" -> format = parser.getText();
+        case "formatVersion" -> formatVersion = parser.getIntValue();
+        default -> parser.skipChildren();
+      }
+    }
+    if (!FORMAT.equals(format)) {
+      throw new InvalidCatalogArchiveException("not a catalog archive");
+    }
+    if (formatVersion != FORMAT_VERSION) {
+      throw new InvalidCatalogArchiveException("unsupported format version " + formatVersion);
+    }
+  }
+
+  private static Map<String, String> readMetadata(JsonParser parser) throws IOException {
+    Map<String, String> metadata = new LinkedHashMap<>();
+    expect(parser, JsonToken.START_OBJECT);
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String name = parser.currentName();
+      parser.nextToken();
+      if (!name.equals("metadata")) {
+        parser.skipChildren();
+        continue;
+      }
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String key = parser.currentName();
+        parser.nextToken();
+        metadata.put(key, parser.getValueAsString());
+      }
+    }
+    return metadata;
+  }
+
+  private static long readEntries(JsonParser parser, Consumer<DogBreed> consumer) {
+    long count = 0;
+    try {
+      for (JsonToken token = parser.nextToken(); token != null; token = parser.nextToken()) {
+        if (token != JsonToken.START_OBJECT) {
+          throw new InvalidCatalogArchiveException("entry " + count + " is not an object");
+        }
+        consumer.accept(readEntry(parser, count));
+        count++;
+      }
+    } catch (IOException e) {
+      throw new InvalidCatalogArchiveException("malformed entry " + count + ": " + e.getMessage());
+    }
+    return count;
+  }
+
+  private static DogBreed readEntry(JsonParser parser, long index) throws IOException {
+    Long id = null;
+    String breed = null;
+    String subBreed = null;
+    long version = 0;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String name = parser.currentName();
+      parser.nextToken();
+      switch (name) {
+        case "id" -> id = parser.getLongValue();
+        case "breed" -> breed = parser.getValueAsString();
+        case "subBreed" -> subBreed = parser.getValueAsString();
+        case "version" -> version = parser.getLongValue();
+        default -> parser.skipChildren();
+      }
+    }
+    if (id == null || breed == null) {
+      throw new InvalidCatalogArchiveException("entry " + index + " has no id or breed");
+    }
+    return new DogBreed(id, breed, subBreed, version);
+  }
+
+  private Trailer readTrailer(ByteBuffer line) throws IOException {
+    long count = -1;
+    String sha256 = null;
+    try (JsonParser parser = jsonFactory.createParser(new ByteBufferBackedInputStream(line))) {
+      expect(parser, JsonToken.START_OBJECT);
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String name = parser.currentName();
+        parser.nextToken();
+        switch (name) {
+          case "count" -> count = parser.getLongValue();
+          case "sha256" -> sha256 = parser.getText();
+          default -> parser.skipChildren();
+        }
+      }
+    } catch (IOException e) {
+      throw new InvalidCatalogArchiveException("malformed trailer: " + e.getMessage());
+    }
+    if (count < 0 || sha256 == null) {
+      throw new InvalidCatalogArchiveException("trailer has no count or checksum");
+    }
+    return new Trailer(count, sha256);
+  }
+
+  /** Finds the start of the last line, ignoring a final line break. */
+  private static int trailerStart(ByteBuffer archive) {
+    int end = archive.limit();
+    if (end > 0 && archive.get(end - 1) == '\n') {
+      end--;
+    }
+    for (int i = end - 1; i >= 0; i--) {
+      if (archive.get(i) == '\n') {
+        return i + 1;
+      }
+    }
+    throw new InvalidCatalogArchiveException("no trailer");
+  }
+
+  private static void expect(JsonParser parser, JsonToken expected) throws IOException {
+    JsonToken token = parser.nextToken();
+    if (token != expected) {
+      throw new InvalidCatalogArchiveException("expected " + expected + " but found " + token);
+    }
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /** Last line of an archive. */
+  private record Trailer(long count, String sha256) {}
+}
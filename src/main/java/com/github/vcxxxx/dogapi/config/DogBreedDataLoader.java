@@ -1,84 +1,476 @@
 package com.github.vcxxxx.dogapi.config;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.vcxxxx.dogapi.config.SeedDiff.SeedKey;
 import com.github.vcxxxx.dogapi.model.DogBreed;
 import com.github.vcxxxx.dogapi.model.Metadata;
+import com.github.vcxxxx.dogapi.model.SeedBreed;
 import com.github.vcxxxx.dogapi.repository.DogBreedRepository;
 import com.github.vcxxxx.dogapi.repository.MetadataRepository;
-import jakarta.annotation.PostConstruct;
+import com.github.vcxxxx.dogapi.service.CatalogVersion;
+import com.github.vcxxxx.dogapi.service.DogBreedChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
- * Component responsible for loading initial dog breed data into the database exactly once.
+ * Component responsible for loading dog breed seed data into the database.
  *
  * <p>This class reads a JSON file containing dog breeds and their sub-breeds and persists them to
- * the database only if they have not been loaded previously. The loading status is tracked via a
- * Metadata entity to prevent duplicate data insertion on application restart.
+ * the database. The checksum of the last loaded file is tracked via a Metadata entity, so an
+ * unchanged file is not imported again on application restart and a changed one only applies its
+ * differences. Entries inserted from the seed file are recorded as {@link SeedBreed}s, and only
+ * those are removed when they are dropped from the file; entries created through the API are kept.
+ *
+ * <p>The seed file is read with a streaming parser and inserted in batched chunks within a single
+ * transaction, so a failed load leaves no partial data behind. With {@code dogapi.seed.async=true}
+ * the load runs in the background once the application is ready, and the readiness state reports
+ * {@link ReadinessState#REFUSING_TRAFFIC} until it completes.
+ *
+ * <p>The catalog can also be replaced with the content of a {@link CatalogArchive} through {@link
+ * #importCatalog(Consumer, Map)}, keeping the IDs and versions of the archived entries.
+ *
+ * <p>Every load is timed in the {@value #SEED_TIMER} timer, tagged with its {@code mode}: {@code
+ * full}, {@code incremental}, {@code unchanged}, {@code import} or {@code failed}.
  */
 @Component
-public class DogBreedDataLoader {
+public class DogBreedDataLoader implements SmartInitializingSingleton {
+
+  /** Name of the seed load timer. */
+  public static final String SEED_TIMER = "dogapi.seed.duration";
 
   private static final Logger logger = LoggerFactory.getLogger(DogBreedDataLoader.class);
   private static final String DOG_BREEDS_LOADED_KEY = "dog_breeds_loaded";
+  private static final String SEED_CHECKSUM_KEY = "dog_breeds_seed_checksum";
+  private static final List<String> SEED_METADATA_KEYS =
+      List.of(DOG_BREEDS_LOADED_KEY, SEED_CHECKSUM_KEY);
 
   private final DogBreedRepository dogBreedRepository;
   private final MetadataRepository metadataRepository;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final EntityManager entityManager;
+  private final ApplicationEventPublisher eventPublisher;
+  private final MeterRegistry meterRegistry;
+  private final Resource seedFile;
+  private final int batchSize;
+  private final boolean async;
+
+  private final AtomicBoolean loading = new AtomicBoolean();
 
   /**
    * Constructs the DogBreedDataLoader with the required repositories.
    *
    * @param dogBreedRepository repository for DogBreed entities
    * @param metadataRepository repository for Metadata entities
+   * @param jdbcTemplate template used for schema maintenance statements
+   * @param transactionTemplate template wrapping the whole load in one transaction
+   * @param entityManager entity manager flushed and cleared after every chunk
+   * @param eventPublisher publisher for change and readiness events
+   * @param meterRegistry registry the seed load timer is registered in
+   * @param seedFile the seed file to load
+   * @param batchSize number of rows inserted per chunk
+   * @param async whether to load in the background once the application is ready
    */
   public DogBreedDataLoader(
-      DogBreedRepository dogBreedRepository, MetadataRepository metadataRepository) {
+      DogBreedRepository dogBreedRepository,
+      MetadataRepository metadataRepository,
+      JdbcTemplate jdbcTemplate,
+      TransactionTemplate transactionTemplate,
+      EntityManager entityManager,
+      ApplicationEventPublisher eventPublisher,
+      MeterRegistry meterRegistry,
+      @Value("${dogapi.seed.location:classpath:dogs.json}") Resource seedFile,
+      @Value("${dogapi.seed.batch-size:1000}") int batchSize,
+      @Value("${dogapi.seed.async:false}") boolean async) {
     this.dogBreedRepository = dogBreedRepository;
     this.metadataRepository = metadataRepository;
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = transactionTemplate;
+    this.entityManager = entityManager;
+    this.eventPublisher = eventPublisher;
+    this.meterRegistry = meterRegistry;
+    this.seedFile = seedFile;
+    this.batchSize = batchSize;
+    this.async = async;
   }
 
   /**
-   * Loads dog breed data from a JSON file into the database if it has not been loaded before.
-   *
-   * <p>This method runs once on application startup and checks a metadata flag to determine if the
-   * data load has already occurred. If the flag is absent, it reads the JSON file, persists the
-   * data, and then sets the flag to prevent future loads.
+   * Loads the seed data, unless loading asynchronously.
    *
-   * @throws RuntimeException if the JSON file cannot be read or data fails to load
+   * <p>Runs once all singletons are created, so change listeners are registered, but before the
+   * web server starts accepting requests.
    */
-  @PostConstruct
-  public void loadDataIfNotAlreadyLoaded() {
-    boolean alreadyLoaded = metadataRepository.existsById(DOG_BREEDS_LOADED_KEY);
-    if (alreadyLoaded) {
-      logger.info("Dog breeds already loaded, skipping JSON import.");
+  @Override
+  public void afterSingletonsInstantiated() {
+    if (!async) {
+      loadOrSyncSeedData();
+    }
+  }
+
+  /** Starts the background load once the application is ready, if asynchronous loading is on. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    if (!async) {
       return;
     }
+    loading.set(true);
+    AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+    new SimpleAsyncTaskExecutor("dog-breed-seed-")
+        .execute(
+            () -> {
+              try {
+                loadOrSyncSeedData();
+              } finally {
+                loading.set(false);
+                AvailabilityChangeEvent.publish(
+                    eventPublisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+              }
+            });
+  }
+
+  /**
+   * Keeps the application out of rotation while a background load is still running.
+   *
+   * <p>Spring Boot reports {@link ReadinessState#ACCEPTING_TRAFFIC} right after the application is
+   * ready, which would otherwise override the state set when the load started.
+   *
+   * @param event the readiness change event
+   */
+  @EventListener
+  public void onReadinessChange(AvailabilityChangeEvent<ReadinessState> event) {
+    if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC && loading.get()) {
+      AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+    }
+  }
+
+  /**
+   * Returns whether a background load is currently running.
+   *
+   * @return true while the seed data is being loaded asynchronously
+   */
+  public boolean isLoading() {
+    return loading.get();
+  }
 
+  /**
+   * Loads the seed file into the database, or brings the database in line with a changed file.
+   *
+   * <p>A SHA-256 checksum of the seed file is stored in Metadata after every load. When it matches
+   * the checksum of the current file, nothing else is read from the database. An empty database
+   * is filled with a full load. Otherwise the sorted seed entries are merged against a key-only
+   * cursor over the table in the same order, joined with the seeded records, the missing entries
+   * are inserted, and the seeded entries no longer in the file deleted, as described in {@link
+   * SeedDiff}. Only the seed entries and the differences are held in memory.
+   *
+   * @throws RuntimeException if the JSON file cannot be read or data fails to load
+   */
+  public void loadOrSyncSeedData() {
+    long start = System.nanoTime();
     try {
-      ObjectMapper objectMapper = new ObjectMapper();
-      InputStream is = getClass().getClassLoader().getResourceAsStream("dogs.json");
-      Map<String, List<String>> breedMap = objectMapper.readValue(is, new TypeReference<>() {});
-
-      breedMap.forEach(
-          (breed, subBreeds) -> {
-            if (subBreeds.isEmpty()) {
-              dogBreedRepository.save(new DogBreed(null, breed, null));
-            } else {
-              subBreeds.forEach(sub -> dogBreedRepository.save(new DogBreed(null, breed, sub)));
-            }
-          });
-
-      // Save the metadata flag after successful load
-      metadataRepository.save(new Metadata(DOG_BREEDS_LOADED_KEY, "true"));
-      logger.info("Dog breeds loaded into database successfully.");
+      String checksum = checksum();
+      String storedChecksum = metadataRepository.findValueByKey(SEED_CHECKSUM_KEY).orElse(null);
+      if (checksum.equals(storedChecksum)) {
+        recordSeedLoad("unchanged", start);
+        logger.info("Dog breed seed file unchanged, skipping JSON import.");
+        return;
+      }
+
+      if (!metadataRepository.existsById(DOG_BREEDS_LOADED_KEY)) {
+        Long loaded = transactionTemplate.execute(status -> loadSeedFile(checksum));
+        recordSeedLoad("full", start);
+        logger.info(
+            "Dog breeds loaded into database successfully: {} entries in {} ms.",
+            loaded,
+            elapsedMillis(start));
+      } else {
+        alignIdSequence();
+        SeedDiff diff = transactionTemplate.execute(status -> syncSeedFile(checksum));
+        recordSeedLoad("incremental", start);
+        logger.info(
+            "Dog breed seed file changed, inserted {} and deleted {} entries in {} ms.",
+            diff.inserts().size(),
+            diff.deletes().size(),
+            elapsedMillis(start));
+      }
     } catch (Exception e) {
+      recordSeedLoad("failed", start);
       logger.error("Failed to load dog breeds from JSON", e);
       throw new RuntimeException("Failed to load dog breeds", e);
     }
   }
+
+  /**
+   * Replaces all entries with the given ones, keeping their IDs and versions, in one transaction.
+   *
+   * <p>The entries are inserted as JDBC batches of {@code dogapi.seed.batch-size} rows without
+   * going through the persistence context. The given metadata, normally the seed flags of the node
+   * the entries were exported from, is stored with them, so that the seed file is not loaded over
+   * the imported catalog. An exception thrown while the entries are read rolls the import back.
+   *
+   * @param entries pushes every entry to the given consumer
+   * @param metadata the seed flags to store, as returned by {@link #seedMetadata()}; other keys
+   *     are ignored
+   * @return the number of imported entries
+   */
+  public long importCatalog(Consumer<Consumer<DogBreed>> entries, Map<String, String> metadata) {
+    long start = System.nanoTime();
+    try {
+      Long imported =
+          transactionTemplate.execute(
+              status -> {
+                metadataRepository.lockByKey(CatalogVersion.CATALOG_VERSION_KEY);
+                jdbcTemplate.update("delete from dog_breeds");
+                // Imported entries are adopted as seeded by the next sync if they match the file
+                jdbcTemplate.update("delete from seed_breeds");
+                List<Object[]> batch = new ArrayList<>(batchSize);
+                long[] count = new long[1];
+                entries.accept(
+                    breed -> {
+                      batch.add(
+                          new Object[] {
+                            breed.getId(), breed.getBreed(), breed.getSubBreed(), breed.getVersion()
+                          });
+                      count[0]++;
+                      if (batch.size() == batchSize) {
+                        insertBatch(batch);
+                      }
+                    });
+                insertBatch(batch);
+                metadata.forEach(
+                    (key, value) -> {
+                      // Other metadata, such as the catalog version, belongs to this node
+                      if (SEED_METADATA_KEYS.contains(key)) {
+                        metadataRepository.save(new Metadata(key, value));
+                      }
+                    });
+                eventPublisher.publishEvent(DogBreedChangedEvent.reloaded());
+                return count[0];
+              });
+      alignIdSequence();
+      recordSeedLoad("import", start);
+      logger.info("Imported {} dog breeds in {} ms.", imported, elapsedMillis(start));
+      return imported;
+    } catch (RuntimeException e) {
+      recordSeedLoad("failed", start);
+      throw e;
+    }
+  }
+
+  /**
+   * Returns the metadata recording which seed file the catalog was loaded from.
+   *
+   * @return the seed flags by key, without the ones not set yet
+   */
+  public Map<String, String> seedMetadata() {
+    Map<String, String> metadata = new LinkedHashMap<>();
+    for (String key : SEED_METADATA_KEYS) {
+      metadataRepository.findValueByKey(key).ifPresent(value -> metadata.put(key, value));
+    }
+    return metadata;
+  }
+
+  private void insertBatch(List<Object[]> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.batchUpdate(
+        "insert into dog_breeds (id, breed, sub_breed, version) values (?, ?, ?, ?)", batch);
+    batch.clear();
+  }
+
+  private long loadSeedFile(String checksum) {
+    if (loadedByAnotherNode(checksum)) {
+      return 0;
+    }
+    List<DogBreed> chunk = new ArrayList<>(batchSize);
+    long count =
+        readSeedFile(
+            (breed, subBreed) -> {
+              chunk.add(new DogBreed(breed, subBreed));
+              if (chunk.size() == batchSize) {
+                flushChunk(chunk);
+              }
+            });
+    flushChunk(chunk);
+    // Save the metadata flag in the same transaction as the data
+    metadataRepository.save(new Metadata(DOG_BREEDS_LOADED_KEY, "true"));
+    metadataRepository.save(new Metadata(SEED_CHECKSUM_KEY, checksum));
+    eventPublisher.publishEvent(DogBreedChangedEvent.reloaded());
+    return count;
+  }
+
+  private SeedDiff syncSeedFile(String checksum) {
+    if (loadedByAnotherNode(checksum)) {
+      return new SeedDiff(List.of(), false);
+    }
+    List<SeedKey> seedKeys = new ArrayList<>();
+    readSeedFile((breed, subBreed) -> seedKeys.add(new SeedKey(breed, subBreed)));
+    seedKeys.sort(SeedKey.ORDER);
+    boolean adopting =
+        jdbcTemplate.queryForList("select breed_id from seed_breeds limit 1", Long.class).isEmpty();
+    // Records of seeded rows deleted through the API
+    jdbcTemplate.update(
+        "delete from seed_breeds where breed_id not in (select id from dog_breeds)");
+
+    SeedDiff diff = new SeedDiff(seedKeys, adopting);
+    jdbcTemplate.query(
+        "select d.id, d.breed, d.sub_breed, s.breed, s.sub_breed from dog_breeds d"
+            + " left join seed_breeds s on s.breed_id = d.id"
+            + " order by d.breed, d.sub_breed nulls first",
+        (RowCallbackHandler)
+            rs -> {
+              SeedKey key = new SeedKey(rs.getString(2), rs.getString(3));
+              SeedKey seededAs =
+                  rs.getString(4) == null ? null : new SeedKey(rs.getString(4), rs.getString(5));
+              diff.acceptExisting(rs.getLong(1), key, seededAs);
+            });
+    diff.finish();
+
+    for (int i = 0; i < diff.deletes().size(); i += batchSize) {
+      dogBreedRepository.deleteAllByIdInBatch(
+          diff.deletes().subList(i, Math.min(i + batchSize, diff.deletes().size())));
+    }
+    if (!diff.forgotten().isEmpty()) {
+      jdbcTemplate.batchUpdate(
+          "delete from seed_breeds where breed_id = ?",
+          diff.forgotten().stream().map(id -> new Object[] {id}).toList());
+    }
+    recordSeeded(
+        diff.adopted().entrySet().stream()
+            .map(
+                entry ->
+                    new Object[] {
+                      entry.getKey(), entry.getValue().breed(), entry.getValue().subBreed()
+                    })
+            .toList());
+    List<DogBreed> chunk = new ArrayList<>(batchSize);
+    for (SeedKey key : diff.inserts()) {
+      chunk.add(new DogBreed(key.breed(), key.subBreed()));
+      if (chunk.size() == batchSize) {
+        flushChunk(chunk);
+      }
+    }
+    flushChunk(chunk);
+
+    metadataRepository.save(new Metadata(SEED_CHECKSUM_KEY, checksum));
+    if (!diff.inserts().isEmpty() || !diff.deletes().isEmpty()) {
+      eventPublisher.publishEvent(DogBreedChangedEvent.reloaded());
+    }
+    return diff;
+  }
+
+  private long readSeedFile(BiConsumer<String, String> entryConsumer) {
+    try (InputStream is = seedFile.getInputStream()) {
+      return SeedFileParser.parse(is, entryConsumer);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private String checksum() throws IOException, NoSuchAlgorithmException {
+    MessageDigest digest = MessageDigest.getInstance("SHA-256");
+    try (InputStream is = seedFile.getInputStream()) {
+      byte[] buffer = new byte[8192];
+      int read;
+      while ((read = is.read(buffer)) != -1) {
+        digest.update(buffer, 0, read);
+      }
+    }
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  private void recordSeedLoad(String mode, long startNanos) {
+    Timer.builder(SEED_TIMER)
+        .description("Duration of the dog breed seed load")
+        .tag("mode", mode)
+        .register(meterRegistry)
+        .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+  }
+
+  private static long elapsedMillis(long startNanos) {
+    return (System.nanoTime() - startNanos) / 1_000_000;
+  }
+
+  private void flushChunk(List<DogBreed> chunk) {
+    if (chunk.isEmpty()) {
+      return;
+    }
+    dogBreedRepository.saveAll(chunk);
+    // Push the chunk to the database as JDBC batches and drop it from the persistence context
+    entityManager.flush();
+    entityManager.clear();
+    recordSeeded(
+        chunk.stream()
+            .map(breed -> new Object[] {breed.getId(), breed.getBreed(), breed.getSubBreed()})
+            .toList());
+    chunk.clear();
+  }
+
+  private void recordSeeded(List<Object[]> rows) {
+    if (!rows.isEmpty()) {
+      jdbcTemplate.batchUpdate(
+          "insert into seed_breeds (breed_id, breed, sub_breed) values (?, ?, ?)", rows);
+    }
+  }
+
+  /**
+   * Locks the catalog version row until the load transaction ends, so that nodes starting at once
+   * against a shared database load the seed file one after the other, and tells whether another
+   * node has loaded the same seed file in the meantime.
+   */
+  private boolean loadedByAnotherNode(String checksum) {
+    metadataRepository.lockByKey(CatalogVersion.CATALOG_VERSION_KEY);
+    return checksum.equals(metadataRepository.findValueByKey(SEED_CHECKSUM_KEY).orElse(null));
+  }
+
+  /**
+   * Moves the ID sequence past the highest existing ID.
+   *
+   * <p>Imported entries keep their IDs, which the sequence has not handed out. Databases created
+   * before IDs were drawn from {@link DogBreed#ID_SEQUENCE} likewise hold rows with
+   * identity-generated IDs, while the sequence itself starts from 1; they predate the seed
+   * checksum, so they are synced at least once, and the sequence is aligned before every sync.
+   * Restarting it beyond those IDs, with room for one pooled allocation, prevents primary key
+   * collisions. It is not aligned on an unchanged restart, as reading the next value allocates IDs.
+   */
+  void alignIdSequence() {
+    Long maxId =
+        jdbcTemplate.queryForObject("select coalesce(max(id), 0) from dog_breeds", Long.class);
+    Long nextValue =
+        jdbcTemplate.queryForObject("select next value for " + DogBreed.ID_SEQUENCE, Long.class);
+    long minimum = maxId + DogBreed.ID_ALLOCATION_SIZE + 1;
+    if (nextValue < minimum) {
+      jdbcTemplate.execute("alter sequence " + DogBreed.ID_SEQUENCE + " restart with " + minimum);
+      logger.info("Restarted {} at {} to skip existing IDs.", DogBreed.ID_SEQUENCE, minimum);
+    }
+  }
 }
@@ -0,0 +1,43 @@
+package com.github.vcxxxx.dogapi.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Registers the binary response formats, negotiated through the {@code Accept} header next to
+ * JSON: CBOR ({@code application/cbor}) and Smile ({@code application/x-jackson-smile}), which also
+ * back-references repeated property names instead of writing them for every breed.
+ *
+ * <p>Both use mappers built from the application's Jackson configuration, so they serialize
+ * exactly the properties the JSON responses contain.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MessageEncodingConfiguration {
+
+  /**
+   * Converter for CBOR request and response bodies.
+   *
+   * @param builder the application's Jackson builder
+   * @return the CBOR converter
+   */
+  @Bean
+  MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+      Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2CborHttpMessageConverter(builder.cbor().build());
+  }
+
+  /**
+   * Converter for Smile request and response bodies.
+   *
+   * @param builder the application's Jackson builder
+   * @return the Smile converter
+   */
+  @Bean
+  MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+      Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2SmileHttpMessageConverter(builder.smile().build());
+  }
+}
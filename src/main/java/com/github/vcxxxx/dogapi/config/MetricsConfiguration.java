@@ -0,0 +1,94 @@
+package com.github.vcxxxx.dogapi.config;
+
+import com.github.vcxxxx.dogapi.cache.BoundedCache.CacheStats;
+import com.github.vcxxxx.dogapi.cache.DogBreedLookupCache;
+import com.github.vcxxxx.dogapi.repository.RepositoryAdmissionLimiter;
+import com.github.vcxxxx.dogapi.search.BreedSearchIndexHolder;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.function.ToDoubleFunction;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers gauges for state held in memory: the catalog size, taken from the search index so it
+ * is read without querying the database, the counters of the lookup cache, and the activity of the
+ * repository admission limiter.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfiguration {
+
+  /**
+   * Exposes the number of breeds in the catalog as {@code dogapi.catalog.size}.
+   *
+   * @param searchIndex holder of the search index covering the whole catalog
+   * @return the binder registering the gauge
+   */
+  @Bean
+  MeterBinder catalogSizeMetrics(BreedSearchIndexHolder searchIndex) {
+    return registry ->
+        Gauge.builder("dogapi.catalog.size", searchIndex, holder -> holder.get().size())
+            .description("Number of dog breed entries in the catalog")
+            .register(registry);
+  }
+
+  /**
+   * Exposes the counters of every lookup of the breed lookup cache, tagged with {@code cache}:
+   * {@code dogapi.cache.gets} by {@code result} ({@code hit} or {@code miss}), {@code
+   * dogapi.cache.evictions} and the {@code dogapi.cache.size} gauge.
+   *
+   * @param lookupCache the lookup cache
+   * @return the binder registering the meters
+   */
+  @Bean
+  MeterBinder lookupCacheMetrics(DogBreedLookupCache lookupCache) {
+    return registry -> {
+      for (String cache : lookupCache.stats().keySet()) {
+        FunctionCounter.builder("dogapi.cache.gets", lookupCache, stat(cache, CacheStats::hits))
+            .tag("cache", cache)
+            .tag("result", "hit")
+            .description("Lookups served from the breed lookup cache")
+            .register(registry);
+        FunctionCounter.builder("dogapi.cache.gets", lookupCache, stat(cache, CacheStats::misses))
+            .tag("cache", cache)
+            .tag("result", "miss")
+            .description("Lookups that loaded the breed from the database")
+            .register(registry);
+        FunctionCounter.builder(
+                "dogapi.cache.evictions", lookupCache, stat(cache, CacheStats::evictions))
+            .tag("cache", cache)
+            .description("Entries evicted from the breed lookup cache to respect its size")
+            .register(registry);
+        Gauge.builder("dogapi.cache.size", lookupCache, stat(cache, CacheStats::size))
+            .tag("cache", cache)
+            .description("Entries in the breed lookup cache")
+            .register(registry);
+      }
+    };
+  }
+
+  /**
+   * Exposes the running and rejected calls of the repository admission limiter.
+   *
+   * @param limiter the admission limiter
+   * @return the binder registering the meters
+   */
+  @Bean
+  MeterBinder admissionMetrics(RepositoryAdmissionLimiter limiter) {
+    return registry -> {
+      Gauge.builder("dogapi.admission.active", limiter, RepositoryAdmissionLimiter::activeCalls)
+          .description("Repository calls currently holding an admission permit")
+          .register(registry);
+      FunctionCounter.builder(
+              "dogapi.admission.rejected", limiter, RepositoryAdmissionLimiter::rejectedCalls)
+          .description("Repository calls rejected by admission control")
+          .register(registry);
+    };
+  }
+
+  private static ToDoubleFunction<DogBreedLookupCache> stat(
+      String cache, ToDoubleFunction<CacheStats> counter) {
+    return lookupCache -> counter.applyAsDouble(lookupCache.stats().get(cache));
+  }
+}
@@ -0,0 +1,87 @@
+package com.github.vcxxxx.dogapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Sends read-only transactions to a read replica and everything else to the primary database.
+ *
+ * <p>Enabled with {@code dogapi.datasource.replica.enabled=true}. The primary pool is configured
+ * with the usual {@code spring.datasource.*} properties, the replica pool with {@code
+ * dogapi.datasource.replica.*}, both taking any Hikari setting such as {@code maximum-pool-size}.
+ * The pools are named {@value #PRIMARY_POOL} and {@value #REPLICA_POOL}, which tags their {@code
+ * hikaricp.*} metrics.
+ *
+ * <p>The data source used by JPA takes no connection until the first statement of a transaction,
+ * by which time the transaction is known to be read-only or not. Reads of {@code
+ * DogBreedRepository}, which runs its queries in read-only transactions, are thus served by the
+ * replica, like other read-only transactions, while writes are served by the primary. The replica
+ * is expected to apply commits synchronously; an asynchronous one would serve, and cache, stale
+ * breeds.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "dogapi.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfiguration {
+
+  /** Name of the connection pool to the primary database. */
+  public static final String PRIMARY_POOL = "primary";
+
+  /** Name of the connection pool to the read replica. */
+  public static final String REPLICA_POOL = "replica";
+
+  /**
+   * Creates the connection pool to the primary database.
+   *
+   * @param properties the {@code spring.datasource.*} properties
+   * @return the primary pool
+   */
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    HikariDataSource dataSource =
+        properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    dataSource.setPoolName(PRIMARY_POOL);
+    return dataSource;
+  }
+
+  /**
+   * Creates the connection pool to the read replica.
+   *
+   * @return the replica pool, configured from {@code dogapi.datasource.replica.*}
+   */
+  @Bean
+  @ConfigurationProperties("dogapi.datasource.replica")
+  HikariDataSource replicaDataSource() {
+    HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class).build();
+    dataSource.setPoolName(REPLICA_POOL);
+    dataSource.setReadOnly(true);
+    return dataSource;
+  }
+
+  /**
+   * Creates the data source used by JPA, choosing a pool once a transaction runs its first
+   * statement.
+   *
+   * @param primary the primary pool
+   * @param replica the replica pool, used for read-only transactions
+   * @return the routing data source
+   */
+  @Bean
+  @Primary
+  DataSource dataSource(
+      @Qualifier("primaryDataSource") DataSource primary,
+      @Qualifier("replicaDataSource") DataSource replica) {
+    LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+    dataSource.setReadOnlyDataSource(replica);
+    return dataSource;
+  }
+}
@@ -0,0 +1,83 @@
+package com.github.vcxxxx.dogapi.config;
+
+import com.github.vcxxxx.dogapi.repository.DogBreedRepository;
+import com.github.vcxxxx.dogapi.repository.RepositoryAdmissionLimiter;
+import com.github.vcxxxx.dogapi.service.DogBreedService;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.RootClassFilter;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Installs the {@link RepositoryAdmissionLimiter} in front of every path to the database: on the
+ * {@link DogBreedRepository} proxy, and around the transactional {@link DogBreedService} methods,
+ * which hold a connection for the whole transaction and would otherwise wait for one before
+ * reaching the repository.
+ */
+@Configuration(proxyBeanMethods = false)
+public class RepositoryAdmissionConfiguration {
+
+  /**
+   * Adds the limiter as the outermost advice of the repository proxy.
+   *
+   * @param limiter the limiter, resolved when the repository is created
+   * @param enabled whether admission control is enabled
+   * @return the post-processor customizing repository factory beans
+   */
+  @Bean
+  static BeanPostProcessor repositoryAdmissionPostProcessor(
+      ObjectProvider<RepositoryAdmissionLimiter> limiter,
+      @Value("${dogapi.admission.enabled:false}") boolean enabled) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (enabled && bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+          factoryBean.addRepositoryFactoryCustomizer(
+              factory ->
+                  factory.addRepositoryProxyPostProcessor(
+                      (proxyFactory, information) -> {
+                        if (information.getRepositoryInterface() == DogBreedRepository.class) {
+                          // First, so a rejected call never starts a repository transaction
+                          proxyFactory.addAdvice(0, limiter.getObject());
+                        }
+                      }));
+        }
+        return bean;
+      }
+    };
+  }
+
+  /**
+   * Applies the limiter to the transactional service methods, ahead of the transaction advice so
+   * that no connection is taken before a permit is granted.
+   *
+   * @param limiter the limiter
+   * @return the advisor for transactional {@link DogBreedService} methods
+   */
+  @Bean
+  @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+  @ConditionalOnProperty(name = "dogapi.admission.enabled", havingValue = "true")
+  static Advisor transactionalServiceAdmissionAdvisor(
+      ObjectProvider<RepositoryAdmissionLimiter> limiter) {
+    ComposablePointcut pointcut =
+        new ComposablePointcut(new RootClassFilter(DogBreedService.class))
+            .intersection(AnnotationMatchingPointcut.forMethodAnnotation(Transactional.class));
+    MethodInterceptor interceptor = invocation -> limiter.getObject().invoke(invocation);
+    DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, interceptor);
+    advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+    return advisor;
+  }
+}
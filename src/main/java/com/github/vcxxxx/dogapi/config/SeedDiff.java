@@ -0,0 +1,148 @@
+package com.github.vcxxxx.dogapi.config;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Merge of the sorted seed file entries against the sorted rows of the {@code dog_breeds} table.
+ *
+ * <p>Existing rows are fed one at a time in {@link SeedKey#ORDER}, typically straight from a
+ * database cursor, each with the names it was recorded as seeded with, and compared against the
+ * next seed entry. Only the differences are kept. Seed entries with no matching row become
+ * inserts. A row with no matching seed entry only becomes a delete if it was seeded itself and
+ * still has the names it was seeded with, so breeds created or renamed through the API are never
+ * deleted.
+ *
+ * <p>When no row is recorded as seeded yet, as on the first sync of a database loaded before rows
+ * were recorded, nothing is deleted and the rows matching seed entries are adopted as seeded.
+ */
+final class SeedDiff {
+
+  /**
+   * Identity of a catalog entry.
+   *
+   * @param breed the breed name
+   * @param subBreed the sub-breed name, or null if none
+   */
+  record SeedKey(String breed, String subBreed) {
+
+    /** Orders by breed, then sub-breed with a missing sub-breed first. */
+    static final Comparator<SeedKey> ORDER =
+        Comparator.comparing(SeedKey::breed)
+            .thenComparing(SeedKey::subBreed, Comparator.nullsFirst(Comparator.naturalOrder()));
+  }
+
+  private final List<SeedKey> seedKeys;
+  private final boolean adopting;
+  private final List<SeedKey> inserts = new ArrayList<>();
+  private final List<Long> deletes = new ArrayList<>();
+  private final Map<Long, SeedKey> adopted = new HashMap<>();
+  private final List<Long> forgotten = new ArrayList<>();
+  private int next;
+  private SeedKey lastExisting;
+
+  /**
+   * Creates a merge over the given seed entries.
+   *
+   * @param seedKeys seed entries sorted in {@link SeedKey#ORDER}; duplicates are allowed
+   * @param adopting whether no row is recorded as seeded yet
+   */
+  SeedDiff(List<SeedKey> seedKeys, boolean adopting) {
+    this.seedKeys = seedKeys;
+    this.adopting = adopting;
+  }
+
+  /**
+   * Merges the next existing row.
+   *
+   * @param id the row ID
+   * @param key the row's breed and sub-breed
+   * @param seededAs the names the row was recorded as seeded with, or null if it is not recorded
+   * @throws IllegalStateException if rows are not supplied in {@link SeedKey#ORDER}
+   */
+  void acceptExisting(long id, SeedKey key, SeedKey seededAs) {
+    if (lastExisting != null && SeedKey.ORDER.compare(lastExisting, key) >= 0) {
+      throw new IllegalStateException(
+          "Existing breeds are not sorted as expected: " + key + " after " + lastExisting);
+    }
+    lastExisting = key;
+
+    int cmp;
+    while (next < seedKeys.size() && (cmp = SeedKey.ORDER.compare(seedKeys.get(next), key)) <= 0) {
+      if (cmp < 0) {
+        addInsert(seedKeys.get(next++));
+      } else {
+        skipEqual(key);
+        if (adopting) {
+          adopted.put(id, key);
+        }
+        return;
+      }
+    }
+    if (key.equals(seededAs)) {
+      deletes.add(id);
+      forgotten.add(id);
+    } else if (seededAs != null) {
+      // Renamed through the API since it was seeded
+      forgotten.add(id);
+    }
+  }
+
+  /** Turns every seed entry left after the last existing row into an insert. */
+  void finish() {
+    while (next < seedKeys.size()) {
+      addInsert(seedKeys.get(next++));
+    }
+  }
+
+  /**
+   * Returns the seed entries missing from the table.
+   *
+   * @return the entries to insert, in {@link SeedKey#ORDER} without duplicates
+   */
+  List<SeedKey> inserts() {
+    return inserts;
+  }
+
+  /**
+   * Returns the IDs of seeded rows whose entry was removed from the seed file.
+   *
+   * @return the IDs of the rows to delete
+   */
+  List<Long> deletes() {
+    return deletes;
+  }
+
+  /**
+   * Returns the existing rows that match seed entries, when no row was recorded as seeded yet.
+   *
+   * @return the rows to record as seeded, by ID
+   */
+  Map<Long, SeedKey> adopted() {
+    return adopted;
+  }
+
+  /**
+   * Returns the IDs whose seeded record is obsolete: deleted rows and rows renamed through the API.
+   *
+   * @return the IDs of the records to remove
+   */
+  List<Long> forgotten() {
+    return forgotten;
+  }
+
+  private void addInsert(SeedKey key) {
+    if (inserts.isEmpty() || !inserts.get(inserts.size() - 1).equals(key)) {
+      inserts.add(key);
+    }
+  }
+
+  private void skipEqual(SeedKey key) {
+    while (next < seedKeys.size() && seedKeys.get(next).equals(key)) {
+      next++;
+    }
+  }
+}
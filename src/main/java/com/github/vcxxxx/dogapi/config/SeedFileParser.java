@@ -0,0 +1,69 @@
+package com.github.vcxxxx.dogapi.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.BiConsumer;
+
+/**
+ * Streaming reader for seed files in the {@code dogs.json} format, an object mapping each breed to
+ * an array of its sub-breeds.
+ *
+ * <p>The file is read token by token, so memory use does not depend on the file size. A breed with
+ * no sub-breeds yields a single entry with a null sub-breed.
+ */
+public final class SeedFileParser {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  private SeedFileParser() {}
+
+  /**
+   * Reads every breed and sub-breed entry of a seed file, in file order.
+   *
+   * @param in the seed file contents; not closed by this method
+   * @param entryConsumer receives the breed and sub-breed (null if none) of every entry
+   * @return the number of entries read
+   * @throws IOException if the file cannot be read or is not in the expected format
+   */
+  public static long parse(InputStream in, BiConsumer<String, String> entryConsumer)
+      throws IOException {
+    try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+      parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+      expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+
+      long entries = 0;
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String breed = parser.currentName();
+        expect(parser, parser.nextToken(), JsonToken.START_ARRAY);
+
+        boolean hasSubBreeds = false;
+        JsonToken token;
+        while ((token = parser.nextToken()) == JsonToken.VALUE_STRING) {
+          entryConsumer.accept(breed, parser.getText());
+          hasSubBreeds = true;
+          entries++;
+        }
+        expect(parser, token, JsonToken.END_ARRAY);
+
+        if (!hasSubBreeds) {
+          entryConsumer.accept(breed, null);
+          entries++;
+        }
+      }
+      expect(parser, parser.currentToken(), JsonToken.END_OBJECT);
+      return entries;
+    }
+  }
+
+  private static void expect(JsonParser parser, JsonToken actual, JsonToken expected)
+      throws IOException {
+    if (actual != expected) {
+      throw new IOException(
+          "Unexpected " + actual + " in seed file at " + parser.currentLocation() + ", expected "
+              + expected);
+    }
+  }
+}
@@ -0,0 +1,84 @@
+package com.github.vcxxxx.dogapi.controller;
+
+import com.github.vcxxxx.dogapi.config.CatalogArchive;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * REST controller for backing up and restoring the whole catalog as a {@link CatalogArchive}.
+ *
+ * <p>The import replaces the catalog and is disabled unless {@code
+ * dogapi.archive.import-enabled=true}, since the API has no authentication of its own; enable it
+ * only where {@code /admin} is not reachable by untrusted clients.
+ */
+@RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class CatalogArchiveController {
+
+  private final CatalogArchive catalogArchive;
+  private final boolean importEnabled;
+
+  public CatalogArchiveController(
+      CatalogArchive catalogArchive,
+      @Value("${dogapi.archive.import-enabled:false}") boolean importEnabled) {
+    this.catalogArchive = catalogArchive;
+    this.importEnabled = importEnabled;
+  }
+
+  /**
+   * Streams the whole catalog as an archive.
+   *
+   * @return a streaming response body with the NDJSON archive, as an attachment
+   */
+  @GetMapping("/api/dogbreeds/export")
+  public ResponseEntity<StreamingResponseBody> exportCatalog() {
+    StreamingResponseBody body = catalogArchive::export;
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(DogBreedController.APPLICATION_NDJSON_VALUE))
+        .header(
+            HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename("dogbreeds.ndjson").build().toString())
+        .body(body);
+  }
+
+  /**
+   * Replaces the catalog with an archive produced by {@link #exportCatalog()}.
+   *
+   * <p>The request body is spooled to a temporary file first, so the archive can be verified as
+   * a whole before the catalog is touched.
+   *
+   * @param body the archive
+   * @return the number of imported breeds, or 403 if imports are disabled
+   * @throws IOException if the request body cannot be read or spooled
+   */
+  @PostMapping("/admin/catalog/import")
+  public ResponseEntity<?> importCatalog(InputStream body) throws IOException {
+    if (!importEnabled) {
+      return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Catalog import is disabled.");
+    }
+    Path file = Files.createTempFile("dogbreeds-import-", ".ndjson");
+    try {
+      Files.copy(body, file, StandardCopyOption.REPLACE_EXISTING);
+      long imported = catalogArchive.importFrom(file);
+      return ResponseEntity.ok(Map.of("imported", imported));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+}
@@ -0,0 +1,255 @@
+package com.github.vcxxxx.dogapi.controller;
+
+import com.github.vcxxxx.dogapi.dto.ChangeFeed;
+import com.github.vcxxxx.dogapi.exception.ChangeLogCompactedException;
+import com.github.vcxxxx.dogapi.model.DogBreedChange;
+import com.github.vcxxxx.dogapi.service.ChangeLog;
+import com.github.vcxxxx.dogapi.service.DogBreedChangedEvent;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes committed catalog changes to Server-Sent Events subscribers.
+ *
+ * <p>Every subscriber is first caught up from the {@link ChangeLog} and then receives new changes
+ * as they are committed, one event per catalog version, with the version as event ID. Subscribers
+ * that are at the same version share one read of the log.
+ *
+ * <p>The log is read on a single background thread, so writers never wait for clients, and every
+ * subscriber is written to on its own task, with at most one write in flight, so a slow client
+ * does not hold up the others. A subscriber that is still writing falls behind and is caught up
+ * from the log once the write completes; one whose write takes longer than {@code
+ * dogapi.changes.sse-write-timeout} is dropped and has to reconnect. A dropped subscriber's write
+ * keeps its thread until the connection is closed, so there is at most one such thread per slow
+ * client.
+ */
+@Component
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class ChangeFeedEmitters {
+
+  /** Name of the events carrying the changes of one catalog version. */
+  public static final String CHANGES_EVENT = "changes";
+
+  /** Name of the event sent before closing a stream whose position was compacted away. */
+  public static final String RESET_EVENT = "reset";
+
+  private final ChangeLog changeLog;
+  private final Duration timeout;
+  private final Duration writeTimeout;
+  private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+  private final AtomicBoolean deliveryPending = new AtomicBoolean();
+  private final ScheduledExecutorService executor =
+      Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("change-feed-"));
+  private final ExecutorService writers =
+      Executors.newCachedThreadPool(daemonThreadFactory("change-feed-writer-"));
+
+  /**
+   * Constructs the emitters.
+   *
+   * @param changeLog the log changes are read from
+   * @param timeout how long a stream stays open before the client has to reconnect
+   * @param writeTimeout how long a write to a stream may take before the subscriber is dropped
+   */
+  public ChangeFeedEmitters(
+      ChangeLog changeLog,
+      @Value("${dogapi.changes.sse-timeout:PT30M}") Duration timeout,
+      @Value("${dogapi.changes.sse-write-timeout:PT10S}") Duration writeTimeout) {
+    this.changeLog = changeLog;
+    this.timeout = timeout;
+    this.writeTimeout = writeTimeout;
+  }
+
+  /**
+   * Opens a stream of the changes after a catalog version.
+   *
+   * @param since the catalog version the client is at
+   * @return the emitter of the stream
+   * @throws ChangeLogCompactedException if changes after {@code since} were compacted away
+   */
+  public SseEmitter subscribe(long since) {
+    return subscribe(since, new SseEmitter(timeout.toMillis()));
+  }
+
+  /**
+   * Opens a stream of the changes after a catalog version on the given emitter.
+   *
+   * @param since the catalog version the client is at
+   * @param emitter the emitter of the stream
+   * @return the emitter
+   * @throws ChangeLogCompactedException if changes after {@code since} were compacted away
+   */
+  SseEmitter subscribe(long since, SseEmitter emitter) {
+    if (!changeLog.isAvailable(since)) {
+      throw new ChangeLogCompactedException(since);
+    }
+    Subscriber subscriber = new Subscriber(emitter, since);
+    subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+    subscriber.emitter.onTimeout(subscriber.emitter::complete);
+    subscriber.emitter.onError(error -> subscribers.remove(subscriber));
+    subscribers.add(subscriber);
+    scheduleDelivery();
+    return subscriber.emitter;
+  }
+
+  /**
+   * Delivers a committed change to the subscribers.
+   *
+   * @param event the committed change event
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onDogBreedChanged(DogBreedChangedEvent event) {
+    scheduleDelivery();
+  }
+
+  /**
+   * Returns the number of open streams.
+   *
+   * @return the subscriber count
+   */
+  public int subscriberCount() {
+    return subscribers.size();
+  }
+
+  /** Stops delivery and closes the open streams. */
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+    writers.shutdownNow();
+    subscribers.forEach(subscriber -> subscriber.emitter.complete());
+  }
+
+  private void scheduleDelivery() {
+    if (!subscribers.isEmpty() && deliveryPending.compareAndSet(false, true)) {
+      executor.execute(
+          () -> {
+            deliveryPending.set(false);
+            deliver();
+          });
+    }
+  }
+
+  private void deliver() {
+    Map<Long, ChangeFeed> feeds = new HashMap<>();
+    for (Subscriber subscriber : subscribers) {
+      if (subscriber.writing) {
+        // Caught up from the log once its write completes
+        continue;
+      }
+      ChangeFeed feed;
+      try {
+        feed =
+            feeds.computeIfAbsent(
+                subscriber.since, since -> changeLog.changesSince(since, ChangeLog.MAX_FEED_SIZE));
+      } catch (ChangeLogCompactedException e) {
+        subscriber.reset();
+        continue;
+      }
+      if (!feed.changes().isEmpty()) {
+        subscriber.write(feed);
+      }
+    }
+  }
+
+  private static CustomizableThreadFactory daemonThreadFactory(String prefix) {
+    CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(prefix);
+    threadFactory.setDaemon(true);
+    return threadFactory;
+  }
+
+  /** An open stream and the catalog version it has been delivered up to. */
+  private final class Subscriber {
+
+    private final SseEmitter emitter;
+    private volatile long since;
+    private volatile boolean writing;
+    private long writes;
+
+    private Subscriber(SseEmitter emitter, long since) {
+      this.emitter = emitter;
+      this.since = since;
+    }
+
+    /** Sends the feed on a writer thread; only called from the delivery thread. */
+    private void write(ChangeFeed feed) {
+      writing = true;
+      long write = ++writes;
+      executor.schedule(
+          () -> {
+            if (writing && writes == write) {
+              drop(new TimeoutException("Write took longer than " + writeTimeout));
+            }
+          },
+          writeTimeout.toMillis(),
+          TimeUnit.MILLISECONDS);
+      writers.execute(
+          () -> {
+            send(feed);
+            writing = false;
+            scheduleDelivery();
+          });
+    }
+
+    private void send(ChangeFeed feed) {
+      try {
+        List<DogBreedChange> batch = new ArrayList<>();
+        for (DogBreedChange change : feed.changes()) {
+          if (!batch.isEmpty()
+              && !batch.get(0).getCatalogVersion().equals(change.getCatalogVersion())) {
+            sendBatch(batch);
+            batch = new ArrayList<>();
+          }
+          batch.add(change);
+        }
+        sendBatch(batch);
+        since = feed.version();
+      } catch (IOException | IllegalStateException e) {
+        drop(e);
+      }
+    }
+
+    private void drop(Exception cause) {
+      if (subscribers.remove(this)) {
+        emitter.completeWithError(cause);
+      }
+    }
+
+    private void sendBatch(List<DogBreedChange> batch) throws IOException {
+      emitter.send(
+          SseEmitter.event()
+              .id(String.valueOf(batch.get(0).getCatalogVersion()))
+              .name(CHANGES_EVENT)
+              .data(batch, MediaType.APPLICATION_JSON));
+    }
+
+    private void reset() {
+      subscribers.remove(this);
+      try {
+        emitter.send(SseEmitter.event().name(RESET_EVENT).data("compacted"));
+        emitter.complete();
+      } catch (IOException | IllegalStateException e) {
+        emitter.completeWithError(e);
+      }
+    }
+  }
+}
@@ -0,0 +1,72 @@
+package com.github.vcxxxx.dogapi.controller;
+
+import com.github.vcxxxx.dogapi.dto.ChangeFeed;
+import com.github.vcxxxx.dogapi.service.ChangeLog;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST controller for following changes to the breed catalog incrementally.
+ *
+ * <p>A client fetches the full list once, takes the catalog version from its ETag ({@code
+ * "catalog-<version>"}), and from then on only reads the changes since that version, either by
+ * polling or over Server-Sent Events. Deleted breeds are reported as tombstones. A client whose
+ * version is older than the compacted part of the log gets 410 Gone and must fetch the full list
+ * again.
+ */
+@CrossOrigin(origins = {"http://localhost:3000", "https://dog-api-frontend.vercel.app"})
+@RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@RequestMapping("/api/dogbreeds/changes")
+public class DogBreedChangeController {
+
+  /** Request header carrying the ID of the last event received on a previous stream. */
+  public static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+
+  private final ChangeLog changeLog;
+  private final ChangeFeedEmitters emitters;
+
+  public DogBreedChangeController(ChangeLog changeLog, ChangeFeedEmitters emitters) {
+    this.changeLog = changeLog;
+    this.emitters = emitters;
+  }
+
+  /**
+   * Retrieves the changes committed after a catalog version.
+   *
+   * <p>Pass the returned {@code version} as {@code since} to read the next changes; an empty list
+   * means the client is up to date.
+   *
+   * @param since the catalog version the client is at
+   * @param limit the maximum number of changes, at most {@link ChangeLog#MAX_FEED_SIZE}
+   * @return the changes and the version they bring the client to
+   */
+  @GetMapping
+  public ResponseEntity<ChangeFeed> getChanges(
+      @RequestParam long since, @RequestParam(defaultValue = "1000") int limit) {
+    return ResponseEntity.ok(changeLog.changesSince(since, limit));
+  }
+
+  /**
+   * Streams the changes committed after a catalog version as Server-Sent Events, live.
+   *
+   * <p>Each {@code changes} event carries the changes of one catalog version, with the version as
+   * event ID, so a reconnecting client resumes through {@code Last-Event-ID}. Without a version,
+   * only changes committed from now on are streamed.
+   *
+   * @param since the catalog version the client is at, optional
+   * @param lastEventId the last event ID received before reconnecting, optional
+   * @return the event stream
+   */
+  @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamChanges(
+      @RequestParam(required = false) Long since,
+      @RequestHeader(name = LAST_EVENT_ID_HEADER, required = false) Long lastEventId) {
+    long from = lastEventId != null ? lastEventId : since != null ? since : changeLog.head();
+    return emitters.subscribe(from);
+  }
+}
@@ -1,23 +1,101 @@
 package com.github.vcxxxx.dogapi.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.vcxxxx.dogapi.catalog.CatalogEncodings;
+import com.github.vcxxxx.dogapi.catalog.CatalogSnapshot;
+import com.github.vcxxxx.dogapi.dto.BatchItemResult;
+import com.github.vcxxxx.dogapi.dto.BreedNames;
+import com.github.vcxxxx.dogapi.dto.DogBreedPage;
 import com.github.vcxxxx.dogapi.dto.DogBreedRequest;
+import com.github.vcxxxx.dogapi.exception.ValidationError;
 import com.github.vcxxxx.dogapi.model.DogBreed;
 import com.github.vcxxxx.dogapi.service.DogBreedService;
+import com.github.vcxxxx.dogapi.service.DogBreedWriteQueue;
+import com.github.vcxxxx.dogapi.service.DogBreedWriteQueue.Ack;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
-/** REST controller for managing DogBreed entities. */
-@CrossOrigin(origins = {"http://localhost:3000", "https://dog-api-frontend.vercel.app"})
+/**
+ * REST controller for managing DogBreed entities.
+ *
+ * <p>Only registered in a servlet web application; the reactive read API replaces it when the
+ * application runs on WebFlux.
+ */
+@CrossOrigin(
+    origins = {"http://localhost:3000", "https://dog-api-frontend.vercel.app"},
+    exposedHeaders = {
+      HttpHeaders.ETAG,
+      HttpHeaders.LINK,
+      DogBreedController.NEXT_CURSOR_HEADER
+    })
 @RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
 @RequestMapping("/api/dogbreeds")
 public class DogBreedController {
 
+  /** Media type for newline-delimited JSON, one breed per line. */
+  public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+  /** Response header carrying the cursor of the next page. */
+  public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+  /** Expected version that no breed ever has, for {@code If-Match} values that cannot match. */
+  private static final long NO_VERSION = -1;
+
   private final DogBreedService dogBreedService;
+  private final ObjectMapper objectMapper;
+  private final DogBreedRequestValidator requestValidator;
+  private final CatalogEncodings catalogEncodings;
+  private final ContentNegotiationManager contentNegotiationManager;
+  private final ObjectProvider<DogBreedWriteQueue> writeQueue;
 
-  public DogBreedController(DogBreedService dogBreedService) {
+  public DogBreedController(
+      DogBreedService dogBreedService,
+      ObjectMapper objectMapper,
+      DogBreedRequestValidator requestValidator,
+      CatalogEncodings catalogEncodings,
+      ContentNegotiationManager contentNegotiationManager,
+      ObjectProvider<DogBreedWriteQueue> writeQueue) {
     this.dogBreedService = dogBreedService;
+    this.objectMapper = objectMapper;
+    this.requestValidator = requestValidator;
+    this.catalogEncodings = catalogEncodings;
+    this.contentNegotiationManager = contentNegotiationManager;
+    this.writeQueue = writeQueue;
+  }
+
+  /**
+   * Validates {@link DogBreedRequest} bodies with the {@link DogBreedRequestValidator} instead of
+   * Bean Validation. Invalid bodies still fail with the same field errors.
+   *
+   * @param binder the binder of a request body
+   */
+  @InitBinder("dogBreedRequest")
+  void initRequestBinder(WebDataBinder binder) {
+    binder.setValidator(requestValidator);
   }
 
   /**
@@ -29,79 +107,473 @@ public class DogBreedController {
    */
   private DogBreed toEntity(DogBreedRequest request) {
     return new DogBreed(
-        normalize(request.breed()),
-        request.subBreed() == null ? null : normalize(request.subBreed()));
+        BreedNames.normalize(request.breed()), BreedNames.normalize(request.subBreed()));
+  }
+
+  /**
+   * Retrieves all dog breeds, the entries of a single breed, or a keyset-paginated page of them.
+   *
+   * <p>When {@code breed} is given, only the entries of that breed are returned. When {@code
+   * limit} or {@code after} is given, at most {@code limit} breeds with an ID greater than {@code
+   * after} are returned. The cursor of the next page is exposed in the {@code X-Next-Cursor} header
+   * and as a {@code Link: <...>; rel="next"} header; both are absent on the last page.
+   *
+   * <p>Responses are negotiated through the {@code Accept} header as JSON, CBOR or Smile. When the
+   * catalog snapshot mode is enabled, the full list is returned pre-serialized, encoded once per
+   * catalog version in each format, and gzip compressed once as well if pre-compression is on.
+   *
+   * <p>Every response carries a strong ETag derived from the catalog version and, for the binary
+   * formats, the format, such as {@code "catalog-7-cbor"}, and varies by {@code Accept}. A request
+   * whose {@code If-None-Match} matches the current version in the negotiated format is answered
+   * with 304 Not Modified without loading any entities.
+   *
+   * @param breed the main breed name to filter by, optional
+   * @param limit the maximum page size, optional
+   * @param after the ID of the last breed of the previous page, optional
+   * @param webRequest the current request, used to evaluate {@code If-None-Match}
+   * @return a list of {@link DogBreed} entities wrapped in a {@link ResponseEntity}
+   * @throws HttpMediaTypeNotAcceptableException if no supported format is acceptable
+   */
+  @GetMapping
+  public ResponseEntity<?> getAllBreeds(
+      @RequestParam(required = false) String breed,
+      @RequestParam(required = false) Integer limit,
+      @RequestParam(required = false) Long after,
+      NativeWebRequest webRequest)
+      throws HttpMediaTypeNotAcceptableException {
+    MediaType mediaType = negotiateCatalogMediaType(webRequest);
+    String etag = catalogEtag(dogBreedService.getCatalogVersion(), mediaType);
+    if (webRequest.checkNotModified(etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+          .eTag(etag)
+          .cacheControl(CacheControl.noCache())
+          .varyBy(HttpHeaders.ACCEPT)
+          .build();
+    }
+
+    if (breed != null) {
+      return negotiatedWithEtag(etag, mediaType)
+          .body(dogBreedService.getBreedsByBreed(BreedNames.normalize(breed)));
+    }
+    if (limit == null && after == null) {
+      Optional<CatalogSnapshot> snapshot = dogBreedService.getCatalogSnapshot();
+      if (snapshot.isPresent()) {
+        byte[] body = catalogEncodings.encode(snapshot.get(), mediaType);
+        return encodedBody(etag, mediaType, body, webRequest);
+      }
+      List<DogBreed> breeds = dogBreedService.getAllBreeds();
+      return negotiatedWithEtag(etag, mediaType).body(breeds);
+    }
+
+    int pageSize = limit == null ? DogBreedService.MAX_PAGE_SIZE : limit;
+    DogBreedPage page = dogBreedService.getBreedsPage(after, pageSize);
+    if (!page.hasNext()) {
+      return negotiatedWithEtag(etag, mediaType).body(page.items());
+    }
+
+    String nextLink =
+        ServletUriComponentsBuilder.fromCurrentRequest()
+            .replaceQueryParam("limit", pageSize)
+            .replaceQueryParam("after", page.nextCursor())
+            .toUriString();
+    return negotiatedWithEtag(etag, mediaType)
+        .header(NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()))
+        .header(HttpHeaders.LINK, "<" + nextLink + ">; rel=\"next\"")
+        .body(page.items());
   }
 
   /**
-   * Normalizes a string by trimming whitespace and converting to lowercase.
+   * Streams all dog breeds as newline-delimited JSON, one breed per line.
+   *
+   * <p>Selected with {@code Accept: application/x-ndjson}. Rows are written as they are read from
+   * the database cursor, so memory use stays flat regardless of the catalog size.
    *
-   * @param input the string to normalize, may be null
-   * @return the normalized string or null if input was null
+   * @return a streaming response body of NDJSON lines
    */
-  private String normalize(String input) {
-    return input == null ? null : input.trim().toLowerCase();
+  @GetMapping(produces = APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> streamBreedsAsNdjson() {
+    StreamingResponseBody body =
+        out -> {
+          try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            dogBreedService.streamAllBreeds(breed -> writeLine(generator, breed));
+          }
+        };
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+        .body(body);
   }
 
   /**
-   * Retrieves all dog breeds.
+   * Streams all dog breeds as a chunked JSON array.
    *
-   * @return a list of all {@link DogBreed} entities wrapped in a {@link ResponseEntity}
+   * <p>Selected with {@code ?stream=true}. The response has the same shape as the full list but
+   * is written row by row from a database cursor.
+   *
+   * @return a streaming response body containing a JSON array of breeds
    */
-  @GetMapping
-  public ResponseEntity<List<DogBreed>> getAllBreeds() {
-    List<DogBreed> breeds = dogBreedService.getAllBreeds();
-    return ResponseEntity.ok(breeds);
+  @GetMapping(params = "stream=true")
+  public ResponseEntity<StreamingResponseBody> streamBreedsAsJsonArray() {
+    StreamingResponseBody body =
+        out -> {
+          try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.writeStartArray();
+            dogBreedService.streamAllBreeds(breed -> writeValue(generator, breed));
+            generator.writeEndArray();
+          }
+        };
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+  }
+
+  /**
+   * Retrieves all breeds grouped as breed to sorted sub-breeds, in the shape of {@code dogs.json}.
+   *
+   * <p>The response is pre-encoded and only re-encoded, per breed, when breeds change. It carries
+   * the same catalog ETag as the full list.
+   *
+   * @param webRequest the current request, used to evaluate {@code If-None-Match}
+   * @return the JSON object of all breeds wrapped in a {@link ResponseEntity}
+   */
+  @GetMapping("/tree")
+  public ResponseEntity<byte[]> getBreedTree(WebRequest webRequest) {
+    String etag = catalogEtag(dogBreedService.getCatalogVersion());
+    if (webRequest.checkNotModified(etag)) {
+      return notModified(etag);
+    }
+    return encodedBody(
+        etag, MediaType.APPLICATION_JSON, dogBreedService.getBreedTreeJson(), webRequest);
+  }
+
+  /**
+   * Retrieves the sorted sub-breeds of a single breed, as a JSON object with one member.
+   *
+   * @param breed the main breed name
+   * @param webRequest the current request, used to evaluate {@code If-None-Match}
+   * @return the JSON object of the breed wrapped in a {@link ResponseEntity}
+   */
+  @GetMapping("/tree/{breed}")
+  public ResponseEntity<byte[]> getBreedTree(@PathVariable String breed, WebRequest webRequest) {
+    String etag = catalogEtag(dogBreedService.getCatalogVersion());
+    if (webRequest.checkNotModified(etag)) {
+      return notModified(etag);
+    }
+    return encodedBody(
+        etag,
+        MediaType.APPLICATION_JSON,
+        dogBreedService.getBreedTreeJson(BreedNames.normalize(breed)),
+        webRequest);
+  }
+
+  /**
+   * Searches breeds and sub-breeds for autocomplete.
+   *
+   * <p>Matches every word of the query against breed and sub-breed names, by prefix or within up
+   * to two typos. Results are ranked with exact matches first, then prefix matches, then fuzzy
+   * matches.
+   *
+   * @param q the search text
+   * @param limit the maximum number of results, at most {@link DogBreedService#MAX_SEARCH_RESULTS}
+   * @return the matching {@link DogBreed} entities, best first, wrapped in a {@link ResponseEntity}
+   */
+  @GetMapping("/search")
+  public ResponseEntity<List<DogBreed>> searchBreeds(
+      @RequestParam String q, @RequestParam(defaultValue = "20") int limit) {
+    return ResponseEntity.ok(dogBreedService.searchBreeds(q, limit));
   }
 
   /**
    * Retrieves a specific dog breed by its ID.
    *
+   * <p>The response carries a strong ETag derived from the entity version. A conditional request
+   * is answered from the version alone, with 304 Not Modified if it still matches.
+   *
    * @param id the ID of the dog breed to retrieve
+   * @param webRequest the current request, used to evaluate {@code If-None-Match}
    * @return the {@link DogBreed} entity with the given ID wrapped in a {@link ResponseEntity}
    */
   @GetMapping("/{id}")
-  public ResponseEntity<DogBreed> getBreedById(@PathVariable Long id) {
+  public ResponseEntity<DogBreed> getBreedById(@PathVariable Long id, WebRequest webRequest) {
+    if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+      String etag = breedEtag(id, dogBreedService.getBreedVersion(id));
+      if (webRequest.checkNotModified(etag)) {
+        return notModified(etag);
+      }
+    }
     DogBreed breed = dogBreedService.getBreedById(id);
-    return ResponseEntity.ok(breed);
+    return okWithEtag(breedEtag(breed)).body(breed);
   }
 
   /**
    * Creates a new dog breed entry.
    *
+   * <p>With the write queue enabled, the creation is committed together with other queued writes.
+   * If the queue acknowledges on enqueue, the response is 202 Accepted without a body.
+   *
    * @param request the incoming validated {@link DogBreedRequest} DTO
    * @return the created {@link DogBreed} entity wrapped in a {@link ResponseEntity} with status 201
    *     Created
    */
   @PostMapping
   public ResponseEntity<DogBreed> createBreed(@Valid @RequestBody DogBreedRequest request) {
-    DogBreed created = dogBreedService.createBreed(toEntity(request));
-    return ResponseEntity.status(201).body(created);
+    DogBreedWriteQueue queue = writeQueue.getIfAvailable();
+    DogBreed created;
+    if (queue == null) {
+      created = dogBreedService.createBreed(toEntity(request));
+    } else {
+      CompletableFuture<DogBreed> pending = queue.createBreed(toEntity(request));
+      if (queue.ack() == Ack.ENQUEUE) {
+        return ResponseEntity.accepted().build();
+      }
+      created = await(pending);
+    }
+    return ResponseEntity.status(201).eTag(breedEtag(created)).body(created);
+  }
+
+  /**
+   * Creates many dog breed entries in one request.
+   *
+   * <p>Every item is validated on its own, so invalid items do not prevent the valid ones from
+   * being created. The response contains one result per item, in request order, with the status
+   * {@code CREATED}, {@code EXISTING} or {@code INVALID}. A request is limited to {@link
+   * DogBreedService#MAX_PAGE_SIZE} items, so one client cannot hold the database in a single huge
+   * transaction.
+   *
+   * @param requests the incoming {@link DogBreedRequest} DTOs
+   * @return the per-item results wrapped in a {@link ResponseEntity}, or 400 Bad Request if there
+   *     are more items than allowed
+   */
+  @PostMapping("/batch")
+  public ResponseEntity<?> createBreeds(@RequestBody List<DogBreedRequest> requests) {
+    if (requests.size() > DogBreedService.MAX_PAGE_SIZE) {
+      return ResponseEntity.badRequest()
+          .body(
+              "A batch may contain at most "
+                  + DogBreedService.MAX_PAGE_SIZE
+                  + " breeds, got "
+                  + requests.size()
+                  + ".");
+    }
+    BatchItemResult[] results = new BatchItemResult[requests.size()];
+    List<Integer> validIndexes = new ArrayList<>();
+    List<DogBreed> validBreeds = new ArrayList<>();
+
+    for (int i = 0; i < requests.size(); i++) {
+      List<ValidationError> errors = requestValidator.validate(requests.get(i));
+      if (errors.isEmpty()) {
+        validIndexes.add(i);
+        validBreeds.add(toEntity(requests.get(i)));
+      } else {
+        results[i] = BatchItemResult.invalid(i, errors);
+      }
+    }
+
+    List<BatchItemResult> created = dogBreedService.createBreeds(validBreeds);
+    for (BatchItemResult result : created) {
+      int index = validIndexes.get(result.index());
+      results[index] = result.withIndex(index);
+    }
+    return ResponseEntity.ok(List.of(results));
   }
 
   /**
    * Updates an existing dog breed identified by its ID.
    *
+   * <p>With an {@code If-Match} header carrying the ETag of a previous read, the update is only
+   * applied if the breed has not changed since, and otherwise answered with 412 Precondition
+   * Failed. An update that loses a race with a concurrent one is answered with 409 Conflict.
+   *
+   * <p>With the write queue enabled, the update is committed together with other queued writes,
+   * and answered with 202 Accepted if the queue acknowledges on enqueue.
+   *
    * @param id the ID of the dog breed to update
    * @param request the incoming validated {@link DogBreedRequest} DTO with updated values
+   * @param ifMatch the ETag the client expects the breed to have, optional
    * @return the updated {@link DogBreed} entity wrapped in a {@link ResponseEntity}
    */
   @PutMapping("/{id}")
   public ResponseEntity<DogBreed> updateBreed(
-      @PathVariable Long id, @Valid @RequestBody DogBreedRequest request) {
-    DogBreed updated = dogBreedService.updateBreed(id, toEntity(request));
-    return ResponseEntity.ok(updated);
+      @PathVariable Long id,
+      @Valid @RequestBody DogBreedRequest request,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    DogBreedWriteQueue queue = writeQueue.getIfAvailable();
+    Long expectedVersion = expectedVersion(id, ifMatch);
+    DogBreed updated;
+    if (queue == null) {
+      updated = dogBreedService.updateBreed(id, toEntity(request), expectedVersion);
+    } else {
+      CompletableFuture<DogBreed> pending =
+          queue.updateBreed(id, toEntity(request), expectedVersion);
+      if (queue.ack() == Ack.ENQUEUE) {
+        return ResponseEntity.accepted().build();
+      }
+      updated = await(pending);
+    }
+    return ResponseEntity.ok().eTag(breedEtag(updated)).body(updated);
   }
 
   /**
    * Deletes a dog breed by its ID.
    *
+   * <p>With the write queue enabled, the deletion is committed together with other queued writes,
+   * and answered with 202 Accepted if the queue acknowledges on enqueue.
+   *
    * @param id the ID of the dog breed to delete
    * @return a {@link ResponseEntity} with HTTP status 204 No Content
    */
   @DeleteMapping("/{id}")
   public ResponseEntity<Void> deleteBreed(@PathVariable Long id) {
-    dogBreedService.deleteBreed(id);
+    DogBreedWriteQueue queue = writeQueue.getIfAvailable();
+    if (queue == null) {
+      dogBreedService.deleteBreed(id);
+    } else {
+      CompletableFuture<Void> pending = queue.deleteBreed(id);
+      if (queue.ack() == Ack.ENQUEUE) {
+        return ResponseEntity.accepted().build();
+      }
+      await(pending);
+    }
+    return ResponseEntity.noContent().build();
+  }
+
+  /**
+   * Deletes many dog breeds by their IDs in one request.
+   *
+   * <p>IDs that do not exist are ignored, like with the single delete.
+   *
+   * @param ids the IDs of the dog breeds to delete, as {@code ?ids=1,2,3}
+   * @return a {@link ResponseEntity} with HTTP status 204 No Content
+   */
+  @DeleteMapping(params = "ids")
+  public ResponseEntity<Void> deleteBreeds(@RequestParam List<Long> ids) {
+    dogBreedService.deleteBreeds(ids);
     return ResponseEntity.noContent().build();
   }
+
+  /**
+   * Waits for a queued write, rethrowing its failure as is so that it is mapped like a direct
+   * service call.
+   */
+  private static <T> T await(CompletableFuture<T> write) {
+    try {
+      return write.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private void writeLine(JsonGenerator generator, DogBreed breed) {
+    writeValue(generator, breed);
+    try {
+      generator.writeRaw('\n');
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void writeValue(JsonGenerator generator, DogBreed breed) {
+    try {
+      generator.writeObject(breed);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private MediaType negotiateCatalogMediaType(NativeWebRequest webRequest)
+      throws HttpMediaTypeNotAcceptableException {
+    List<MediaType> supported = catalogEncodings.mediaTypes();
+    for (MediaType requested : contentNegotiationManager.resolveMediaTypes(webRequest)) {
+      for (MediaType candidate : supported) {
+        if (requested.isCompatibleWith(candidate)) {
+          return candidate;
+        }
+      }
+    }
+    throw new HttpMediaTypeNotAcceptableException(supported);
+  }
+
+  /**
+   * Builds the response for a pre-serialized body, serving its memoized gzip form to clients that
+   * accept it when pre-compression is enabled. The compressed variant gets a weak ETag, as it is
+   * not byte-identical to the uncompressed one.
+   */
+  private ResponseEntity<byte[]> encodedBody(
+      String etag, MediaType mediaType, byte[] body, WebRequest webRequest) {
+    ResponseEntity.BodyBuilder builder =
+        okWithEtag(etag)
+            .contentType(mediaType)
+            .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+    if (catalogEncodings.isPrecompressionEnabled()
+        && CatalogEncodings.acceptsGzip(webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+      return builder
+          .eTag("W/" + etag)
+          .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+          .body(catalogEncodings.gzip(body));
+    }
+    return builder.body(body);
+  }
+
+  private static String catalogEtag(long catalogVersion) {
+    return "\"catalog-" + catalogVersion + "\"";
+  }
+
+  /**
+   * Returns the catalog ETag of a format. JSON keeps the plain tag shared with the tree endpoints;
+   * the binary formats add the last part of their subtype, such as {@code cbor} or {@code smile},
+   * as each format is a different representation.
+   */
+  private static String catalogEtag(long catalogVersion, MediaType mediaType) {
+    if (MediaType.APPLICATION_JSON.equalsTypeAndSubtype(mediaType)) {
+      return catalogEtag(catalogVersion);
+    }
+    String subtype = mediaType.getSubtype();
+    String format = subtype.substring(subtype.lastIndexOf('-') + 1);
+    return "\"catalog-" + catalogVersion + "-" + format + "\"";
+  }
+
+  /**
+   * Extracts the version from an {@code If-Match} header holding a breed ETag. Returns null when
+   * any version is acceptable, and {@link #NO_VERSION} when the header cannot match, such as the
+   * ETag of another breed, so that the update fails its precondition.
+   */
+  private static Long expectedVersion(Long id, String ifMatch) {
+    if (ifMatch == null || ifMatch.trim().equals("*")) {
+      return null;
+    }
+    String prefix = "\"" + id + "-";
+    String etag = ifMatch.trim();
+    if (!etag.startsWith(prefix) || !etag.endsWith("\"") || etag.length() <= prefix.length()) {
+      return NO_VERSION;
+    }
+    try {
+      return Long.valueOf(etag.substring(prefix.length(), etag.length() - 1));
+    } catch (NumberFormatException e) {
+      return NO_VERSION;
+    }
+  }
+
+  private static String breedEtag(DogBreed breed) {
+    return breedEtag(breed.getId(), breed.getVersion());
+  }
+
+  private static String breedEtag(Long id, Long version) {
+    return "\"" + id + "-" + version + "\"";
+  }
+
+  private static ResponseEntity.BodyBuilder okWithEtag(String etag) {
+    return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache());
+  }
+
+  private static ResponseEntity.BodyBuilder negotiatedWithEtag(String etag, MediaType mediaType) {
+    return okWithEtag(etag).contentType(mediaType).varyBy(HttpHeaders.ACCEPT);
+  }
+
+  private static <T> ResponseEntity<T> notModified(String etag) {
+    return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+        .eTag(etag)
+        .cacheControl(CacheControl.noCache())
+        .build();
+  }
 }
@@ -0,0 +1,67 @@
+package com.github.vcxxxx.dogapi.controller;
+
+import com.github.vcxxxx.dogapi.dto.BreedNames;
+import com.github.vcxxxx.dogapi.dto.DogBreedRequest;
+import com.github.vcxxxx.dogapi.exception.ValidationError;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+
+/**
+ * Validates {@link DogBreedRequest} bodies against their constraints without Bean Validation.
+ *
+ * <p>Reports the same field errors, with the same messages, as the constraints of the request,
+ * but checks the names with a single pass over their characters instead of a regular expression
+ * evaluated through reflection. A valid request is checked without allocating.
+ */
+@Component
+public class DogBreedRequestValidator implements Validator {
+
+  private static final String BREED = "breed";
+  private static final String SUB_BREED = "subBreed";
+
+  @Override
+  public boolean supports(Class<?> clazz) {
+    return DogBreedRequest.class.equals(clazz);
+  }
+
+  @Override
+  public void validate(Object target, Errors errors) {
+    for (ValidationError error : validate((DogBreedRequest) target)) {
+      String code = error.message().equals(DogBreedRequest.BREED_BLANK) ? "NotBlank" : "Pattern";
+      errors.rejectValue(error.field(), code, error.message());
+    }
+  }
+
+  /**
+   * Validates a request.
+   *
+   * @param request the request to validate, may be null
+   * @return the validation errors in field order, empty if the request is valid
+   */
+  public List<ValidationError> validate(DogBreedRequest request) {
+    if (request == null) {
+      return List.of(new ValidationError(BREED, DogBreedRequest.BREED_BLANK));
+    }
+    String breed = request.breed();
+    String subBreed = request.subBreed();
+    boolean validBreed = breed != null && BreedNames.isWord(breed);
+    boolean validSubBreed = subBreed == null || BreedNames.isWord(subBreed);
+    if (validBreed && validSubBreed) {
+      return List.of();
+    }
+    List<ValidationError> errors = new ArrayList<>(3);
+    if (BreedNames.isBlank(breed)) {
+      errors.add(new ValidationError(BREED, DogBreedRequest.BREED_BLANK));
+    }
+    if (breed != null && !validBreed) {
+      errors.add(new ValidationError(BREED, DogBreedRequest.BREED_NOT_A_WORD));
+    }
+    if (!validSubBreed) {
+      errors.add(new ValidationError(SUB_BREED, DogBreedRequest.SUB_BREED_NOT_A_WORD));
+    }
+    return errors;
+  }
+}
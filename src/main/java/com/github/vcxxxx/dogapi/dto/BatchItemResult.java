@@ -0,0 +1,46 @@
+package com.github.vcxxxx.dogapi.dto;
+
+import com.github.vcxxxx.dogapi.exception.ValidationError;
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import java.util.List;
+
+/**
+ * Outcome of a single item of a batch create request.
+ *
+ * @param index the position of the item in the request
+ * @param status whether the item was created, already existed, or was rejected
+ * @param breed the created or existing dog breed, null if the item was invalid
+ * @param errors the validation errors of an invalid item, empty otherwise
+ */
+public record BatchItemResult(
+    int index, Status status, DogBreed breed, List<ValidationError> errors) {
+
+  /** Outcome of a batch item. */
+  public enum Status {
+    CREATED,
+    EXISTING,
+    INVALID
+  }
+
+  public static BatchItemResult created(int index, DogBreed breed) {
+    return new BatchItemResult(index, Status.CREATED, breed, List.of());
+  }
+
+  public static BatchItemResult existing(int index, DogBreed breed) {
+    return new BatchItemResult(index, Status.EXISTING, breed, List.of());
+  }
+
+  public static BatchItemResult invalid(int index, List<ValidationError> errors) {
+    return new BatchItemResult(index, Status.INVALID, null, errors);
+  }
+
+  /**
+   * Returns a copy of this result for a different request position.
+   *
+   * @param newIndex the position of the item in the original request
+   * @return the re-indexed result
+   */
+  public BatchItemResult withIndex(int newIndex) {
+    return new BatchItemResult(newIndex, status, breed, errors);
+  }
+}
@@ -0,0 +1,108 @@
+package com.github.vcxxxx.dogapi.dto;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Checks and normalizes breed and sub-breed names on the request path in single passes over their
+ * characters, without regular expressions, copying a name only if it is not in normal form.
+ *
+ * <p>Normalized names are interned in a small pool, as the vocabulary of breed names is tiny: a
+ * name already in normal form is returned as the pooled instance without allocating, and the
+ * entities built from requests share their strings. Once the pool holds {@value #MAX_INTERNED}
+ * names, further names are normalized but no longer pooled.
+ */
+public final class BreedNames {
+
+  /** Maximum number of interned names. */
+  static final int MAX_INTERNED = 4096;
+
+  private static final Map<String, String> INTERNED = new ConcurrentHashMap<>();
+
+  private BreedNames() {}
+
+  /**
+   * Returns whether a name is a single word of ASCII letters, like {@code ^[A-Za-z]+$}.
+   *
+   * @param name the name to check, not null
+   * @return true if the name is non-empty and contains only ASCII letters
+   */
+  public static boolean isWord(String name) {
+    int length = name.length();
+    if (length == 0) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      char c = name.charAt(i);
+      if ((c | 0x20) < 'a' || (c | 0x20) > 'z') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns whether a name is blank, like {@code @NotBlank} considers it.
+   *
+   * @param name the name to check, may be null
+   * @return true if the name is null, empty or only whitespace and control characters
+   */
+  public static boolean isBlank(String name) {
+    if (name == null) {
+      return true;
+    }
+    for (int i = 0; i < name.length(); i++) {
+      if (name.charAt(i) > ' ') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Normalizes a name by trimming whitespace and converting it to lowercase.
+   *
+   * <p>Gives the same result as {@code trim().toLowerCase(Locale.ROOT)}. Names with non-ASCII
+   * characters, which never pass validation, are normalized that way and not interned.
+   *
+   * @param name the name to normalize, may be null
+   * @return the normalized, interned name, or null if the name was null
+   */
+  public static String normalize(String name) {
+    if (name == null) {
+      return null;
+    }
+    int start = 0;
+    int end = name.length();
+    while (start < end && name.charAt(start) <= ' ') {
+      start++;
+    }
+    while (end > start && name.charAt(end - 1) <= ' ') {
+      end--;
+    }
+    boolean lowerCase = true;
+    for (int i = start; i < end; i++) {
+      char c = name.charAt(i);
+      if (c >= 0x80) {
+        return name.trim().toLowerCase(Locale.ROOT);
+      }
+      lowerCase &= c < 'A' || c > 'Z';
+    }
+    // Only copies what has to change: nothing for a name already in normal form
+    String trimmed = start == 0 && end == name.length() ? name : name.substring(start, end);
+    return intern(lowerCase ? trimmed : trimmed.toLowerCase(Locale.ROOT));
+  }
+
+  private static String intern(String name) {
+    String interned = INTERNED.get(name);
+    if (interned != null) {
+      return interned;
+    }
+    if (INTERNED.size() >= MAX_INTERNED) {
+      return name;
+    }
+    interned = INTERNED.putIfAbsent(name, name);
+    return interned == null ? name : interned;
+  }
+}
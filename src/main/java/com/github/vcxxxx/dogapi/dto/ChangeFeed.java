@@ -0,0 +1,14 @@
+package com.github.vcxxxx.dogapi.dto;
+
+import com.github.vcxxxx.dogapi.model.DogBreedChange;
+import java.util.List;
+
+/**
+ * Changes to the breed catalog after a given catalog version.
+ *
+ * @param changes the changes, in the order they were committed; entries sharing a catalog version
+ *     were committed together and are never split across feeds
+ * @param version the catalog version the changes bring a client to, to pass as {@code since} for
+ *     the next feed
+ */
+public record ChangeFeed(List<DogBreedChange> changes, long version) {}
@@ -0,0 +1,23 @@
+package com.github.vcxxxx.dogapi.dto;
+
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import java.util.List;
+
+/**
+ * A single keyset-paginated page of dog breeds.
+ *
+ * @param items the dog breeds on this page, in ascending ID order
+ * @param nextCursor the ID to pass as {@code after} to fetch the next page, or null if this is the
+ *     last page
+ */
+public record DogBreedPage(List<DogBreed> items, Long nextCursor) {
+
+  /**
+   * Returns whether another page follows this one.
+   *
+   * @return true if {@link #nextCursor()} is set
+   */
+  public boolean hasNext() {
+    return nextCursor != null;
+  }
+}
@@ -3,13 +3,33 @@ package com.github.vcxxxx.dogapi.dto;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 
+/**
+ * Request body for creating or updating a dog breed.
+ *
+ * <p>The constraints document the contract; on the request path they are checked by {@code
+ * DogBreedRequestValidator}, which reports the same errors without Bean Validation.
+ *
+ * @param breed the breed name, a single word of letters
+ * @param subBreed the sub-breed name, a single word of letters, optional
+ */
 public record DogBreedRequest(
-    @NotBlank(message = "Breed must not be blank")
-        @Pattern(
-            regexp = "^[A-Za-z]+$",
-            message = "Breed must be a single word containing only letters.")
+    @NotBlank(message = DogBreedRequest.BREED_BLANK)
+        @Pattern(regexp = DogBreedRequest.WORD, message = DogBreedRequest.BREED_NOT_A_WORD)
         String breed,
-    @Pattern(
-            regexp = "^[A-Za-z]+$",
-            message = "SubBreed must be a single word containing only letters.")
-        String subBreed) {}
+    @Pattern(regexp = DogBreedRequest.WORD, message = DogBreedRequest.SUB_BREED_NOT_A_WORD)
+        String subBreed) {
+
+  /** Pattern of a breed or sub-breed name. */
+  public static final String WORD = "^[A-Za-z]+$";
+
+  /** Error message for a missing breed. */
+  public static final String BREED_BLANK = "Breed must not be blank";
+
+  /** Error message for a breed that is not a single word of letters. */
+  public static final String BREED_NOT_A_WORD =
+      "Breed must be a single word containing only letters.";
+
+  /** Error message for a sub-breed that is not a single word of letters. */
+  public static final String SUB_BREED_NOT_A_WORD =
+      "SubBreed must be a single word containing only letters.";
+}
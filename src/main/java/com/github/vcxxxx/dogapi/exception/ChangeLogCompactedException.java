@@ -0,0 +1,15 @@
+package com.github.vcxxxx.dogapi.exception;
+
+/**
+ * Exception thrown when changes are requested from a catalog version whose history is no longer
+ * in the change log. The client has to fetch the full catalog again.
+ */
+public class ChangeLogCompactedException extends RuntimeException {
+  public ChangeLogCompactedException(long since) {
+    super(
+        "Changes since version "
+            + since
+            + " are no longer available; fetch the full catalog and follow changes from its"
+            + " version.");
+  }
+}
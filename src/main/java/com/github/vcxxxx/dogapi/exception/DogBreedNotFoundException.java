@@ -1,8 +1,12 @@
 package com.github.vcxxxx.dogapi.exception;
 
-/** Exception thrown when a DogBreed entity is not found by ID. */
+/** Exception thrown when a DogBreed entity is not found by ID or breed name. */
 public class DogBreedNotFoundException extends RuntimeException {
   public DogBreedNotFoundException(Long id) {
     super("Dog breed with ID " + id + " not found.");
   }
+
+  public DogBreedNotFoundException(String breed) {
+    super("Dog breed '" + breed + "' not found.");
+  }
 }
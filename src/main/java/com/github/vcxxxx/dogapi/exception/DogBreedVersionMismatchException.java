@@ -0,0 +1,11 @@
+package com.github.vcxxxx.dogapi.exception;
+
+/**
+ * Exception thrown when a conditional update names a version of a DogBreed entity that is no
+ * longer current, typically through an {@code If-Match} header.
+ */
+public class DogBreedVersionMismatchException extends RuntimeException {
+  public DogBreedVersionMismatchException(Long id) {
+    super("Dog breed with ID " + id + " has been modified since the requested version.");
+  }
+}
@@ -1,8 +1,32 @@
 package com.github.vcxxxx.dogapi.exception;
 
+import java.sql.SQLException;
+import org.springframework.dao.DataIntegrityViolationException;
+
 /** Exception thrown when a DogBreed entity is not found by ID. */
 public class DuplicateDogBreedException extends RuntimeException {
+
+  /** SQLState of a unique constraint violation. */
+  private static final String UNIQUE_VIOLATION = "23505";
+
   public DuplicateDogBreedException(String breed, String subBreed) {
     super("Dog with " + breed + " and " + subBreed + " already exists in the database.");
   }
+
+  /**
+   * Returns whether a write was rejected by a unique constraint, such as the one on the breed and
+   * sub-breed, rather than by another constraint such as a NOT NULL or length check.
+   *
+   * @param ex the exception thrown when a constraint rejected the write
+   * @return true if the write would have duplicated an existing entry
+   */
+  public static boolean isDuplicate(DataIntegrityViolationException ex) {
+    for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+      if (cause instanceof SQLException sqlException
+          && UNIQUE_VIOLATION.equals(sqlException.getSQLState())) {
+        return true;
+      }
+    }
+    return false;
+  }
 }
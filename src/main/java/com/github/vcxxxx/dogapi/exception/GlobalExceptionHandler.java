@@ -1,7 +1,12 @@
 package com.github.vcxxxx.dogapi.exception;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.List;
 import java.util.stream.Collectors;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -12,11 +17,26 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
  * Global exception handler for the Dog API application.
  *
  * <p>Handles application-wide exceptions and converts them into meaningful HTTP responses.
- * Centralizes error handling for cleaner controller and service code.
+ * Centralizes error handling for cleaner controller and service code. Every handled exception is
+ * counted in the {@value #EXCEPTION_COUNTER} counter, tagged with the exception type.
  */
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+  /** Name of the handled exception counter. */
+  public static final String EXCEPTION_COUNTER = "dogapi.exceptions";
+
+  private final MeterRegistry meterRegistry;
+
+  /**
+   * Constructs the handler.
+   *
+   * @param meterRegistry registry the exception counters are registered in
+   */
+  public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
   /**
    * Handles {@link DogBreedNotFoundException} thrown from anywhere in the application.
    *
@@ -27,6 +47,7 @@ public class GlobalExceptionHandler {
    */
   @ExceptionHandler(DogBreedNotFoundException.class)
   public ResponseEntity<String> handleNotFound(DogBreedNotFoundException ex) {
+    count(ex);
     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
   }
 
@@ -41,9 +62,112 @@ public class GlobalExceptionHandler {
    */
   @ExceptionHandler(DuplicateDogBreedException.class)
   public ResponseEntity<String> handleDuplicate(DuplicateDogBreedException ex) {
+    count(ex);
     return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
   }
 
+  /**
+   * Handles {@link DataIntegrityViolationException} thrown when a write is rejected by a database
+   * constraint.
+   *
+   * <p>Returns a 409 Conflict response if a unique constraint rejected the write, such as the
+   * breed and sub-breed constraint under concurrent writers, and a 400 Bad Request response for
+   * any other constraint, such as a value too long for its column. The database message is never
+   * returned.
+   *
+   * @param ex the exception thrown when a constraint rejected the write
+   * @return a {@link ResponseEntity} with status 409 or 400 and a generic message
+   */
+  @ExceptionHandler(DataIntegrityViolationException.class)
+  public ResponseEntity<String> handleConstraintViolation(DataIntegrityViolationException ex) {
+    count(ex);
+    if (DuplicateDogBreedException.isDuplicate(ex)) {
+      return ResponseEntity.status(HttpStatus.CONFLICT)
+          .body("The request conflicts with the current state of the dog breeds.");
+    }
+    return ResponseEntity.badRequest().body("The request violates a constraint of the dog breeds.");
+  }
+
+  /**
+   * Handles {@link OptimisticLockingFailureException} thrown when a dog breed was updated
+   * concurrently, between being read and written by this request.
+   *
+   * <p>Returns a 409 Conflict response; the client should read the breed again and retry.
+   *
+   * @param ex the exception thrown when the version check failed on write
+   * @return a {@link ResponseEntity} with status 409 and a message
+   */
+  @ExceptionHandler(OptimisticLockingFailureException.class)
+  public ResponseEntity<String> handleOptimisticLockingFailure(
+      OptimisticLockingFailureException ex) {
+    count(ex);
+    return ResponseEntity.status(HttpStatus.CONFLICT)
+        .body("The dog breed was modified concurrently; read it again and retry.");
+  }
+
+  /**
+   * Handles {@link DogBreedVersionMismatchException} thrown when a conditional update names a
+   * version that is no longer current.
+   *
+   * <p>Returns a 412 Precondition Failed response with the exception message as the response body.
+   *
+   * @param ex the exception thrown when the {@code If-Match} precondition failed
+   * @return a {@link ResponseEntity} with status 412 and the exception message
+   */
+  @ExceptionHandler(DogBreedVersionMismatchException.class)
+  public ResponseEntity<String> handleVersionMismatch(DogBreedVersionMismatchException ex) {
+    count(ex);
+    return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(ex.getMessage());
+  }
+
+  /**
+   * Handles {@link ChangeLogCompactedException} thrown when changes are requested from a catalog
+   * version that is no longer in the change log.
+   *
+   * <p>Returns a 410 Gone response with the exception message as the response body.
+   *
+   * @param ex the exception thrown when the requested changes were compacted away
+   * @return a {@link ResponseEntity} with status 410 and the exception message
+   */
+  @ExceptionHandler(ChangeLogCompactedException.class)
+  public ResponseEntity<String> handleCompacted(ChangeLogCompactedException ex) {
+    count(ex);
+    return ResponseEntity.status(HttpStatus.GONE).body(ex.getMessage());
+  }
+
+  /**
+   * Handles {@link InvalidCatalogArchiveException} thrown when an uploaded catalog archive is
+   * rejected.
+   *
+   * <p>Returns a 400 Bad Request response with the exception message as the response body.
+   *
+   * @param ex the exception describing why the archive was rejected
+   * @return a {@link ResponseEntity} with status 400 and the exception message
+   */
+  @ExceptionHandler(InvalidCatalogArchiveException.class)
+  public ResponseEntity<String> handleInvalidArchive(InvalidCatalogArchiveException ex) {
+    count(ex);
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+  }
+
+  /**
+   * Handles {@link ServiceOverloadedException} thrown when a request is shed by admission control.
+   *
+   * <p>Returns a 503 Service Unavailable response with a {@code Retry-After} header, so clients
+   * back off instead of retrying immediately.
+   *
+   * @param ex the exception thrown when the concurrency limit was reached
+   * @return a {@link ResponseEntity} with status 503 and the exception message
+   */
+  @ExceptionHandler(ServiceOverloadedException.class)
+  public ResponseEntity<String> handleOverloaded(ServiceOverloadedException ex) {
+    count(ex);
+    long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+        .body(ex.getMessage());
+  }
+
   /**
    * Handles validation errors triggered when request body validation fails.
    *
@@ -56,6 +180,7 @@ public class GlobalExceptionHandler {
   @ExceptionHandler(MethodArgumentNotValidException.class)
   public ResponseEntity<List<ValidationError>> handleValidationErrors(
       MethodArgumentNotValidException ex) {
+    count(ex);
     List<ValidationError> errors =
         ex.getBindingResult().getFieldErrors().stream()
             .map(error -> new ValidationError(error.getField(), error.getDefaultMessage()))
@@ -63,4 +188,12 @@ public class GlobalExceptionHandler {
 
     return ResponseEntity.badRequest().body(errors);
   }
+
+  private void count(Exception ex) {
+    Counter.builder(EXCEPTION_COUNTER)
+        .description("Exceptions mapped to an error response")
+        .tag("exception", ex.getClass().getSimpleName())
+        .register(meterRegistry)
+        .increment();
+  }
 }
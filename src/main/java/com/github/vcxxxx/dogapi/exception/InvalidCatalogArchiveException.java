@@ -0,0 +1,11 @@
+package com.github.vcxxxx.dogapi.exception;
+
+/**
+ * Exception thrown when a catalog archive cannot be imported because it is malformed, of an
+ * unsupported format version, or does not match its checksum.
+ */
+public class InvalidCatalogArchiveException extends RuntimeException {
+  public InvalidCatalogArchiveException(String reason) {
+    super("Invalid catalog archive: " + reason);
+  }
+}
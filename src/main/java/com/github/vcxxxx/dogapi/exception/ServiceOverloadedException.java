@@ -0,0 +1,23 @@
+package com.github.vcxxxx.dogapi.exception;
+
+import java.time.Duration;
+
+/** Exception thrown when a request is shed because the database is at its concurrency limit. */
+public class ServiceOverloadedException extends RuntimeException {
+
+  private final Duration retryAfter;
+
+  public ServiceOverloadedException(Duration retryAfter) {
+    super("Service is overloaded, please retry later.");
+    this.retryAfter = retryAfter;
+  }
+
+  /**
+   * Returns how long clients should wait before retrying.
+   *
+   * @return the suggested retry delay
+   */
+  public Duration getRetryAfter() {
+    return retryAfter;
+  }
+}
@@ -1,5 +1,6 @@
 package com.github.vcxxxx.dogapi.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -7,15 +8,33 @@ import lombok.*;
 @Entity
 @Table(
     name = "dog_breeds",
-    uniqueConstraints = @UniqueConstraint(columnNames = {"breed", "sub_breed"}))
+    uniqueConstraints =
+        @UniqueConstraint(
+            name = DogBreed.UNIQUE_BREED_CONSTRAINT,
+            columnNames = {"breed", "sub_breed_key"}))
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class DogBreed {
 
-  /** Auto-generated primary key ID. */
+  /** Name of the unique constraint on the breed and sub-breed combination. */
+  public static final String UNIQUE_BREED_CONSTRAINT = "uk_dog_breeds_breed_sub_breed";
+
+  /** Name of the database sequence backing {@link #id}. */
+  public static final String ID_SEQUENCE = "dog_breeds_seq";
+
+  /** Number of IDs reserved per sequence call, matching the JDBC batch size. */
+  public static final int ID_ALLOCATION_SIZE = 50;
+
+  /**
+   * Auto-generated primary key ID. Drawn from a pooled sequence rather than an identity column so
+   * that Hibernate can batch inserts.
+   */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+  @SequenceGenerator(
+      name = ID_SEQUENCE,
+      sequenceName = ID_SEQUENCE,
+      allocationSize = ID_ALLOCATION_SIZE)
   private Long id;
 
   /** The main dog breed name. Cannot be null. */
@@ -26,6 +45,45 @@ public class DogBreed {
   @Column(nullable = true)
   private String subBreed;
 
+  /**
+   * Version of this entry, incremented on every update. Exposed to clients through the ETag
+   * header rather than the response body.
+   */
+  @Version
+  @JsonIgnore
+  @Column(nullable = false, columnDefinition = "bigint default 0")
+  private Long version;
+
+  /**
+   * The sub-breed with null mapped to the empty string, generated by the database. Unique
+   * constraints treat nulls as distinct, so the constraint is on this column rather than on {@link
+   * #subBreed}, and also rejects a second entry of a breed without sub-breed.
+   */
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  @JsonIgnore
+  @Column(
+      name = "sub_breed_key",
+      insertable = false,
+      updatable = false,
+      columnDefinition = "varchar(255) generated always as (coalesce(sub_breed, ''))")
+  private String subBreedKey;
+
+  public DogBreed(Long id, String breed, String subBreed, Long version) {
+    this.id = id;
+    this.breed = breed;
+    this.subBreed = subBreed;
+    this.version = version;
+  }
+
+  public DogBreed(Long id, String breed, String subBreed) {
+    this.id = id;
+    this.breed = breed;
+    this.subBreed = subBreed;
+  }
+
   public DogBreed(String breed, String subBreed) {
     this.breed = breed;
     this.subBreed = subBreed;
@@ -0,0 +1,71 @@
+package com.github.vcxxxx.dogapi.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.*;
+import java.time.Instant;
+import lombok.*;
+
+/**
+ * Entry of the change log: the state of one dog breed after a committed catalog change.
+ *
+ * <p>Entries are appended in the transaction of the change and ordered by the catalog version it
+ * was committed as. A deleted breed is recorded as a {@link Kind#TOMBSTONE} without breed data.
+ */
+@Entity
+@Table(
+    name = "dog_breed_changes",
+    indexes = {
+      @Index(name = "idx_dog_breed_changes_version", columnList = "catalog_version"),
+      @Index(name = "idx_dog_breed_changes_breed_id", columnList = "breed_id")
+    })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DogBreedChange {
+
+  /** Name of the database sequence backing {@link #seq}. */
+  public static final String SEQUENCE = "dog_breed_changes_seq";
+
+  /** Kind of change recorded for a dog breed. */
+  public enum Kind {
+    /** The breed was created or updated to the recorded values. */
+    UPSERT,
+    /** The breed was deleted. */
+    TOMBSTONE
+  }
+
+  /** Order of the entry within its catalog version. */
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = SEQUENCE)
+  @SequenceGenerator(
+      name = SEQUENCE,
+      sequenceName = SEQUENCE,
+      allocationSize = DogBreed.ID_ALLOCATION_SIZE)
+  @JsonIgnore
+  private Long seq;
+
+  /** Catalog version the change was committed as. */
+  @Column(nullable = false)
+  private Long catalogVersion;
+
+  /** Kind of change. */
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 16)
+  private Kind kind;
+
+  /** ID of the changed dog breed. */
+  @JsonProperty("id")
+  @Column(nullable = false)
+  private Long breedId;
+
+  /** Main breed name after the change, null for a tombstone. */
+  private String breed;
+
+  /** Sub-breed name after the change, null for a tombstone or a breed without sub-breed. */
+  private String subBreed;
+
+  /** Time the change was committed. */
+  @Column(nullable = false)
+  private Instant changedAt;
+}
@@ -0,0 +1,29 @@
+package com.github.vcxxxx.dogapi.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Record of a dog breed that was inserted from the seed file, with the names it was seeded with.
+ *
+ * <p>Only recorded breeds that still have their seeded names are removed when they are dropped
+ * from the seed file. Breeds created through the API are never recorded, and breeds renamed
+ * through the API no longer match their record, so both are left alone.
+ */
+@Entity
+@Table(name = "seed_breeds")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeedBreed {
+
+  /** ID of the seeded dog breed. */
+  @Id private Long breedId;
+
+  /** The breed name the entry was seeded with. */
+  @Column(nullable = false)
+  private String breed;
+
+  /** The sub-breed name the entry was seeded with, or null if none. */
+  private String subBreed;
+}
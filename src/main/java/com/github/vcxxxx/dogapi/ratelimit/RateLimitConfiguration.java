@@ -0,0 +1,94 @@
+package com.github.vcxxxx.dogapi.ratelimit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Installs the {@link RateLimitFilter} in front of the breed API when {@code
+ * dogapi.rate-limit.enabled=true}, with one {@link TokenBucketLimiter} for reads and one for
+ * writes.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "dogapi.rate-limit.enabled", havingValue = "true")
+public class RateLimitConfiguration {
+
+  /** URL pattern of the limited endpoints. */
+  static final String URL_PATTERN = "/api/dogbreeds/*";
+
+  /**
+   * Creates the filter with its read and write budgets.
+   *
+   * @param readLimit the reads allowed per client and window
+   * @param readWindow the window of the read budget
+   * @param writeLimit the writes allowed per client and window
+   * @param writeWindow the window of the write budget
+   * @param apiKeys the API keys limited on their own rather than by IP address
+   * @return the filter
+   */
+  @Bean
+  RateLimitFilter rateLimitFilter(
+      @Value("${dogapi.rate-limit.read.limit:300}") int readLimit,
+      @Value("${dogapi.rate-limit.read.window:PT1M}") Duration readWindow,
+      @Value("${dogapi.rate-limit.write.limit:30}") int writeLimit,
+      @Value("${dogapi.rate-limit.write.window:PT1M}") Duration writeWindow,
+      @Value("${dogapi.rate-limit.api-keys:}") Set<String> apiKeys) {
+    return new RateLimitFilter(
+        new TokenBucketLimiter(readLimit, readWindow),
+        new TokenBucketLimiter(writeLimit, writeWindow),
+        apiKeys);
+  }
+
+  /**
+   * Registers the filter for the breed endpoints only, ahead of the other filters so a rejected
+   * request does no further work.
+   *
+   * @param filter the filter
+   * @return the registration
+   */
+  @Bean
+  FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter filter) {
+    FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+    registration.addUrlPatterns("/api/dogbreeds", URL_PATTERN);
+    registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+    return registration;
+  }
+
+  /**
+   * Exposes the rejected requests and tracked clients of both budgets, tagged with {@code budget}.
+   *
+   * @param filter the filter
+   * @return the binder registering the meters
+   */
+  @Bean
+  MeterBinder rateLimitMetrics(RateLimitFilter filter) {
+    return registry -> {
+      bindBudget(registry, "read", filter.reads());
+      bindBudget(registry, "write", filter.writes());
+    };
+  }
+
+  private static void bindBudget(
+      MeterRegistry registry, String budget, TokenBucketLimiter limiter) {
+    FunctionCounter.builder(
+            "dogapi.ratelimit.rejected", limiter, TokenBucketLimiter::rejectedRequests)
+        .description("Requests rejected by the rate limiter")
+        .tag("budget", budget)
+        .register(registry);
+    Gauge.builder("dogapi.ratelimit.clients", limiter, TokenBucketLimiter::clients)
+        .description("Clients with a rate limit bucket")
+        .tag("budget", budget)
+        .register(registry);
+  }
+}
@@ -0,0 +1,138 @@
+package com.github.vcxxxx.dogapi.ratelimit;
+
+import com.github.vcxxxx.dogapi.ratelimit.TokenBucketLimiter.Decision;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Limits the request rate of every client of the breed API, with separate budgets for reads and
+ * writes.
+ *
+ * <p>Clients sending one of the configured API keys in the {@value #API_KEY_HEADER} header are
+ * limited per key, all others per IP address; unknown keys are ignored, so they cannot be used to
+ * obtain fresh buckets. Every limited response carries the {@code RateLimit-Limit}, {@code
+ * RateLimit-Remaining}, {@code RateLimit-Reset} and {@code RateLimit-Policy} headers. A request
+ * over the limit is answered with 429 Too Many Requests and a {@code Retry-After} header, before
+ * it reaches the controller or the database. CORS preflight requests are not limited.
+ *
+ * <p>The IP address is {@link HttpServletRequest#getRemoteAddr()}, so behind a reverse proxy
+ * {@code server.forward-headers-strategy} must be set for it to be the client's rather than the
+ * proxy's, as the prod profile does.
+ *
+ * <p>Installed by {@code RateLimitConfiguration} when {@code dogapi.rate-limit.enabled=true}.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+  /** Request header carrying the API key of a client. */
+  public static final String API_KEY_HEADER = "X-API-Key";
+
+  /** Response header with the number of requests allowed per window. */
+  public static final String LIMIT_HEADER = "RateLimit-Limit";
+
+  /** Response header with the number of requests left. */
+  public static final String REMAINING_HEADER = "RateLimit-Remaining";
+
+  /** Response header with the seconds until the full budget is available again. */
+  public static final String RESET_HEADER = "RateLimit-Reset";
+
+  /** Response header describing the budget, as {@code limit;w=window-seconds}. */
+  public static final String POLICY_HEADER = "RateLimit-Policy";
+
+  private static final Set<String> READ_METHODS =
+      Set.of(HttpMethod.GET.name(), HttpMethod.HEAD.name(), HttpMethod.OPTIONS.name());
+
+  private final TokenBucketLimiter reads;
+  private final TokenBucketLimiter writes;
+  private final Set<String> apiKeys;
+
+  /**
+   * Constructs the filter.
+   *
+   * @param reads the budget of {@code GET}, {@code HEAD} and {@code OPTIONS} requests
+   * @param writes the budget of all other requests
+   * @param apiKeys the API keys that are limited on their own
+   */
+  public RateLimitFilter(TokenBucketLimiter reads, TokenBucketLimiter writes, Set<String> apiKeys) {
+    this.reads = reads;
+    this.writes = writes;
+    this.apiKeys = Set.copyOf(apiKeys);
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    if (CorsUtils.isPreFlightRequest(request)) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+    TokenBucketLimiter budget = READ_METHODS.contains(request.getMethod()) ? reads : writes;
+    Decision decision = budget.tryAcquire(client(request));
+
+    response.setHeader(LIMIT_HEADER, String.valueOf(budget.limit()));
+    response.setHeader(REMAINING_HEADER, String.valueOf(decision.remaining()));
+    response.setHeader(RESET_HEADER, String.valueOf(seconds(decision.resetNanos())));
+    response.setHeader(
+        POLICY_HEADER, budget.limit() + ";w=" + Math.max(1, budget.window().toSeconds()));
+    if (decision.allowed()) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+    response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+    response.setHeader(
+        HttpHeaders.RETRY_AFTER, String.valueOf(seconds(decision.retryAfterNanos())));
+    response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+    response.getWriter().write("Rate limit exceeded, please retry later.");
+  }
+
+  /** Drops the buckets of idle clients every {@code dogapi.rate-limit.eviction-interval}. */
+  @Scheduled(
+      fixedDelayString = "${dogapi.rate-limit.eviction-interval:PT1M}",
+      initialDelayString = "${dogapi.rate-limit.eviction-interval:PT1M}")
+  public void evictIdleBuckets() {
+    reads.evictIdle();
+    writes.evictIdle();
+  }
+
+  /**
+   * Returns the budget of read requests.
+   *
+   * @return the read limiter
+   */
+  TokenBucketLimiter reads() {
+    return reads;
+  }
+
+  /**
+   * Returns the budget of write requests.
+   *
+   * @return the write limiter
+   */
+  TokenBucketLimiter writes() {
+    return writes;
+  }
+
+  private String client(HttpServletRequest request) {
+    String apiKey = request.getHeader(API_KEY_HEADER);
+    if (apiKey != null && apiKeys.contains(apiKey)) {
+      return "key:" + apiKey;
+    }
+    return "ip:" + request.getRemoteAddr();
+  }
+
+  private static long seconds(long nanos) {
+    return Math.max(0, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+  }
+}
@@ -0,0 +1,143 @@
+package com.github.vcxxxx.dogapi.ratelimit;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free, per-client token buckets sharing one budget of {@code limit} requests per {@code
+ * window}.
+ *
+ * <p>Each bucket holds up to {@code limit} tokens and refills continuously at {@code limit} tokens
+ * per window. Its whole state is a single {@code long}, the time at which it will be full again
+ * (the generic cell rate algorithm), so a request takes a token with one compare-and-set, without
+ * locking. Buckets live in a concurrent map keyed by client, whose reads do not lock either.
+ *
+ * <p>A full bucket is indistinguishable from a new one, so {@link #evictIdle()} drops full buckets
+ * to bound the map to recently active clients.
+ */
+public class TokenBucketLimiter {
+
+  /** State of a bucket that has never been used, full at any time. */
+  private static final long NEW_BUCKET = Long.MIN_VALUE;
+
+  private final int limit;
+  private final Duration window;
+  private final long nanosPerToken;
+  private final long capacityNanos;
+  private final LongSupplier nanoClock;
+  private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+  private final LongAdder rejected = new LongAdder();
+
+  /**
+   * Constructs a limiter on the system clock.
+   *
+   * @param limit the number of requests allowed per window, and the burst size
+   * @param window the window over which the limit applies
+   */
+  public TokenBucketLimiter(int limit, Duration window) {
+    this(limit, window, System::nanoTime);
+  }
+
+  /**
+   * Constructs a limiter.
+   *
+   * @param limit the number of requests allowed per window, and the burst size
+   * @param window the window over which the limit applies
+   * @param nanoClock the monotonic clock, in nanoseconds
+   */
+  public TokenBucketLimiter(int limit, Duration window, LongSupplier nanoClock) {
+    if (limit <= 0) {
+      throw new IllegalArgumentException("limit must be positive");
+    }
+    this.limit = limit;
+    this.window = window;
+    this.nanosPerToken = Math.max(1, window.toNanos() / limit);
+    this.capacityNanos = nanosPerToken * limit;
+    this.nanoClock = nanoClock;
+  }
+
+  /**
+   * Takes a token from the bucket of a client.
+   *
+   * @param client the client key
+   * @return whether the request is allowed, with the state of the bucket afterwards
+   */
+  public Decision tryAcquire(String client) {
+    AtomicLong bucket = buckets.computeIfAbsent(client, key -> new AtomicLong(NEW_BUCKET));
+    while (true) {
+      long now = nanoClock.getAsLong();
+      long fullAt = bucket.get();
+      long next = Math.max(fullAt, now) + nanosPerToken;
+      long debt = next - now;
+      if (debt > capacityNanos) {
+        rejected.increment();
+        return new Decision(false, 0, fullAt - now, debt - capacityNanos);
+      }
+      if (bucket.compareAndSet(fullAt, next)) {
+        return new Decision(true, (int) ((capacityNanos - debt) / nanosPerToken), debt, 0);
+      }
+    }
+  }
+
+  /** Drops the buckets of clients that have been idle long enough for them to refill. */
+  public void evictIdle() {
+    long now = nanoClock.getAsLong();
+    buckets
+        .values()
+        .removeIf(
+            bucket -> {
+              long fullAt = bucket.get();
+              return fullAt == NEW_BUCKET || fullAt - now <= 0;
+            });
+  }
+
+  /**
+   * Returns the number of requests allowed per window.
+   *
+   * @return the limit
+   */
+  public int limit() {
+    return limit;
+  }
+
+  /**
+   * Returns the window over which the limit applies.
+   *
+   * @return the window
+   */
+  public Duration window() {
+    return window;
+  }
+
+  /**
+   * Returns the number of clients with a bucket.
+   *
+   * @return the number of tracked clients
+   */
+  public int clients() {
+    return buckets.size();
+  }
+
+  /**
+   * Returns the number of requests rejected since startup.
+   *
+   * @return the rejected request count
+   */
+  public long rejectedRequests() {
+    return rejected.sum();
+  }
+
+  /**
+   * Outcome of taking a token.
+   *
+   * @param allowed whether a token was taken
+   * @param remaining the tokens left in the bucket
+   * @param resetNanos the time until the bucket is full again
+   * @param retryAfterNanos the time until a token is available, 0 if the request was allowed
+   */
+  public record Decision(boolean allowed, int remaining, long resetNanos, long retryAfterNanos) {}
+}
@@ -0,0 +1,79 @@
+package com.github.vcxxxx.dogapi.repository;
+
+import com.github.vcxxxx.dogapi.model.DogBreedChange;
+import com.github.vcxxxx.dogapi.model.DogBreedChange.Kind;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/** Repository for the change log entries of {@link DogBreedChange}. */
+@Repository
+public interface DogBreedChangeRepository extends JpaRepository<DogBreedChange, Long> {
+
+  /**
+   * Reads the catalog versions of the entries in a version range, one per entry, in log order.
+   *
+   * @param since the exclusive lower bound of the range
+   * @param head the inclusive upper bound of the range
+   * @param limit the maximum number of entries to read
+   * @return the catalog version of each entry
+   */
+  @Query(
+      "select c.catalogVersion from DogBreedChange c"
+          + " where c.catalogVersion > :since and c.catalogVersion <= :head"
+          + " order by c.catalogVersion, c.seq")
+  List<Long> findCatalogVersions(long since, long head, Limit limit);
+
+  /**
+   * Reads the entries in a version range, in log order.
+   *
+   * @param since the exclusive lower bound of the range
+   * @param upTo the inclusive upper bound of the range
+   * @return the entries
+   */
+  @Query(
+      "select c from DogBreedChange c"
+          + " where c.catalogVersion > :since and c.catalogVersion <= :upTo"
+          + " order by c.catalogVersion, c.seq")
+  List<DogBreedChange> findChanges(long since, long upTo);
+
+  /**
+   * Deletes every entry that is superseded by a later entry for the same dog breed.
+   *
+   * @return the number of deleted entries
+   */
+  @Modifying
+  @Query(
+      "delete from DogBreedChange c where exists (select 1 from DogBreedChange n"
+          + " where n.breedId = c.breedId and n.catalogVersion > c.catalogVersion)")
+  int deleteSuperseded();
+
+  /**
+   * Reads the highest catalog version of the entries of a kind committed before a point in time.
+   *
+   * @param kind the kind of entries
+   * @param before the exclusive upper bound of the commit time
+   * @return the highest version, or empty if there is no such entry
+   */
+  @Query(
+      "select max(c.catalogVersion) from DogBreedChange c"
+          + " where c.kind = :kind and c.changedAt < :before")
+  Optional<Long> findLastCatalogVersion(Kind kind, Instant before);
+
+  /**
+   * Deletes the entries of a kind up to a catalog version.
+   *
+   * @param kind the kind of entries
+   * @param catalogVersion the inclusive upper bound of the version
+   * @return the number of deleted entries
+   */
+  @Modifying
+  @Query(
+      "delete from DogBreedChange c where c.kind = :kind and c.catalogVersion <= :catalogVersion")
+  int deleteUpTo(Kind kind, long catalogVersion);
+}
@@ -1,18 +1,34 @@
 package com.github.vcxxxx.dogapi.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 import com.github.vcxxxx.dogapi.model.DogBreed;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Repository interface for DogBreed entities.
  *
  * <p>Extends JpaRepository to provide standard CRUD operations. Also includes custom finder methods
  * for querying breeds and sub-breeds.
+ *
+ * <p>Queries run in read-only transactions, so Hibernate neither flushes nor keeps snapshots for
+ * dirty checking, and they can be served by a read replica. Modifying queries run in read-write
+ * transactions.
  */
 @Repository
+@Transactional(readOnly = true)
 public interface DogBreedRepository extends JpaRepository<DogBreed, Long> {
 
   /**
@@ -23,6 +39,14 @@ public interface DogBreedRepository extends JpaRepository<DogBreed, Long> {
    */
   List<DogBreed> findByBreed(String breed);
 
+  /**
+   * Finds all DogBreed entities of any of the given breed names in a single query.
+   *
+   * @param breeds the main breed names to search for
+   * @return list of DogBreed entities with one of the given breeds
+   */
+  List<DogBreed> findByBreedIn(Collection<String> breeds);
+
   /**
    * Finds a DogBreed entity by its breed and sub-breed.
    *
@@ -32,4 +56,71 @@ public interface DogBreedRepository extends JpaRepository<DogBreed, Long> {
    *     if none found
    */
   Optional<DogBreed> findByBreedAndSubBreed(String breed, String subBreed);
+
+  /**
+   * Reads the version of a DogBreed entity without loading the entity itself.
+   *
+   * @param id the ID of the entity
+   * @return the current version, or empty if no entity exists with the given ID
+   */
+  @Query("select d.version from DogBreed d where d.id = :id")
+  Optional<Long> findVersionById(Long id);
+
+  /**
+   * Reads which of the given IDs exist, without loading the entities.
+   *
+   * @param ids the IDs to check
+   * @return the IDs of existing DogBreed entities, in no particular order
+   */
+  @Query("select d.id from DogBreed d where d.id in :ids")
+  List<Long> findIdsByIdIn(Collection<Long> ids);
+
+  /**
+   * Deletes a DogBreed entity by ID with a single {@code DELETE} statement, without loading it
+   * first.
+   *
+   * @param id the ID of the entity
+   * @return the number of deleted rows, 0 if no entity exists with the given ID
+   */
+  @Modifying
+  @Transactional
+  @Query("delete from DogBreed d where d.id = :id")
+  int removeById(Long id);
+
+  /**
+   * Deletes the DogBreed entities with any of the given IDs with a single {@code DELETE}
+   * statement, without loading them first.
+   *
+   * @param ids the IDs of the entities
+   * @return the number of deleted rows; IDs without an entity are ignored
+   */
+  @Modifying
+  @Transactional
+  @Query("delete from DogBreed d where d.id in :ids")
+  int removeByIdIn(Collection<Long> ids);
+
+  /**
+   * Finds the next page of DogBreed entities after the given ID, ordered by ID (keyset pagination).
+   *
+   * @param id the exclusive lower bound for the ID; use 0 for the first page
+   * @param limit the maximum number of entities to return
+   * @return list of DogBreed entities with an ID greater than {@code id}, in ascending ID order
+   */
+  List<DogBreed> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+  /**
+   * Streams all DogBreed entities in ascending ID order using a read-only, fetch-size bounded
+   * cursor.
+   *
+   * <p>Must be consumed inside a transaction and closed after use, preferably with
+   * try-with-resources.
+   *
+   * @return a stream over all DogBreed entities
+   */
+  @QueryHints({
+    @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+    @QueryHint(name = HINT_READ_ONLY, value = "true")
+  })
+  @Query("select d from DogBreed d order by d.id")
+  Stream<DogBreed> streamAllOrderedById();
 }
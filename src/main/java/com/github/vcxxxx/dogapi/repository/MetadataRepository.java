@@ -1,9 +1,49 @@
 package com.github.vcxxxx.dogapi.repository;
 
 import com.github.vcxxxx.dogapi.model.Metadata;
+import jakarta.persistence.LockModeType;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /** Repository for Metadata entity. */
 @Repository
-public interface MetadataRepository extends JpaRepository<Metadata, String> {}
+public interface MetadataRepository extends JpaRepository<Metadata, String> {
+
+  /**
+   * Reads a metadata value straight from the database, bypassing any entity already held by the
+   * persistence context.
+   *
+   * @param metaKey the key of the entry
+   * @return the value, or empty if the key does not exist
+   */
+  @Query("select m.metaValue from Metadata m where m.metaKey = :metaKey")
+  Optional<String> findValueByKey(String metaKey);
+
+  /**
+   * Reads a metadata entry and locks its row until the end of the current transaction.
+   *
+   * @param metaKey the key of the entry
+   * @return the locked entry, or empty if the key does not exist
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select m from Metadata m where m.metaKey = :metaKey")
+  Optional<Metadata> lockByKey(String metaKey);
+
+  /**
+   * Atomically increments a numeric metadata value in a single statement.
+   *
+   * @param metaKey the key of the entry to increment
+   * @return the number of updated rows, 0 if the key does not exist
+   */
+  @Transactional
+  @Modifying(flushAutomatically = true)
+  @Query(
+      "update Metadata m set m.metaValue = cast(cast(m.metaValue as Long) + 1 as String)"
+          + " where m.metaKey = :metaKey")
+  int increment(String metaKey);
+}
@@ -0,0 +1,87 @@
+package com.github.vcxxxx.dogapi.repository;
+
+import com.github.vcxxxx.dogapi.exception.ServiceOverloadedException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Admission limiter in front of database access through {@link DogBreedRepository}.
+ *
+ * <p>At most {@code dogapi.admission.max-concurrent-calls} repository calls run at once, which by
+ * default matches the connection pool size. A call that cannot get a permit within {@code
+ * dogapi.admission.acquire-timeout} is rejected with a {@link ServiceOverloadedException}, so
+ * excess load is shed quickly instead of queueing for a connection. Requests served from memory are
+ * never limited.
+ *
+ * <p>Nested calls on the same thread reuse the permit of the outermost call. The limiter is
+ * installed by {@code RepositoryAdmissionConfiguration} when {@code dogapi.admission.enabled=true}.
+ */
+@Component
+public class RepositoryAdmissionLimiter implements MethodInterceptor {
+
+  private final int maxConcurrentCalls;
+  private final Duration acquireTimeout;
+  private final Duration retryAfter;
+  private final Semaphore permits;
+  private final ThreadLocal<Boolean> holdsPermit = ThreadLocal.withInitial(() -> false);
+  private final LongAdder rejected = new LongAdder();
+
+  /**
+   * Constructs the limiter.
+   *
+   * @param maxConcurrentCalls the maximum number of concurrent repository calls
+   * @param acquireTimeout how long a call may wait for a permit before it is rejected
+   * @param retryAfter the retry delay suggested to rejected clients
+   */
+  public RepositoryAdmissionLimiter(
+      @Value("${dogapi.admission.max-concurrent-calls:10}") int maxConcurrentCalls,
+      @Value("${dogapi.admission.acquire-timeout:PT0.05S}") Duration acquireTimeout,
+      @Value("${dogapi.admission.retry-after:PT1S}") Duration retryAfter) {
+    this.maxConcurrentCalls = maxConcurrentCalls;
+    this.acquireTimeout = acquireTimeout;
+    this.retryAfter = retryAfter;
+    this.permits = new Semaphore(maxConcurrentCalls, true);
+  }
+
+  @Override
+  public Object invoke(MethodInvocation invocation) throws Throwable {
+    if (holdsPermit.get()) {
+      return invocation.proceed();
+    }
+    if (!permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+      rejected.increment();
+      throw new ServiceOverloadedException(retryAfter);
+    }
+    holdsPermit.set(true);
+    try {
+      return invocation.proceed();
+    } finally {
+      holdsPermit.remove();
+      permits.release();
+    }
+  }
+
+  /**
+   * Returns the number of repository calls currently running.
+   *
+   * @return the number of permits in use
+   */
+  public int activeCalls() {
+    return maxConcurrentCalls - permits.availablePermits();
+  }
+
+  /**
+   * Returns the number of repository calls rejected since startup.
+   *
+   * @return the rejected call count
+   */
+  public long rejectedCalls() {
+    return rejected.sum();
+  }
+}
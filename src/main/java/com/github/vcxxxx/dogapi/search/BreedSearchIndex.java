@@ -0,0 +1,399 @@
+package com.github.vcxxxx.dogapi.search;
+
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Immutable in-memory index answering prefix and typo-tolerant searches over breed and sub-breed
+ * names.
+ *
+ * <p>Every distinct name is a term. Terms are kept in a sorted array, so prefix matches are a
+ * binary search followed by a short scan. Typo-tolerant matches allow up to two edits against any
+ * prefix of a term: candidate terms are selected from an index of trigrams and bigrams, which rules
+ * out terms sharing too few of them with the query or too short to match it, and then verified
+ * with a bounded edit distance.
+ *
+ * <p>Like the catalog snapshot, an index is never modified once built. Changes are applied by
+ * deriving a new index from the previous one, which shares everything the changes leave alone:
+ * only the entries of the affected terms and the postings of the grams of terms that appear or
+ * disappear are rebuilt.
+ */
+public final class BreedSearchIndex {
+
+  private static final int TRIGRAM = 3;
+  private static final int BIGRAM = 2;
+  private static final String[] NO_TERMS = new String[0];
+  private static final long[] NO_IDS = new long[0];
+  private static final BreedSearchIndex EMPTY =
+      new BreedSearchIndex(Map.of(), Map.of(), NO_TERMS, Map.of());
+
+  private static final Comparator<Match> RANKING =
+      Comparator.comparingInt(Match::score)
+          .thenComparing(match -> match.breed().getBreed())
+          .thenComparing(
+              match -> match.breed().getSubBreed(),
+              Comparator.nullsFirst(Comparator.naturalOrder()))
+          .thenComparing(match -> match.breed().getId());
+
+  private final Map<Long, DogBreed> byId;
+  private final Map<String, long[]> idsByTerm;
+  private final String[] terms;
+  private final Map<String, String[]> termsByGram;
+
+  private BreedSearchIndex(
+      Map<Long, DogBreed> byId,
+      Map<String, long[]> idsByTerm,
+      String[] terms,
+      Map<String, String[]> termsByGram) {
+    this.byId = byId;
+    this.idsByTerm = idsByTerm;
+    this.terms = terms;
+    this.termsByGram = termsByGram;
+  }
+
+  /**
+   * Builds an index of the given breeds.
+   *
+   * @param breeds the breeds in the catalog; defensive copies are stored
+   * @return the new index
+   */
+  public static BreedSearchIndex of(Collection<DogBreed> breeds) {
+    return EMPTY.with(breeds, List.of());
+  }
+
+  /**
+   * Builds a new index from this one with the given breeds added or replaced and the given IDs
+   * removed.
+   *
+   * <p>Only the terms of the changed breeds are looked at. The sorted term array and the gram
+   * postings are only rebuilt when a term appears or disappears, and then only the postings of
+   * its grams are.
+   *
+   * @param upserts breeds to add or replace, matched by ID
+   * @param removedIds IDs of breeds to remove
+   * @return the new index
+   */
+  public BreedSearchIndex with(Collection<DogBreed> upserts, Collection<Long> removedIds) {
+    Map<Long, DogBreed> nextById = new HashMap<>(byId);
+    Map<String, TreeSet<Long>> changedTerms = new HashMap<>();
+    for (Long id : removedIds) {
+      DogBreed previous = nextById.remove(id);
+      if (previous != null) {
+        termsOf(previous).forEach(term -> idsOf(changedTerms, term).remove(id));
+      }
+    }
+    for (DogBreed breed : upserts) {
+      DogBreed previous = nextById.put(breed.getId(), copyOf(breed));
+      if (previous != null) {
+        termsOf(previous).forEach(term -> idsOf(changedTerms, term).remove(breed.getId()));
+      }
+      termsOf(breed).forEach(term -> idsOf(changedTerms, term).add(breed.getId()));
+    }
+
+    Map<String, long[]> nextIdsByTerm = new HashMap<>(idsByTerm);
+    List<String> addedTerms = new ArrayList<>();
+    Set<String> removedTerms = new HashSet<>();
+    changedTerms.forEach(
+        (term, ids) -> {
+          boolean existed = idsByTerm.containsKey(term);
+          if (ids.isEmpty()) {
+            nextIdsByTerm.remove(term);
+            if (existed) {
+              removedTerms.add(term);
+            }
+          } else {
+            nextIdsByTerm.put(term, ids.stream().mapToLong(Long::longValue).toArray());
+            if (!existed) {
+              addedTerms.add(term);
+            }
+          }
+        });
+    if (addedTerms.isEmpty() && removedTerms.isEmpty()) {
+      return new BreedSearchIndex(nextById, nextIdsByTerm, terms, termsByGram);
+    }
+    return new BreedSearchIndex(
+        nextById,
+        nextIdsByTerm,
+        mergeTerms(addedTerms, removedTerms),
+        mergeGrams(addedTerms, removedTerms));
+  }
+
+  /**
+   * Finds the breeds matching a query.
+   *
+   * <p>The query is split on whitespace and every word must match the breed or the sub-breed
+   * name, either as a prefix or, for words of three or more characters, within a small number of
+   * edits of a prefix. Exact matches rank before prefix matches, which rank before fuzzy matches.
+   *
+   * @param query the search text; case and surrounding whitespace are ignored
+   * @param limit the maximum number of results
+   * @return the best matches, best first; empty for a blank query
+   */
+  public List<DogBreed> search(String query, int limit) {
+    Map<Long, Integer> scores = null;
+    for (String word : query.trim().toLowerCase(Locale.ROOT).split("\\s+")) {
+      if (word.isEmpty()) {
+        continue;
+      }
+      Map<Long, Integer> wordScores = scoreEntries(word);
+      if (scores == null) {
+        scores = wordScores;
+      } else {
+        scores.keySet().retainAll(wordScores.keySet());
+        scores.replaceAll((id, score) -> score + wordScores.get(id));
+      }
+    }
+    if (scores == null || scores.isEmpty()) {
+      return List.of();
+    }
+
+    return scores.entrySet().stream()
+        .map(entry -> new Match(byId.get(entry.getKey()), entry.getValue()))
+        .sorted(RANKING)
+        .limit(limit)
+        .map(Match::breed)
+        .toList();
+  }
+
+  /**
+   * Returns the number of breeds in the index.
+   *
+   * @return the index size
+   */
+  public int size() {
+    return byId.size();
+  }
+
+  /**
+   * Returns the number of distinct breed and sub-breed names in the index.
+   *
+   * @return the number of terms
+   */
+  public int termCount() {
+    return terms.length;
+  }
+
+  private Map<Long, Integer> scoreEntries(String word) {
+    Map<String, Integer> termScores = new HashMap<>();
+
+    // Prefix matches: 0 for the whole term, 1 otherwise
+    for (int i = lowerBound(word); i < terms.length && terms[i].startsWith(word); i++) {
+      termScores.put(terms[i], terms[i].length() == word.length() ? 0 : 1);
+    }
+
+    // Fuzzy matches: 1 plus the number of edits
+    int maxEdits = maxEdits(word.length());
+    if (maxEdits > 0) {
+      for (String term : candidates(word, maxEdits)) {
+        if (!termScores.containsKey(term)) {
+          int edits = prefixEditDistance(word, term, maxEdits);
+          if (edits <= maxEdits) {
+            termScores.put(term, 1 + edits);
+          }
+        }
+      }
+    }
+
+    Map<Long, Integer> entryScores = new HashMap<>();
+    termScores.forEach(
+        (term, score) -> {
+          for (long id : idsByTerm.get(term)) {
+            entryScores.merge(id, score, Math::min);
+          }
+        });
+    return entryScores;
+  }
+
+  /**
+   * Selects the terms that may be within {@code maxEdits} of the word.
+   *
+   * <p>A single edit changes at most n of the word's n-grams, so a term prefix within {@code
+   * maxEdits} edits shares at least {@code grams - n * maxEdits} of them, and the term is at most
+   * {@code maxEdits} characters shorter than the word. Trigrams give the tighter bound for long
+   * words, and bigrams still give one for the short words most breed names are. Only words made of
+   * very few distinct bigrams give no usable bound, in which case only the length rules terms out.
+   */
+  List<String> candidates(String word, int maxEdits) {
+    int minLength = word.length() - maxEdits;
+    Set<String> wordGrams = grams(word, TRIGRAM);
+    int threshold = wordGrams.size() - TRIGRAM * maxEdits;
+    if (threshold <= 0) {
+      wordGrams = grams(word, BIGRAM);
+      threshold = wordGrams.size() - BIGRAM * maxEdits;
+    }
+    if (threshold <= 0) {
+      return Arrays.stream(terms).filter(term -> term.length() >= minLength).toList();
+    }
+
+    Map<String, Integer> shared = new HashMap<>();
+    for (String gram : wordGrams) {
+      for (String term : termsByGram.getOrDefault(gram, NO_TERMS)) {
+        if (term.length() >= minLength) {
+          shared.merge(term, 1, Integer::sum);
+        }
+      }
+    }
+    int required = threshold;
+    List<String> candidates = new ArrayList<>();
+    shared.forEach(
+        (term, count) -> {
+          if (count >= required) {
+            candidates.add(term);
+          }
+        });
+    return candidates;
+  }
+
+  /** Returns the sorted terms without the removed ones and with the added ones. */
+  private String[] mergeTerms(List<String> added, Set<String> removed) {
+    added.sort(null);
+    String[] merged = new String[terms.length - removed.size() + added.size()];
+    int next = 0;
+    int a = 0;
+    for (String term : terms) {
+      if (removed.contains(term)) {
+        continue;
+      }
+      while (a < added.size() && added.get(a).compareTo(term) < 0) {
+        merged[next++] = added.get(a++);
+      }
+      merged[next++] = term;
+    }
+    while (a < added.size()) {
+      merged[next++] = added.get(a++);
+    }
+    return merged;
+  }
+
+  /** Returns the gram postings with only the grams of added and removed terms rebuilt. */
+  private Map<String, String[]> mergeGrams(List<String> added, Set<String> removed) {
+    Map<String, List<String>> addedByGram = new HashMap<>();
+    for (String term : added) {
+      for (String gram : allGrams(term)) {
+        addedByGram.computeIfAbsent(gram, key -> new ArrayList<>()).add(term);
+      }
+    }
+    Set<String> affected = new HashSet<>(addedByGram.keySet());
+    removed.forEach(term -> affected.addAll(allGrams(term)));
+
+    Map<String, String[]> merged = new HashMap<>(termsByGram);
+    for (String gram : affected) {
+      List<String> postings = new ArrayList<>();
+      for (String term : termsByGram.getOrDefault(gram, NO_TERMS)) {
+        if (!removed.contains(term)) {
+          postings.add(term);
+        }
+      }
+      postings.addAll(addedByGram.getOrDefault(gram, List.of()));
+      if (postings.isEmpty()) {
+        merged.remove(gram);
+      } else {
+        merged.put(gram, postings.toArray(String[]::new));
+      }
+    }
+    return merged;
+  }
+
+  private int lowerBound(String word) {
+    int index = Arrays.binarySearch(terms, word);
+    return index >= 0 ? index : -index - 1;
+  }
+
+  /**
+   * Returns the smallest edit distance between the word and any prefix of the term, or a value
+   * greater than {@code maxEdits} once it is certain to exceed it.
+   */
+  static int prefixEditDistance(String word, String term, int maxEdits) {
+    int m = word.length();
+    int[] previous = new int[m + 1];
+    int[] current = new int[m + 1];
+    for (int i = 0; i <= m; i++) {
+      previous[i] = i;
+    }
+
+    int best = previous[m];
+    int columns = Math.min(term.length(), m + maxEdits);
+    for (int j = 1; j <= columns; j++) {
+      current[0] = j;
+      int columnMin = current[0];
+      char c = term.charAt(j - 1);
+      for (int i = 1; i <= m; i++) {
+        int substitution = previous[i - 1] + (word.charAt(i - 1) == c ? 0 : 1);
+        current[i] = Math.min(substitution, Math.min(previous[i], current[i - 1]) + 1);
+        columnMin = Math.min(columnMin, current[i]);
+      }
+      best = Math.min(best, current[m]);
+      if (columnMin > maxEdits) {
+        break;
+      }
+      int[] swap = previous;
+      previous = current;
+      current = swap;
+    }
+    return best;
+  }
+
+  private static int maxEdits(int wordLength) {
+    if (wordLength < 3) {
+      return 0;
+    }
+    return wordLength < 5 ? 1 : 2;
+  }
+
+  /** Returns the trigrams and bigrams of a term, under which it is posted. */
+  private static Set<String> allGrams(String term) {
+    Set<String> grams = grams(term, TRIGRAM);
+    grams.addAll(grams(term, BIGRAM));
+    return grams;
+  }
+
+  /** Returns the distinct n-grams of the text, padded at the start to anchor its first letters. */
+  private static Set<String> grams(String text, int size) {
+    String padded = "$".repeat(size - 1) + text;
+    Set<String> grams = new LinkedHashSet<>();
+    for (int i = 0; i + size <= padded.length(); i++) {
+      grams.add(padded.substring(i, i + size));
+    }
+    return grams;
+  }
+
+  /** Returns the IDs of the term being changed, starting from those of this index. */
+  private TreeSet<Long> idsOf(Map<String, TreeSet<Long>> changedTerms, String term) {
+    return changedTerms.computeIfAbsent(
+        term,
+        key -> {
+          TreeSet<Long> ids = new TreeSet<>();
+          for (long id : idsByTerm.getOrDefault(key, NO_IDS)) {
+            ids.add(id);
+          }
+          return ids;
+        });
+  }
+
+  private static List<String> termsOf(DogBreed breed) {
+    return breed.getSubBreed() == null
+        ? List.of(term(breed.getBreed()))
+        : List.of(term(breed.getBreed()), term(breed.getSubBreed()));
+  }
+
+  private static String term(String name) {
+    return name.toLowerCase(Locale.ROOT);
+  }
+
+  private static DogBreed copyOf(DogBreed breed) {
+    return new DogBreed(breed.getId(), breed.getBreed(), breed.getSubBreed(), breed.getVersion());
+  }
+
+  private record Match(DogBreed breed, int score) {}
+}
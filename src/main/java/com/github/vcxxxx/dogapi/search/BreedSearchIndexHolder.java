@@ -0,0 +1,113 @@
+package com.github.vcxxxx.dogapi.search;
+
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import com.github.vcxxxx.dogapi.repository.DogBreedRepository;
+import com.github.vcxxxx.dogapi.service.CatalogVersion;
+import com.github.vcxxxx.dogapi.service.DogBreedChangedEvent;
+import com.github.vcxxxx.dogapi.service.DogBreedChangedEvent.Change;
+import com.github.vcxxxx.dogapi.service.DogBreedChangedEvent.Type;
+import com.github.vcxxxx.dogapi.service.StaleChangeFilter;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Holds the current {@link BreedSearchIndex}.
+ *
+ * <p>Searches read the index with a single volatile read and never block or touch the database.
+ * Committed writes are applied to a copy under a lock and published by swapping the reference. A
+ * {@link StaleChangeFilter} drops changes that arrive after a newer change of the same breed.
+ */
+@Component
+public class BreedSearchIndexHolder {
+
+  private static final Logger logger = LoggerFactory.getLogger(BreedSearchIndexHolder.class);
+
+  private final DogBreedRepository dogBreedRepository;
+  private final Object writeLock = new Object();
+  private final StaleChangeFilter staleChangeFilter = new StaleChangeFilter();
+
+  private volatile BreedSearchIndex current;
+
+  /**
+   * Constructs the holder.
+   *
+   * @param dogBreedRepository repository used to build the initial index
+   */
+  public BreedSearchIndexHolder(DogBreedRepository dogBreedRepository) {
+    this.dogBreedRepository = dogBreedRepository;
+  }
+
+  /**
+   * Returns the current index, building it from the database on first use.
+   *
+   * @return the current search index
+   */
+  public BreedSearchIndex get() {
+    BreedSearchIndex index = current;
+    if (index != null) {
+      return index;
+    }
+    synchronized (writeLock) {
+      return current != null ? current : rebuild();
+    }
+  }
+
+  /** Builds the initial index once the application, including its seed data, is ready. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    rebuild();
+  }
+
+  /**
+   * Publishes a new index containing a committed change.
+   *
+   * @param event the committed change event
+   */
+  @Order(CatalogVersion.APPLY_ORDER)
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onDogBreedChanged(DogBreedChangedEvent event) {
+    synchronized (writeLock) {
+      if (current == null || event.isReload()) {
+        rebuild();
+        return;
+      }
+
+      List<DogBreed> upserts = new ArrayList<>();
+      List<Long> removedIds = new ArrayList<>();
+      for (Change change : staleChangeFilter.accept(event.changes())) {
+        if (change.type() == Type.DELETED) {
+          removedIds.add(change.id());
+        } else {
+          upserts.add(change.current());
+        }
+      }
+      current = current.with(upserts, removedIds);
+    }
+  }
+
+  /**
+   * Rebuilds the index from the database and publishes it.
+   *
+   * @return the new index
+   */
+  public BreedSearchIndex rebuild() {
+    synchronized (writeLock) {
+      List<DogBreed> breeds = dogBreedRepository.findAll();
+      staleChangeFilter.reset(breeds);
+      BreedSearchIndex index = BreedSearchIndex.of(breeds);
+      current = index;
+      logger.info(
+          "Published breed search index with {} entries and {} terms.",
+          index.size(),
+          index.termCount());
+      return index;
+    }
+  }
+}
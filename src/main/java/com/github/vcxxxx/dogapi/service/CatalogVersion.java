@@ -0,0 +1,179 @@
+package com.github.vcxxxx.dogapi.service;
+
+import com.github.vcxxxx.dogapi.model.Metadata;
+import com.github.vcxxxx.dogapi.repository.MetadataRepository;
+import jakarta.annotation.PostConstruct;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Monotonically increasing version of the whole breed catalog.
+ *
+ * <p>The version is persisted in the {@link Metadata} table and incremented by the {@link
+ * ChangeLog} in the same transaction as every write that publishes a {@link DogBreedChangedEvent}.
+ * The last committed value is mirrored in memory, so reading it never touches the database.
+ *
+ * <p>The mirror is advanced to the version each event was committed as, not to the persisted one,
+ * which may already include writes whose changes have not been applied yet. Listeners that keep
+ * derived state run before that with {@link #APPLY_ORDER}, so an ETag of a version is only served
+ * once the content of the version is.
+ *
+ * <p>In a cluster, other nodes commit versions too, and the mirror must not run ahead of the
+ * changes this node has applied, or an ETag would be served for content it does not describe. The
+ * mirror is then only advanced by the cluster invalidation, through {@link #advanceTo(long)}.
+ */
+@Component
+public class CatalogVersion {
+
+  /** Metadata key of the persisted version; its row is locked by every catalog write. */
+  public static final String CATALOG_VERSION_KEY = "catalog_version";
+
+  /** Order of the listeners that apply committed changes to derived state. */
+  public static final int APPLY_ORDER = Ordered.LOWEST_PRECEDENCE - 2;
+
+  /** Order of the listener advancing the mirror, after the changes are applied. */
+  static final int ADVANCE_ORDER = Ordered.LOWEST_PRECEDENCE - 1;
+
+  private final MetadataRepository metadataRepository;
+  private final boolean clustered;
+  private final AtomicLong current = new AtomicLong();
+
+  public CatalogVersion(MetadataRepository metadataRepository) {
+    this(metadataRepository, false);
+  }
+
+  /**
+   * Constructs the catalog version.
+   *
+   * @param metadataRepository repository holding the persisted version
+   * @param clustered whether other nodes write to the same database
+   */
+  @Autowired
+  public CatalogVersion(
+      MetadataRepository metadataRepository,
+      @Value("${dogapi.cluster.enabled:false}") boolean clustered) {
+    this.metadataRepository = metadataRepository;
+    this.clustered = clustered;
+  }
+
+  /** Creates the persisted version entry if it does not exist yet and loads its value. */
+  @PostConstruct
+  public void initialize() {
+    if (!metadataRepository.existsById(CATALOG_VERSION_KEY)) {
+      metadataRepository.save(new Metadata(CATALOG_VERSION_KEY, "0"));
+    }
+    refresh();
+  }
+
+  /**
+   * Returns the version of the last committed catalog change.
+   *
+   * @return the current catalog version
+   */
+  public long current() {
+    return current.get();
+  }
+
+  /**
+   * Increments the persisted version as part of the transaction that commits a change event.
+   *
+   * <p>The version row stays locked until the transaction ends, so concurrent writers are ordered
+   * by version and commit in that order. The version is remembered for the event until the
+   * transaction completes, so the mirror can be advanced to it once the event is applied.
+   *
+   * @param event the change event the version is committed for
+   * @return the new version, visible to other transactions once this one commits
+   */
+  public long increment(DogBreedChangedEvent event) {
+    metadataRepository.increment(CATALOG_VERSION_KEY);
+    long version =
+        metadataRepository
+            .findValueByKey(CATALOG_VERSION_KEY)
+            .map(Long::parseLong)
+            .orElseThrow(() -> new IllegalStateException("Catalog version is not initialized"));
+    if (!clustered && TransactionSynchronizationManager.isSynchronizationActive()) {
+      committedVersions().put(event, version);
+    }
+    return version;
+  }
+
+  /**
+   * Advances the in-memory mirror to the version a change was committed as, once the listeners
+   * with {@link #APPLY_ORDER} have applied it.
+   *
+   * @param event the committed change event
+   */
+  @Order(ADVANCE_ORDER)
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onDogBreedChanged(DogBreedChangedEvent event) {
+    if (clustered || !TransactionSynchronizationManager.hasResource(this)) {
+      return;
+    }
+    Long version = committedVersions().get(event);
+    if (version != null) {
+      advanceTo(version);
+    }
+  }
+
+  /** Reloads the persisted version into the in-memory mirror. */
+  public void refresh() {
+    advanceTo(persisted());
+  }
+
+  /**
+   * Advances the in-memory mirror to a version whose changes have all been applied.
+   *
+   * @param version the version; ignored if the mirror is already past it
+   */
+  public void advanceTo(long version) {
+    current.accumulateAndGet(version, Math::max);
+  }
+
+  /**
+   * Returns the versions incremented in the current transaction, by the event they are committed
+   * for. They are dropped when the transaction completes, after the listeners of the events ran.
+   */
+  @SuppressWarnings("unchecked")
+  private Map<DogBreedChangedEvent, Long> committedVersions() {
+    Map<DogBreedChangedEvent, Long> versions =
+        (Map<DogBreedChangedEvent, Long>) TransactionSynchronizationManager.getResource(this);
+    if (versions == null) {
+      versions = new IdentityHashMap<>();
+      TransactionSynchronizationManager.bindResource(this, versions);
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+              return Ordered.LOWEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+              TransactionSynchronizationManager.unbindResourceIfPossible(CatalogVersion.this);
+            }
+          });
+    }
+    return versions;
+  }
+
+  /**
+   * Reads the last committed version from the database, without updating the mirror.
+   *
+   * @return the persisted catalog version, 0 if not initialized
+   */
+  public long persisted() {
+    return metadataRepository
+        .findValueByKey(CATALOG_VERSION_KEY)
+        .map(Long::parseLong)
+        .orElse(0L);
+  }
+}
@@ -0,0 +1,211 @@
+package com.github.vcxxxx.dogapi.service;
+
+import com.github.vcxxxx.dogapi.dto.ChangeFeed;
+import com.github.vcxxxx.dogapi.exception.ChangeLogCompactedException;
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import com.github.vcxxxx.dogapi.model.DogBreedChange;
+import com.github.vcxxxx.dogapi.model.DogBreedChange.Kind;
+import com.github.vcxxxx.dogapi.model.Metadata;
+import com.github.vcxxxx.dogapi.repository.DogBreedChangeRepository;
+import com.github.vcxxxx.dogapi.repository.MetadataRepository;
+import com.github.vcxxxx.dogapi.service.DogBreedChangedEvent.Change;
+import com.github.vcxxxx.dogapi.service.DogBreedChangedEvent.Type;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Persistent, sequenced log of catalog changes, for clients that mirror the catalog incrementally.
+ *
+ * <p>Every {@link DogBreedChangedEvent} is committed as the next {@link CatalogVersion}, and its
+ * changes are appended to the log in the same transaction, so the log holds exactly the committed
+ * changes, in commit order. Bulk reloads are not logged entry by entry; they reset the log and move
+ * its floor to their version, like a compaction.
+ *
+ * <p>The log is compacted every {@code dogapi.changes.compaction-interval}: only the latest entry
+ * per breed is kept, and tombstones older than {@code dogapi.changes.tombstone-retention} are
+ * dropped, raising the floor. Changes since a version below the floor can no longer be served.
+ */
+@Component
+public class ChangeLog {
+
+  /** Upper bound for the number of entries returned by {@link #changesSince(long, int)}. */
+  public static final int MAX_FEED_SIZE = 1000;
+
+  static final String FLOOR_KEY = "change_log_floor";
+
+  private static final Logger logger = LoggerFactory.getLogger(ChangeLog.class);
+
+  private final DogBreedChangeRepository changeRepository;
+  private final MetadataRepository metadataRepository;
+  private final CatalogVersion catalogVersion;
+  private final Duration tombstoneRetention;
+
+  /**
+   * Constructs the change log.
+   *
+   * @param changeRepository repository for the log entries
+   * @param metadataRepository repository holding the floor of the log
+   * @param catalogVersion the catalog version each change is committed as
+   * @param tombstoneRetention how long tombstones are kept before compaction drops them
+   */
+  public ChangeLog(
+      DogBreedChangeRepository changeRepository,
+      MetadataRepository metadataRepository,
+      CatalogVersion catalogVersion,
+      @Value("${dogapi.changes.tombstone-retention:P7D}") Duration tombstoneRetention) {
+    this.changeRepository = changeRepository;
+    this.metadataRepository = metadataRepository;
+    this.catalogVersion = catalogVersion;
+    this.tombstoneRetention = tombstoneRetention;
+  }
+
+  /**
+   * Starts the log at the current catalog version if it has no floor yet, as the changes before
+   * were never logged.
+   */
+  @PostConstruct
+  public void initialize() {
+    if (!metadataRepository.existsById(FLOOR_KEY)) {
+      metadataRepository.save(new Metadata(FLOOR_KEY, String.valueOf(catalogVersion.current())));
+    }
+  }
+
+  /**
+   * Commits a change as the next catalog version and appends it to the log.
+   *
+   * @param event the change event about to be committed
+   */
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+  public void onDogBreedChanging(DogBreedChangedEvent event) {
+    long version = catalogVersion.increment(event);
+    if (event.isReload()) {
+      changeRepository.deleteAllInBatch();
+      metadataRepository.save(new Metadata(FLOOR_KEY, String.valueOf(version)));
+      return;
+    }
+    Instant now = Instant.now();
+    changeRepository.saveAll(
+        event.changes().stream().map(change -> toEntry(change, version, now)).toList());
+  }
+
+  /**
+   * Reads the committed changes after a catalog version.
+   *
+   * <p>Changes committed together are returned together, so a feed may exceed the limit by the
+   * size of its last transaction.
+   *
+   * @param since the catalog version the client is at
+   * @param limit the maximum number of changes, clamped to {@code [1, MAX_FEED_SIZE]}
+   * @return the changes and the version they bring the client to
+   * @throws ChangeLogCompactedException if changes after {@code since} were compacted away
+   */
+  @Transactional(readOnly = true)
+  public ChangeFeed changesSince(long since, int limit) {
+    // Read the head first: entries up to the committed version in memory are all visible
+    return changesSince(since, catalogVersion.current(), limit);
+  }
+
+  /**
+   * Returns the changes after a catalog version, up to a version known to be committed.
+   *
+   * <p>Used to catch up with versions committed by other nodes, which the in-memory head of this
+   * node does not include yet.
+   *
+   * @param since the catalog version the reader is at
+   * @param head a committed catalog version, typically read from the database beforehand
+   * @param limit the maximum number of changes, clamped to {@code [1, MAX_FEED_SIZE]}
+   * @return the changes and the version they bring the reader to
+   * @throws ChangeLogCompactedException if changes after {@code since} were compacted away
+   */
+  @Transactional(readOnly = true)
+  public ChangeFeed changesSince(long since, long head, int limit) {
+    if (!isAvailable(since)) {
+      throw new ChangeLogCompactedException(since);
+    }
+    List<Long> versions =
+        changeRepository.findCatalogVersions(
+            since, head, Limit.of(Math.min(Math.max(limit, 1), MAX_FEED_SIZE)));
+    if (versions.isEmpty()) {
+      return new ChangeFeed(List.of(), Math.max(since, head));
+    }
+    long upTo = versions.get(versions.size() - 1);
+    return new ChangeFeed(changeRepository.findChanges(since, upTo), upTo);
+  }
+
+  /**
+   * Returns whether the changes after a catalog version are still in the log.
+   *
+   * @param since the catalog version the client is at
+   * @return false if changes after {@code since} were compacted away
+   */
+  public boolean isAvailable(long since) {
+    return since >= floor();
+  }
+
+  /**
+   * Returns the version of the last committed catalog change.
+   *
+   * @return the head of the log
+   */
+  public long head() {
+    return catalogVersion.current();
+  }
+
+  /**
+   * Keeps only the latest entry per breed and drops expired tombstones.
+   *
+   * <p>Runs every {@code dogapi.changes.compaction-interval}.
+   */
+  @Scheduled(
+      fixedDelayString = "${dogapi.changes.compaction-interval:PT1H}",
+      initialDelayString = "${dogapi.changes.compaction-interval:PT1H}")
+  @Transactional
+  public void compact() {
+    int superseded = changeRepository.deleteSuperseded();
+    Optional<Long> lastExpired =
+        changeRepository.findLastCatalogVersion(
+            Kind.TOMBSTONE, Instant.now().minus(tombstoneRetention));
+    int tombstones = 0;
+    if (lastExpired.isPresent() && lastExpired.get() > floor()) {
+      tombstones = changeRepository.deleteUpTo(Kind.TOMBSTONE, lastExpired.get());
+      metadataRepository.save(new Metadata(FLOOR_KEY, String.valueOf(lastExpired.get())));
+    }
+    if (superseded > 0 || tombstones > 0) {
+      logger.info(
+          "Compacted change log: {} superseded entries and {} tombstones removed.",
+          superseded,
+          tombstones);
+    }
+  }
+
+  private long floor() {
+    return metadataRepository.findValueByKey(FLOOR_KEY).map(Long::parseLong).orElse(0L);
+  }
+
+  private static DogBreedChange toEntry(Change change, long version, Instant changedAt) {
+    if (change.type() == Type.DELETED) {
+      return new DogBreedChange(null, version, Kind.TOMBSTONE, change.id(), null, null, changedAt);
+    }
+    DogBreed current = change.current();
+    return new DogBreedChange(
+        null,
+        version,
+        Kind.UPSERT,
+        current.getId(),
+        current.getBreed(),
+        current.getSubBreed(),
+        changedAt);
+  }
+}
@@ -0,0 +1,74 @@
+package com.github.vcxxxx.dogapi.service;
+
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Application event published by {@link DogBreedService} whenever dog breeds are written.
+ *
+ * <p>Listeners that keep derived, in-memory state (caches, indexes) should consume it with a
+ * {@code @TransactionalEventListener} so they only observe committed changes.
+ *
+ * @param changes the individual changes, in the order they were applied
+ */
+public record DogBreedChangedEvent(List<Change> changes) {
+
+  /** Kind of change applied to a dog breed. */
+  public enum Type {
+    CREATED,
+    UPDATED,
+    DELETED,
+    /** The catalog was changed in bulk; derived state must be rebuilt from the database. */
+    RELOADED
+  }
+
+  /**
+   * A single change to a dog breed.
+   *
+   * @param type the kind of change
+   * @param id the ID of the changed breed, null for {@link Type#RELOADED}
+   * @param previous the breed before the change, null if created or unknown
+   * @param current the breed after the change, null if deleted
+   */
+  public record Change(Type type, Long id, DogBreed previous, DogBreed current) {}
+
+  public static DogBreedChangedEvent created(DogBreed current) {
+    return new DogBreedChangedEvent(
+        List.of(new Change(Type.CREATED, current.getId(), null, current)));
+  }
+
+  public static DogBreedChangedEvent created(Collection<DogBreed> created) {
+    return new DogBreedChangedEvent(
+        created.stream()
+            .map(breed -> new Change(Type.CREATED, breed.getId(), null, breed))
+            .toList());
+  }
+
+  public static DogBreedChangedEvent updated(DogBreed previous, DogBreed current) {
+    return new DogBreedChangedEvent(
+        List.of(new Change(Type.UPDATED, current.getId(), previous, current)));
+  }
+
+  public static DogBreedChangedEvent deleted(Long id) {
+    return new DogBreedChangedEvent(List.of(new Change(Type.DELETED, id, null, null)));
+  }
+
+  public static DogBreedChangedEvent deleted(Collection<Long> ids) {
+    return new DogBreedChangedEvent(
+        ids.stream().map(id -> new Change(Type.DELETED, id, null, null)).toList());
+  }
+
+  public static DogBreedChangedEvent reloaded() {
+    return new DogBreedChangedEvent(List.of(new Change(Type.RELOADED, null, null, null)));
+  }
+
+  /**
+   * Returns whether this event requires derived state to be rebuilt from scratch.
+   *
+   * @return true if any change is of type {@link Type#RELOADED}
+   */
+  public boolean isReload() {
+    return changes.stream().anyMatch(change -> change.type() == Type.RELOADED);
+  }
+}
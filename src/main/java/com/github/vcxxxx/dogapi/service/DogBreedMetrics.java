@@ -0,0 +1,130 @@
+package com.github.vcxxxx.dogapi.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Records the latency of {@link DogBreedService} calls, per operation and outcome.
+ *
+ * <p>Every call is recorded in the {@value #SERVICE_TIMER} timer, tagged with the {@code operation}
+ * and the {@code outcome} it ended with, and published with a percentile histogram. Calls made in
+ * a transaction are recorded once the transaction completes, so write latencies include the
+ * commit; a successful call whose transaction rolls back is recorded as {@code rolled_back}.
+ */
+@Component
+public class DogBreedMetrics {
+
+  /** Name of the service call timer. */
+  public static final String SERVICE_TIMER = "dogapi.service";
+
+  private static final String OUTCOME_ERROR = "error";
+  private static final String OUTCOME_ROLLED_BACK = "rolled_back";
+
+  private final MeterRegistry registry;
+  private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+  /**
+   * Constructs the metrics.
+   *
+   * @param registry registry the timers are registered in
+   */
+  public DogBreedMetrics(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  /**
+   * Starts timing a service call. The call must be closed, typically with try-with-resources.
+   *
+   * @param operation the service operation, such as {@code create}
+   * @return the running call, recorded as {@code error} unless another outcome is set
+   */
+  public ServiceCall start(String operation) {
+    return new ServiceCall(operation, Timer.start(registry));
+  }
+
+  private Timer timer(String operation, String outcome) {
+    return timers.computeIfAbsent(
+        operation + ':' + outcome,
+        key ->
+            Timer.builder(SERVICE_TIMER)
+                .description("Latency of dog breed service calls")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry));
+  }
+
+  /** A running service call. */
+  public final class ServiceCall implements AutoCloseable {
+
+    private final String operation;
+    private final Timer.Sample sample;
+    private String outcome = OUTCOME_ERROR;
+    private boolean succeeded;
+
+    private ServiceCall(String operation, Timer.Sample sample) {
+      this.operation = operation;
+      this.sample = sample;
+    }
+
+    /**
+     * Marks the call as successful with the given outcome.
+     *
+     * @param outcome the outcome, such as {@code inserted}
+     * @param result the result of the call
+     * @param <T> the result type
+     * @return the given result
+     */
+    public <T> T succeed(String outcome, T result) {
+      this.outcome = outcome;
+      this.succeeded = true;
+      return result;
+    }
+
+    /**
+     * Marks the call as successful with the given outcome.
+     *
+     * @param outcome the outcome, such as {@code existed}
+     */
+    public void succeed(String outcome) {
+      succeed(outcome, null);
+    }
+
+    /**
+     * Marks the call as failed with the given outcome.
+     *
+     * @param outcome the outcome, such as {@code not_found}
+     * @param exception the exception the call fails with
+     * @param <E> the exception type
+     * @return the given exception, to be thrown by the caller
+     */
+    public <E extends RuntimeException> E fail(String outcome, E exception) {
+      this.outcome = outcome;
+      this.succeeded = false;
+      return exception;
+    }
+
+    @Override
+    public void close() {
+      if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+        sample.stop(timer(operation, outcome));
+        return;
+      }
+      String recorded = outcome;
+      boolean success = succeeded;
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+              boolean rolledBack = success && status != STATUS_COMMITTED;
+              sample.stop(timer(operation, rolledBack ? OUTCOME_ROLLED_BACK : recorded));
+            }
+          });
+    }
+  }
+}
@@ -1,28 +1,102 @@
 package com.github.vcxxxx.dogapi.service;
 
+import com.github.vcxxxx.dogapi.cache.DogBreedLookupCache;
+import com.github.vcxxxx.dogapi.cache.DogBreedLookupCache.BreedKey;
+import com.github.vcxxxx.dogapi.catalog.BreedTreeHolder;
+import com.github.vcxxxx.dogapi.catalog.CatalogSnapshot;
+import com.github.vcxxxx.dogapi.catalog.CatalogSnapshotHolder;
+import com.github.vcxxxx.dogapi.dto.BatchItemResult;
+import com.github.vcxxxx.dogapi.dto.DogBreedPage;
 import com.github.vcxxxx.dogapi.exception.DogBreedNotFoundException;
+import com.github.vcxxxx.dogapi.exception.DogBreedVersionMismatchException;
 import com.github.vcxxxx.dogapi.exception.DuplicateDogBreedException;
 import com.github.vcxxxx.dogapi.model.DogBreed;
 import com.github.vcxxxx.dogapi.repository.DogBreedRepository;
-import jakarta.transaction.Transactional;
+import com.github.vcxxxx.dogapi.search.BreedSearchIndex;
+import com.github.vcxxxx.dogapi.search.BreedSearchIndexHolder;
+import com.github.vcxxxx.dogapi.service.DogBreedMetrics.ServiceCall;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Service layer for managing DogBreed entities. Provides methods for CRUD operations and business
  * logic. Throws exceptions when resources are not found.
+ *
+ * <p>Single-breed lookups are served through the {@link DogBreedLookupCache}, or entirely from
+ * memory when the catalog snapshot mode is enabled. The grouped tree and searches are always
+ * served from memory. Every write publishes a {@link DogBreedChangedEvent} so that cached and
+ * derived state is updated once the write has been committed.
+ *
+ * <p>The CRUD methods are timed through {@link DogBreedMetrics}, tagged with their outcome.
  */
 @Service
 public class DogBreedService {
 
+  /**
+   * Upper bound for the page size accepted by {@link #getBreedsPage(Long, int)}, and for the number
+   * of breeds created by one batch request.
+   */
+  public static final int MAX_PAGE_SIZE = 1000;
+
+  /** Upper bound for the number of results returned by {@link #searchBreeds(String, int)}. */
+  public static final int MAX_SEARCH_RESULTS = 100;
+
+  /**
+   * Number of inserts tried by {@link #createBreed(DogBreed)} while the entry keeps vanishing, and
+   * by {@link #createBreeds(List)} while concurrent creators keep conflicting with the batch.
+   */
+  private static final int MAX_CREATE_ATTEMPTS = 3;
+
   private final DogBreedRepository dogBreedRepository;
+  private final EntityManager entityManager;
+  private final DogBreedLookupCache lookupCache;
+  private final CatalogSnapshotHolder catalogSnapshots;
+  private final BreedTreeHolder breedTree;
+  private final BreedSearchIndexHolder searchIndex;
+  private final CatalogVersion catalogVersion;
+  private final ApplicationEventPublisher eventPublisher;
+  private final DogBreedMetrics metrics;
+  private final TransactionTemplate transactionTemplate;
 
   @Autowired
-  public DogBreedService(DogBreedRepository dogBreedRepository) {
+  public DogBreedService(
+      DogBreedRepository dogBreedRepository,
+      EntityManager entityManager,
+      DogBreedLookupCache lookupCache,
+      CatalogSnapshotHolder catalogSnapshots,
+      BreedTreeHolder breedTree,
+      BreedSearchIndexHolder searchIndex,
+      CatalogVersion catalogVersion,
+      ApplicationEventPublisher eventPublisher,
+      DogBreedMetrics metrics,
+      TransactionTemplate transactionTemplate) {
     this.dogBreedRepository = dogBreedRepository;
+    this.entityManager = entityManager;
+    this.lookupCache = lookupCache;
+    this.catalogSnapshots = catalogSnapshots;
+    this.breedTree = breedTree;
+    this.searchIndex = searchIndex;
+    this.catalogVersion = catalogVersion;
+    this.eventPublisher = eventPublisher;
+    this.metrics = metrics;
+    this.transactionTemplate = transactionTemplate;
   }
 
   /**
@@ -31,7 +105,93 @@ public class DogBreedService {
    * @return list of all DogBreed entities
    */
   public List<DogBreed> getAllBreeds() {
-    return dogBreedRepository.findAll();
+    try (ServiceCall call = metrics.start("get_all")) {
+      if (catalogSnapshots.isEnabled()) {
+        return call.succeed("snapshot", catalogSnapshots.get().breeds());
+      }
+      return call.succeed("database", dogBreedRepository.findAll());
+    }
+  }
+
+  /**
+   * Retrieve the current in-memory catalog snapshot, if the snapshot serving mode is enabled.
+   *
+   * @return the current snapshot, or empty if the mode is disabled
+   */
+  public Optional<CatalogSnapshot> getCatalogSnapshot() {
+    return catalogSnapshots.isEnabled() ? Optional.of(catalogSnapshots.get()) : Optional.empty();
+  }
+
+  /**
+   * Retrieve one page of dog breeds using keyset pagination on the ID.
+   *
+   * <p>Only {@code limit + 1} rows are read, regardless of the catalog size, and the extra row is
+   * used to tell whether a next page exists.
+   *
+   * @param after the ID of the last breed of the previous page, or null for the first page
+   * @param limit the requested page size, clamped to {@code [1, MAX_PAGE_SIZE]}
+   * @return the page of breeds and the cursor for the next page
+   */
+  @Transactional(readOnly = true)
+  public DogBreedPage getBreedsPage(Long after, int limit) {
+    int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+    List<DogBreed> rows =
+        dogBreedRepository.findByIdGreaterThanOrderByIdAsc(
+            after == null ? 0L : after, Limit.of(pageSize + 1));
+
+    if (rows.size() <= pageSize) {
+      return new DogBreedPage(rows, null);
+    }
+    List<DogBreed> items = rows.subList(0, pageSize);
+    return new DogBreedPage(items, items.get(pageSize - 1).getId());
+  }
+
+  /**
+   * Streams all dog breeds in ascending ID order to the given consumer.
+   *
+   * <p>Rows are read through a database cursor and detached from the persistence context once
+   * consumed, so memory use stays flat regardless of the catalog size.
+   *
+   * @param consumer callback invoked once per breed, in ID order
+   */
+  @Transactional(readOnly = true)
+  public void streamAllBreeds(Consumer<DogBreed> consumer) {
+    try (Stream<DogBreed> breeds = dogBreedRepository.streamAllOrderedById()) {
+      breeds.forEach(
+          breed -> {
+            consumer.accept(breed);
+            entityManager.detach(breed);
+          });
+    }
+  }
+
+  /**
+   * Retrieve the version of the whole catalog, incremented on every committed write.
+   *
+   * <p>Answered from memory without any database access.
+   *
+   * @return the current catalog version
+   */
+  public long getCatalogVersion() {
+    return catalogVersion.current();
+  }
+
+  /**
+   * Retrieve the version of a single dog breed without loading or hydrating the entity.
+   *
+   * @param id the dog breed ID
+   * @return the current version of the dog breed
+   * @throws DogBreedNotFoundException if not found
+   */
+  public long getBreedVersion(Long id) {
+    if (catalogSnapshots.isEnabled()) {
+      return Optional.ofNullable(catalogSnapshots.get().get(id))
+          .map(DogBreed::getVersion)
+          .orElseThrow(() -> new DogBreedNotFoundException(id));
+    }
+    return dogBreedRepository
+        .findVersionById(id)
+        .orElseThrow(() -> new DogBreedNotFoundException(id));
   }
 
   /**
@@ -42,7 +202,65 @@ public class DogBreedService {
    * @throws DogBreedNotFoundException if not found
    */
   public DogBreed getBreedById(Long id) {
-    return dogBreedRepository.findById(id).orElseThrow(() -> new DogBreedNotFoundException(id));
+    try (ServiceCall call = metrics.start("get_by_id")) {
+      Optional<DogBreed> found =
+          catalogSnapshots.isEnabled()
+              ? Optional.ofNullable(catalogSnapshots.get().get(id))
+              : lookupCache.findById(id, dogBreedRepository::findById);
+      return call.succeed(
+          "found",
+          found.orElseThrow(() -> call.fail("not_found", new DogBreedNotFoundException(id))));
+    }
+  }
+
+  /**
+   * Retrieve all entries of a breed, one per sub-breed.
+   *
+   * @param breed the main breed name
+   * @return list of DogBreed entities with the given breed, empty if none exist
+   */
+  public List<DogBreed> getBreedsByBreed(String breed) {
+    if (catalogSnapshots.isEnabled()) {
+      return catalogSnapshots.get().getByBreed(breed);
+    }
+    return lookupCache.findByBreed(breed, dogBreedRepository::findByBreed);
+  }
+
+  /**
+   * Retrieve the whole catalog grouped as breed to sub-breeds, in the shape of {@code dogs.json}.
+   *
+   * @return the pre-encoded JSON object; shared and must not be modified
+   */
+  public byte[] getBreedTreeJson() {
+    return breedTree.get().json();
+  }
+
+  /**
+   * Retrieve the sub-breeds of a single breed, in the shape of {@code dogs.json}.
+   *
+   * @param breed the main breed name
+   * @return the pre-encoded JSON object with one member; shared and must not be modified
+   * @throws DogBreedNotFoundException if the breed has no entries
+   */
+  public byte[] getBreedTreeJson(String breed) {
+    byte[] json = breedTree.get().json(breed);
+    if (json == null) {
+      throw new DogBreedNotFoundException(breed);
+    }
+    return json;
+  }
+
+  /**
+   * Searches breeds and sub-breeds by prefix, tolerating small typos.
+   *
+   * <p>Served entirely from the in-memory {@link BreedSearchIndex}, without querying the database.
+   *
+   * @param query the search text
+   * @param limit the maximum number of results, clamped to {@code [1, MAX_SEARCH_RESULTS]}
+   * @return the best matching DogBreed entities, best first
+   */
+  public List<DogBreed> searchBreeds(String query, int limit) {
+    return searchIndex.get().search(query, Math.min(Math.max(limit, 1), MAX_SEARCH_RESULTS));
   }
 
   /**
@@ -53,65 +271,266 @@ public class DogBreedService {
    * combination already exists in the database, it returns the existing entry instead of inserting
    * a duplicate.
    *
+   * <p>The entry is inserted without looking it up first, and the unique constraint on the breed
+   * and sub-breed decides between concurrent creators. A rejected insert rolls back its own
+   * transaction and the winning entry is read instead, so this method runs outside of any
+   * caller's transaction.
+   *
    * @param dogBreed the {@code DogBreed} entity to create
    * @return the existing or newly saved {@code DogBreed} entity
    */
-  @Transactional
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
   public DogBreed createBreed(DogBreed dogBreed) {
-    return dogBreedRepository
-        .findByBreedAndSubBreed(dogBreed.getBreed(), dogBreed.getSubBreed())
-        .orElseGet(() -> dogBreedRepository.save(dogBreed));
+    try (ServiceCall call = metrics.start("create")) {
+      for (int attempt = 1; ; attempt++) {
+        try {
+          return transactionTemplate.execute(status -> insertBreed(call, dogBreed));
+        } catch (DataIntegrityViolationException e) {
+          if (!DuplicateDogBreedException.isDuplicate(e)) {
+            throw e;
+          }
+          Optional<DogBreed> existing =
+              dogBreedRepository.findByBreedAndSubBreed(
+                  dogBreed.getBreed(), dogBreed.getSubBreed());
+          if (existing.isPresent()) {
+            return call.succeed("existing", existing.get());
+          }
+          // The conflicting entry was deleted before it could be read
+          if (attempt == MAX_CREATE_ATTEMPTS) {
+            throw e;
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Idempotently creates many {@link DogBreed} entries in one transaction.
+   *
+   * <p>Existing breed and sub-breed combinations are resolved with a single set-based query, and
+   * only the missing ones are inserted, using JDBC batching. Items repeated within the batch are
+   * created once and reported as existing afterwards.
+   *
+   * <p>An entry created concurrently between the query and the insert makes the unique constraint
+   * reject the batch. The transaction is then rolled back and the whole batch is tried again, so
+   * the next query reports that entry as existing. This method therefore runs outside of any
+   * caller's transaction.
+   *
+   * @param dogBreeds the {@code DogBreed} entities to create
+   * @return one result per input entity, in input order, each either created or existing
+   */
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public List<BatchItemResult> createBreeds(List<DogBreed> dogBreeds) {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return transactionTemplate.execute(status -> insertMissing(dogBreeds));
+      } catch (DataIntegrityViolationException e) {
+        // Only concurrent creators are retried; they keep winning for a hot key at worst
+        if (!DuplicateDogBreedException.isDuplicate(e) || attempt == MAX_CREATE_ATTEMPTS) {
+          throw e;
+        }
+      }
+    }
+  }
+
+  private List<BatchItemResult> insertMissing(List<DogBreed> dogBreeds) {
+    Map<BreedKey, DogBreed> known = new HashMap<>();
+    List<String> breedNames = dogBreeds.stream().map(DogBreed::getBreed).distinct().toList();
+    if (!breedNames.isEmpty()) {
+      dogBreedRepository
+          .findByBreedIn(breedNames)
+          .forEach(existing -> known.put(keyOf(existing), existing));
+    }
+
+    List<BatchItemResult> results = new ArrayList<>(dogBreeds.size());
+    List<DogBreed> toInsert = new ArrayList<>();
+    for (int i = 0; i < dogBreeds.size(); i++) {
+      DogBreed candidate = dogBreeds.get(i);
+      // A fresh instance per attempt, as a rejected batch leaves IDs on the ones it persisted
+      DogBreed fresh = new DogBreed(candidate.getBreed(), candidate.getSubBreed());
+      DogBreed existing = known.putIfAbsent(keyOf(candidate), fresh);
+      if (existing != null) {
+        results.add(BatchItemResult.existing(i, existing));
+      } else {
+        toInsert.add(fresh);
+        results.add(BatchItemResult.created(i, fresh));
+      }
+    }
+
+    if (!toInsert.isEmpty()) {
+      // The saved instances are the fresh ones themselves, so the results above see their IDs.
+      // Flushing surfaces a conflicting concurrent insert here, before anything is published.
+      dogBreedRepository.saveAllAndFlush(toInsert);
+      eventPublisher.publishEvent(DogBreedChangedEvent.created(toInsert));
+    }
+    return results;
   }
 
   /**
    * Idempotently updates the breed and sub-breed of an existing {@link DogBreed} by ID.
    *
+   * @param id the ID of the {@code DogBreed} to update
+   * @param updatedDogBreed the new breed and sub-breed values
+   * @return the updated {@code DogBreed} entity
+   * @throws DogBreedNotFoundException if no breed exists with the specified ID
+   * @throws DuplicateDogBreedException if the new breed/sub-breed combination already exists
+   * @see #updateBreed(Long, DogBreed, Long)
+   */
+  @Transactional
+  public DogBreed updateBreed(Long id, DogBreed updatedDogBreed) {
+    return updateBreed(id, updatedDogBreed, null);
+  }
+
+  /**
+   * Idempotently updates the breed and sub-breed of an existing {@link DogBreed} by ID, if it is
+   * still at the expected version.
+   *
    * <p>If the provided values are identical to the current ones, no update is performed and the
-   * existing entity is returned. If another {@code DogBreed} with the same breed and sub-breed
-   * already exists (with a different ID), a {@link DuplicateDogBreedException} is thrown to enforce
-   * uniqueness.
+   * existing entity is returned. Uniqueness is enforced by the database: if another {@code
+   * DogBreed} with the same breed and sub-breed already exists, the rejected write is reported as a
+   * {@link DuplicateDogBreedException}.
+   *
+   * <p>The write is guarded by the entity version, so a concurrent update committed after the
+   * entity was read fails this one with an {@link OptimisticLockingFailureException} instead of
+   * being silently overwritten.
    *
    * @param id the ID of the {@code DogBreed} to update
    * @param updatedDogBreed the new breed and sub-breed values
+   * @param expectedVersion the version the client last read, or null to update any version
    * @return the updated {@code DogBreed} entity
    * @throws DogBreedNotFoundException if no breed exists with the specified ID
+   * @throws DogBreedVersionMismatchException if the breed is no longer at the expected version
    * @throws DuplicateDogBreedException if the new breed/sub-breed combination already exists
+   * @throws OptimisticLockingFailureException if the breed was updated concurrently
    */
   @Transactional
-  public DogBreed updateBreed(Long id, DogBreed updatedDogBreed) {
-    DogBreed existing =
-        dogBreedRepository.findById(id).orElseThrow(() -> new DogBreedNotFoundException(id));
+  public DogBreed updateBreed(Long id, DogBreed updatedDogBreed, Long expectedVersion) {
+    try (ServiceCall call = metrics.start("update")) {
+      return applyUpdate(call, id, updatedDogBreed, expectedVersion);
+    }
+  }
 
-    String newBreed = updatedDogBreed.getBreed();
-    String newSubBreed = updatedDogBreed.getSubBreed();
+  /**
+   * Idempotently deletes a {@link DogBreed} by its ID if it exists.
+   *
+   * <p>If no entity with the given ID exists, the operation is silently ignored to ensure
+   * idempotency. The entry is removed with a single {@code DELETE} statement, without being loaded.
+   *
+   * @param id the ID of the {@code DogBreed} to delete
+   */
+  @Transactional
+  public void deleteBreed(Long id) {
+    try (ServiceCall call = metrics.start("delete")) {
+      applyDelete(call, id);
+    }
+  }
 
-    if (hasNoChange(existing, updatedDogBreed)) {
-      return existing;
+  /**
+   * Idempotently deletes the {@link DogBreed} entries with the given IDs in one transaction.
+   *
+   * <p>IDs without an entry are ignored. The existing IDs are read without loading the entities,
+   * so that only actual deletions are published, and then removed with a single {@code DELETE}
+   * statement.
+   *
+   * @param ids the IDs of the {@code DogBreed} entries to delete
+   * @return the number of deleted entries
+   */
+  @Transactional
+  public int deleteBreeds(Collection<Long> ids) {
+    try (ServiceCall call = metrics.start("delete_batch")) {
+      List<Long> existing = ids.isEmpty() ? List.of() : dogBreedRepository.findIdsByIdIn(ids);
+      if (existing.isEmpty()) {
+        return call.succeed("absent", 0);
+      }
+      int deleted = dogBreedRepository.removeByIdIn(existing);
+      eventPublisher.publishEvent(DogBreedChangedEvent.deleted(existing));
+      return call.succeed("existed", deleted);
     }
+  }
+
+  /**
+   * Inserts a breed in the current transaction, without looking it up first, and publishes its
+   * creation. Shared with the {@link DogBreedWriteQueue}, which applies it within the transaction
+   * of a group of writes.
+   *
+   * @param call the running call, marked as {@code inserted} on success
+   * @param dogBreed the breed and sub-breed to insert
+   * @return the newly saved {@code DogBreed} entity
+   * @throws DataIntegrityViolationException if the entry already exists
+   */
+  DogBreed insertBreed(ServiceCall call, DogBreed dogBreed) {
+    // A fresh instance per attempt, as a rejected insert leaves an ID on the one it persisted
+    DogBreed saved =
+        dogBreedRepository.saveAndFlush(new DogBreed(dogBreed.getBreed(), dogBreed.getSubBreed()));
+    eventPublisher.publishEvent(DogBreedChangedEvent.created(saved));
+    return call.succeed("inserted", saved);
+  }
 
-    Optional<DogBreed> conflict = dogBreedRepository.findByBreedAndSubBreed(newBreed, newSubBreed);
-    if (conflict.isPresent() && !conflict.get().getId().equals(id)) {
-      throw new DuplicateDogBreedException(newBreed, newSubBreed);
+  /**
+   * Applies the update of a breed in the current transaction and publishes it, as described for
+   * {@link #updateBreed(Long, DogBreed, Long)}. Shared with the {@link DogBreedWriteQueue}.
+   *
+   * @param call the running call, marked with the outcome of the update
+   * @param id the ID of the {@code DogBreed} to update
+   * @param updatedDogBreed the new breed and sub-breed values
+   * @param expectedVersion the version the client last read, or null to update any version
+   * @return the updated {@code DogBreed} entity
+   */
+  DogBreed applyUpdate(ServiceCall call, Long id, DogBreed updatedDogBreed, Long expectedVersion) {
+    DogBreed existing =
+        dogBreedRepository
+            .findById(id)
+            .orElseThrow(() -> call.fail("not_found", new DogBreedNotFoundException(id)));
+
+    if (expectedVersion != null && !expectedVersion.equals(existing.getVersion())) {
+      throw call.fail("stale", new DogBreedVersionMismatchException(id));
+    }
+    if (hasNoChange(existing, updatedDogBreed)) {
+      return call.succeed("no_op", existing);
     }
 
-    existing.setBreed(newBreed);
-    existing.setSubBreed(newSubBreed);
+    DogBreed previous =
+        new DogBreed(
+            existing.getId(), existing.getBreed(), existing.getSubBreed(), existing.getVersion());
+    existing.setBreed(updatedDogBreed.getBreed());
+    existing.setSubBreed(updatedDogBreed.getSubBreed());
 
-    return dogBreedRepository.save(existing);
+    DogBreed saved;
+    try {
+      saved = dogBreedRepository.saveAndFlush(existing);
+    } catch (DataIntegrityViolationException e) {
+      if (!DuplicateDogBreedException.isDuplicate(e)) {
+        throw e;
+      }
+      throw call.fail(
+          "conflict",
+          new DuplicateDogBreedException(
+              updatedDogBreed.getBreed(), updatedDogBreed.getSubBreed()));
+    } catch (OptimisticLockingFailureException e) {
+      throw call.fail("stale", e);
+    }
+    eventPublisher.publishEvent(DogBreedChangedEvent.updated(previous, saved));
+    return call.succeed("saved", saved);
   }
 
   /**
-   * Idempotently deletes a {@link DogBreed} by its ID if it exists.
-   *
-   * <p>If no entity with the given ID exists, the operation is silently ignored to ensure
-   * idempotency.
+   * Deletes a breed in the current transaction with a single {@code DELETE} statement, and
+   * publishes the deletion if it existed. Shared with the {@link DogBreedWriteQueue}.
    *
+   * @param call the running call, marked as {@code existed} or {@code absent}
    * @param id the ID of the {@code DogBreed} to delete
    */
-  public void deleteBreed(Long id) {
-    if (dogBreedRepository.existsById(id)) {
-      dogBreedRepository.deleteById(id);
+  void applyDelete(ServiceCall call, Long id) {
+    if (dogBreedRepository.removeById(id) == 0) {
+      call.succeed("absent");
+      return;
     }
+    eventPublisher.publishEvent(DogBreedChangedEvent.deleted(id));
+    call.succeed("existed");
+  }
+
+  private static BreedKey keyOf(DogBreed dogBreed) {
+    return new BreedKey(dogBreed.getBreed(), dogBreed.getSubBreed());
   }
 
   private boolean hasNoChange(DogBreed existing, DogBreed updated) {
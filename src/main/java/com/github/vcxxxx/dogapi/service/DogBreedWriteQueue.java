@@ -0,0 +1,312 @@
+package com.github.vcxxxx.dogapi.service;
+
+import com.github.vcxxxx.dogapi.exception.DogBreedNotFoundException;
+import com.github.vcxxxx.dogapi.exception.DogBreedVersionMismatchException;
+import com.github.vcxxxx.dogapi.exception.ServiceOverloadedException;
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import com.github.vcxxxx.dogapi.service.DogBreedMetrics.ServiceCall;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Queues single-breed writes and commits them in groups, one transaction per group.
+ *
+ * <p>Every commit of a file database waits for the log to reach the disk, which limits a burst of
+ * small writes to one commit per disk flush. Here a single writer thread takes the queued creates,
+ * updates and deletes, up to {@code dogapi.write-queue.max-batch-size} at a time or whatever
+ * arrived within {@code dogapi.write-queue.max-delay} of the first, applies them in order in one
+ * transaction and completes the future of each with its own result or exception. The writes keep
+ * their semantics: each is published as its own {@link DogBreedChangedEvent} and committed as its
+ * own catalog version.
+ *
+ * <p>Each write is applied by the same code as the corresponding {@link DogBreedService} method,
+ * within the transaction of its group; the queue itself only groups the writes and acknowledges
+ * their callers. Outcomes decided by reading, such as a missing breed or a stale version, fail
+ * only their own write. If the database rejects a write, for example because its breed already
+ * exists, the group is rolled back and each write is retried on its own through {@link
+ * DogBreedService}.
+ *
+ * <p>With {@code dogapi.write-queue.ack=commit}, callers are expected to wait for their future,
+ * and a write is durable once it completes. With {@code ack=enqueue}, callers are acknowledged as
+ * soon as the write is queued; writes still queued when the process dies are lost, and failures
+ * are only logged.
+ */
+@Service
+@ConditionalOnProperty(name = "dogapi.write-queue.enabled", havingValue = "true")
+public class DogBreedWriteQueue {
+
+  private static final Logger logger = LoggerFactory.getLogger(DogBreedWriteQueue.class);
+
+  /** How long the writer waits for a write before checking whether it should stop. */
+  private static final long IDLE_POLL_MILLIS = 100;
+
+  /** When callers are acknowledged. */
+  public enum Ack {
+    /** Once the write has been committed, with its result. */
+    COMMIT,
+    /** Once the write has been queued, before it is committed. */
+    ENQUEUE
+  }
+
+  private final DogBreedService dogBreedService;
+  private final DogBreedMetrics metrics;
+  private final TransactionTemplate transactionTemplate;
+  private final Ack ack;
+  private final int maxBatchSize;
+  private final long maxDelayNanos;
+  private final Duration retryAfter;
+  private final BlockingQueue<Write<?>> queue;
+  private final ExecutorService writer;
+  private volatile boolean closed;
+
+  /**
+   * Constructs the queue and starts its writer thread.
+   *
+   * @param dogBreedService service the writes are applied with
+   * @param metrics metrics the writes are timed with
+   * @param transactionTemplate template the groups are committed with
+   * @param ack when callers are acknowledged
+   * @param capacity the maximum number of queued writes
+   * @param maxBatchSize the maximum number of writes committed together
+   * @param maxDelay how long the writer waits for more writes after the first of a group
+   * @param retryAfter the delay suggested to callers rejected because the queue is full
+   */
+  public DogBreedWriteQueue(
+      DogBreedService dogBreedService,
+      DogBreedMetrics metrics,
+      TransactionTemplate transactionTemplate,
+      @Value("${dogapi.write-queue.ack:commit}") Ack ack,
+      @Value("${dogapi.write-queue.capacity:10000}") int capacity,
+      @Value("${dogapi.write-queue.max-batch-size:100}") int maxBatchSize,
+      @Value("${dogapi.write-queue.max-delay:PT0.005S}") Duration maxDelay,
+      @Value("${dogapi.write-queue.retry-after:PT1S}") Duration retryAfter) {
+    this.dogBreedService = dogBreedService;
+    this.metrics = metrics;
+    this.transactionTemplate = transactionTemplate;
+    this.ack = ack;
+    this.maxBatchSize = maxBatchSize;
+    this.maxDelayNanos = maxDelay.toNanos();
+    this.retryAfter = retryAfter;
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("dog-breed-writer-");
+    threadFactory.setDaemon(true);
+    this.writer = Executors.newSingleThreadExecutor(threadFactory);
+    this.writer.execute(this::run);
+  }
+
+  /**
+   * Returns when callers are acknowledged.
+   *
+   * @return the configured acknowledgement mode
+   */
+  public Ack ack() {
+    return ack;
+  }
+
+  /**
+   * Queues the idempotent creation of a breed.
+   *
+   * @param dogBreed the breed and sub-breed to create
+   * @return the existing or newly created entry, once committed
+   * @throws ServiceOverloadedException if the queue is full
+   * @see DogBreedService#createBreed(DogBreed)
+   */
+  public CompletableFuture<DogBreed> createBreed(DogBreed dogBreed) {
+    return submit(
+        "create",
+        call -> dogBreedService.insertBreed(call, dogBreed),
+        () -> dogBreedService.createBreed(dogBreed));
+  }
+
+  /**
+   * Queues the update of a breed.
+   *
+   * @param id the ID of the breed to update
+   * @param updatedDogBreed the new breed and sub-breed values
+   * @param expectedVersion the version the client last read, or null to update any version
+   * @return the updated entry once committed, or the failure of the update
+   * @throws ServiceOverloadedException if the queue is full
+   * @see DogBreedService#updateBreed(Long, DogBreed, Long)
+   */
+  public CompletableFuture<DogBreed> updateBreed(
+      Long id, DogBreed updatedDogBreed, Long expectedVersion) {
+    return submit(
+        "update",
+        call -> dogBreedService.applyUpdate(call, id, updatedDogBreed, expectedVersion),
+        () -> dogBreedService.updateBreed(id, updatedDogBreed, expectedVersion));
+  }
+
+  /**
+   * Queues the idempotent deletion of a breed.
+   *
+   * @param id the ID of the breed to delete
+   * @return a future completed once the deletion is committed
+   * @throws ServiceOverloadedException if the queue is full
+   * @see DogBreedService#deleteBreed(Long)
+   */
+  public CompletableFuture<Void> deleteBreed(Long id) {
+    return submit(
+        "delete",
+        call -> {
+          dogBreedService.applyDelete(call, id);
+          return null;
+        },
+        () -> {
+          dogBreedService.deleteBreed(id);
+          return null;
+        });
+  }
+
+  /**
+   * Returns the number of writes waiting to be committed.
+   *
+   * @return the queue length
+   */
+  public int pending() {
+    return queue.size();
+  }
+
+  /** Stops accepting writes and commits those already queued. */
+  @PreDestroy
+  public void shutdown() {
+    closed = true;
+    writer.shutdown();
+    try {
+      if (writer.awaitTermination(30, TimeUnit.SECONDS)) {
+        return;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    logger.warn("Stopped with {} breed writes still queued.", queue.size());
+    writer.shutdownNow();
+  }
+
+  private <T> CompletableFuture<T> submit(
+      String operation, GroupedWrite<T> grouped, Supplier<T> alone) {
+    Write<T> write = new Write<>(operation, grouped, alone, new CompletableFuture<>());
+    if (closed || !queue.offer(write)) {
+      throw new ServiceOverloadedException(retryAfter);
+    }
+    if (ack == Ack.ENQUEUE) {
+      write.future.whenComplete(
+          (result, failure) -> {
+            if (failure != null) {
+              logger.warn("Acknowledged breed {} failed.", operation, failure);
+            }
+          });
+    }
+    return write.future;
+  }
+
+  private void run() {
+    List<Write<?>> group = new ArrayList<>(maxBatchSize);
+    while (!closed || !queue.isEmpty()) {
+      try {
+        Write<?> first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        group.add(first);
+        long deadline = System.nanoTime() + maxDelayNanos;
+        while (group.size() < maxBatchSize) {
+          queue.drainTo(group, maxBatchSize - group.size());
+          long remaining = deadline - System.nanoTime();
+          if (group.size() == maxBatchSize || remaining <= 0) {
+            break;
+          }
+          Write<?> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+          if (next == null) {
+            break;
+          }
+          group.add(next);
+        }
+        commit(group);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        queue.drainTo(group);
+        group.forEach(write -> write.future.cancel(false));
+        return;
+      } catch (RuntimeException e) {
+        logger.error("Failed to commit a group of breed writes.", e);
+        group.forEach(write -> write.future.completeExceptionally(e));
+      } finally {
+        group.clear();
+      }
+    }
+  }
+
+  /**
+   * Applies a group of writes in one transaction and completes their futures once it committed,
+   * or retries each write on its own if it rolled back.
+   */
+  private void commit(List<Write<?>> group) {
+    List<Runnable> completions = new ArrayList<>(group.size());
+    try (ServiceCall call = metrics.start("write_group")) {
+      try {
+        transactionTemplate.executeWithoutResult(
+            status -> group.forEach(write -> completions.add(write.applyGrouped(metrics))));
+        completions.forEach(Runnable::run);
+        call.succeed("committed");
+      } catch (RuntimeException e) {
+        logger.debug("Group of {} breed writes rolled back, retrying one by one.", group.size(), e);
+        group.forEach(Write::applyAlone);
+        call.succeed("retried_alone");
+      }
+    }
+  }
+
+  /** A write applied within the transaction of its group. */
+  @FunctionalInterface
+  private interface GroupedWrite<T> {
+
+    T apply(ServiceCall call);
+  }
+
+  /** A queued write and the future of its caller. */
+  private record Write<T>(
+      String operation,
+      GroupedWrite<T> grouped,
+      Supplier<T> alone,
+      CompletableFuture<T> future) {
+
+    /**
+     * Applies the write in the current transaction. Failures decided by reading fail only this
+     * write; any other exception rolls back the group.
+     *
+     * @return the completion of the future, to run once the group has committed
+     */
+    Runnable applyGrouped(DogBreedMetrics metrics) {
+      try (ServiceCall call = metrics.start(operation)) {
+        T result = grouped.apply(call);
+        return () -> future.complete(result);
+      } catch (DogBreedNotFoundException | DogBreedVersionMismatchException e) {
+        return () -> future.completeExceptionally(e);
+      }
+    }
+
+    void applyAlone() {
+      try {
+        future.complete(alone.get());
+      } catch (RuntimeException e) {
+        future.completeExceptionally(e);
+      }
+    }
+  }
+}
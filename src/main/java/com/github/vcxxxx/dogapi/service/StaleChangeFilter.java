@@ -0,0 +1,74 @@
+package com.github.vcxxxx.dogapi.service;
+
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import com.github.vcxxxx.dogapi.service.DogBreedChangedEvent.Change;
+import com.github.vcxxxx.dogapi.service.DogBreedChangedEvent.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Drops committed changes that reach a listener after a newer change of the same breed.
+ *
+ * <p>After-commit listeners run on the thread of each writer, so the changes of two concurrent
+ * writes of one breed can be applied in the opposite order of their commits. The filter remembers
+ * the entity version last applied per breed and the IDs of deleted breeds: an upsert is passed on
+ * only if its version is newer than the one applied, and never for a deleted breed, as IDs are not
+ * reused.
+ *
+ * <p>Deleted IDs are remembered until a {@link #reset} finds them in the database again, so they
+ * take memory in proportion to the breeds deleted since. Not thread-safe; holders use it under the
+ * lock they apply changes with.
+ */
+public final class StaleChangeFilter {
+
+  private final Map<Long, Long> versions = new HashMap<>();
+  private final Set<Long> deletedIds = new HashSet<>();
+
+  /**
+   * Starts over from the catalog as read from the database.
+   *
+   * @param breeds all breeds in the catalog
+   */
+  public void reset(Collection<DogBreed> breeds) {
+    versions.clear();
+    for (DogBreed breed : breeds) {
+      versions.put(breed.getId(), versionOf(breed));
+      deletedIds.remove(breed.getId());
+    }
+  }
+
+  /**
+   * Returns the changes that are newer than the ones already applied, and records them as applied.
+   *
+   * @param changes the changes of a committed event, without {@link Type#RELOADED} changes
+   * @return the changes to apply, in their original order
+   */
+  public List<Change> accept(List<Change> changes) {
+    List<Change> accepted = new ArrayList<>(changes.size());
+    for (Change change : changes) {
+      if (change.type() == Type.DELETED) {
+        versions.remove(change.id());
+        if (deletedIds.add(change.id())) {
+          accepted.add(change);
+        }
+      } else if (!deletedIds.contains(change.id())) {
+        long version = versionOf(change.current());
+        Long applied = versions.get(change.id());
+        if (applied == null || version > applied) {
+          versions.put(change.id(), version);
+          accepted.add(change);
+        }
+      }
+    }
+    return accepted;
+  }
+
+  private static long versionOf(DogBreed breed) {
+    return breed.getVersion() == null ? 0 : breed.getVersion();
+  }
+}
@@ -0,0 +1,45 @@
+-- Schema of the breed catalog, as mapped by the entities in com.github.vcxxxx.dogapi.model.
+-- Run on every start by the prod profile, which only validates the mapping against it; every
+-- statement is a no-op on a database that already has the schema. Keep in sync with the entities.
+
+create sequence if not exists dog_breeds_seq start with 1 increment by 50;
+
+create sequence if not exists dog_breed_changes_seq start with 1 increment by 50;
+
+create table if not exists dog_breeds (
+    id bigint not null,
+    version bigint default 0 not null,
+    breed varchar(255) not null,
+    sub_breed varchar(255),
+    sub_breed_key varchar(255) generated always as (coalesce(sub_breed, '')),
+    primary key (id),
+    constraint uk_dog_breeds_breed_sub_breed unique (breed, sub_breed_key)
+);
+
+create table if not exists dog_breed_changes (
+    seq bigint not null,
+    catalog_version bigint not null,
+    kind enum ('TOMBSTONE', 'UPSERT') not null,
+    breed_id bigint not null,
+    breed varchar(255),
+    sub_breed varchar(255),
+    changed_at timestamp(6) with time zone not null,
+    primary key (seq)
+);
+
+create index if not exists idx_dog_breed_changes_version on dog_breed_changes (catalog_version);
+
+create index if not exists idx_dog_breed_changes_breed_id on dog_breed_changes (breed_id);
+
+create table if not exists seed_breeds (
+    breed_id bigint not null,
+    breed varchar(255) not null,
+    sub_breed varchar(255),
+    primary key (breed_id)
+);
+
+create table if not exists metadata (
+    meta_key varchar(255) not null,
+    meta_value varchar(255),
+    primary key (meta_key)
+);
@@ -0,0 +1,106 @@
+package com.github.vcxxxx.dogapi.reactive;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/** Runs the reactive read API against the seeded catalog. */
+@SpringBootTest(
+    webEnvironment = WebEnvironment.RANDOM_PORT,
+    properties = "spring.datasource.url=jdbc:h2:mem:reactive;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("reactive")
+@AutoConfigureWebTestClient
+class ReactiveDogBreedHandlerTest {
+
+  @Autowired private WebTestClient webTestClient;
+
+  @Test
+  void getAllBreeds_ServesCatalogAndHonorsIfNoneMatch() {
+    String etag =
+        webTestClient
+            .get()
+            .uri("/api/dogbreeds")
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBodyList(DogBreed.class)
+            .value(breeds -> assertFalse(breeds.isEmpty()))
+            .returnResult()
+            .getResponseHeaders()
+            .getETag();
+
+    webTestClient
+        .get()
+        .uri("/api/dogbreeds")
+        .header(HttpHeaders.IF_NONE_MATCH, etag)
+        .exchange()
+        .expectStatus()
+        .isNotModified();
+  }
+
+  @Test
+  void getAllBreeds_Ndjson_StreamsOneBreedPerLine() {
+    webTestClient
+        .get()
+        .uri("/api/dogbreeds?breed=bulldog")
+        .accept(MediaType.APPLICATION_NDJSON)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectHeader()
+        .contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+        .expectBodyList(DogBreed.class)
+        .value(
+            breeds ->
+                assertTrue(breeds.stream().allMatch(breed -> breed.getBreed().equals("bulldog"))));
+  }
+
+  @Test
+  void getBreedById_ServesBreedWithEtagAndMapsMissingTo404() {
+    DogBreed breed =
+        webTestClient
+            .get()
+            .uri("/api/dogbreeds")
+            .exchange()
+            .expectBodyList(DogBreed.class)
+            .returnResult()
+            .getResponseBody()
+            .get(0);
+
+    String etag =
+        webTestClient
+            .get()
+            .uri("/api/dogbreeds/{id}", breed.getId())
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(DogBreed.class)
+            .isEqualTo(breed)
+            .returnResult()
+            .getResponseHeaders()
+            .getETag();
+    webTestClient
+        .get()
+        .uri("/api/dogbreeds/{id}", breed.getId())
+        .header(HttpHeaders.IF_NONE_MATCH, etag)
+        .exchange()
+        .expectStatus()
+        .isNotModified();
+
+    webTestClient
+        .get()
+        .uri("/api/dogbreeds/{id}", Long.MAX_VALUE)
+        .exchange()
+        .expectStatus()
+        .isNotFound();
+  }
+}
@@ -0,0 +1,74 @@
+package com.github.vcxxxx.dogapi.reactive;
+
+import com.github.vcxxxx.dogapi.exception.DogBreedNotFoundException;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * Reactive read API, active with the {@code reactive} Spring profile on a build made with the
+ * {@code reactive} Maven profile.
+ *
+ * <p>Serves {@code GET /api/dogbreeds} and {@code GET /api/dogbreeds/{id}} on Netty event loops
+ * from R2DBC, so slow clients hold no threads. Writes and the other endpoints are only served by
+ * the servlet API, which is not started in this mode.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("reactive")
+public class ReactiveConfiguration {
+
+  /**
+   * Routes the read endpoints to the reactive handler.
+   *
+   * @param handler the reactive handler
+   * @return the router function
+   */
+  @Bean
+  RouterFunction<ServerResponse> dogBreedRoutes(ReactiveDogBreedHandler handler) {
+    return RouterFunctions.route()
+        .path(
+            "/api/dogbreeds",
+            builder ->
+                builder
+                    .GET("", handler::getAllBreeds)
+                    .GET("/{id}", handler::getBreedById))
+        .onError(DogBreedNotFoundException.class, handler::handleNotFound)
+        .build();
+  }
+
+  /**
+   * Applies the same CORS policy as the servlet controller.
+   *
+   * @return the CORS filter
+   */
+  @Bean
+  CorsWebFilter dogBreedCorsFilter() {
+    CorsConfiguration cors = new CorsConfiguration();
+    cors.addAllowedOrigin("http://localhost:3000");
+    cors.addAllowedOrigin("https://dog-api-frontend.vercel.app");
+    cors.addAllowedMethod("GET");
+    cors.addAllowedHeader(CorsConfiguration.ALL);
+    cors.addExposedHeader("ETag");
+    UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+    source.registerCorsConfiguration("/api/dogbreeds/**", cors);
+    return new CorsWebFilter(source);
+  }
+
+  /**
+   * Runs the reactive stack on Netty; Tomcat is still on the classpath for the servlet API and
+   * would otherwise be picked.
+   *
+   * @return the Netty server factory
+   */
+  @Bean
+  NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+    return new NettyReactiveWebServerFactory();
+  }
+}
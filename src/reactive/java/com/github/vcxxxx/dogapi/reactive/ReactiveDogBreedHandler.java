@@ -0,0 +1,134 @@
+package com.github.vcxxxx.dogapi.reactive;
+
+import com.github.vcxxxx.dogapi.dto.BreedNames;
+import com.github.vcxxxx.dogapi.exception.DogBreedNotFoundException;
+import com.github.vcxxxx.dogapi.exception.GlobalExceptionHandler;
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import com.github.vcxxxx.dogapi.service.DogBreedService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive handlers for the read endpoints of {@code /api/dogbreeds}.
+ *
+ * <p>Responses carry the same ETags as the servlet API, and errors are mapped by the {@link
+ * GlobalExceptionHandler}, so clients see the same status codes and bodies on both stacks.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveDogBreedHandler {
+
+  private final ReactiveDogBreedRepository repository;
+  private final DogBreedService dogBreedService;
+  private final GlobalExceptionHandler exceptionHandler;
+
+  /**
+   * Constructs the handler.
+   *
+   * @param repository the reactive repository serving the reads
+   * @param dogBreedService service providing the in-memory catalog version
+   * @param exceptionHandler handler mapping exceptions to error responses
+   */
+  public ReactiveDogBreedHandler(
+      ReactiveDogBreedRepository repository,
+      DogBreedService dogBreedService,
+      GlobalExceptionHandler exceptionHandler) {
+    this.repository = repository;
+    this.dogBreedService = dogBreedService;
+    this.exceptionHandler = exceptionHandler;
+  }
+
+  /**
+   * Streams all dog breeds, or the entries of the breed given by the {@code breed} parameter.
+   *
+   * <p>The body is written as a JSON array, or as NDJSON when requested with {@code Accept:
+   * application/x-ndjson}, while rows are read from the database, at the pace the client reads.
+   *
+   * @param request the current request
+   * @return the streaming response
+   */
+  public Mono<ServerResponse> getAllBreeds(ServerRequest request) {
+    String etag = "\"catalog-" + dogBreedService.getCatalogVersion() + "\"";
+    return request
+        .checkNotModified(etag)
+        .switchIfEmpty(
+            Mono.defer(
+                () -> {
+                  Flux<DogBreed> breeds =
+                      request
+                          .queryParam("breed")
+                          .map(breed -> repository.findByBreed(BreedNames.normalize(breed)))
+                          .orElseGet(repository::findAll);
+                  boolean ndjson =
+                      request.headers().accept().stream()
+                          .anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype);
+                  return ServerResponse.ok()
+                      .eTag(etag)
+                      .cacheControl(CacheControl.noCache())
+                      .contentType(
+                          ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                      .body(breeds, DogBreed.class);
+                }));
+  }
+
+  /**
+   * Retrieves a specific dog breed by its ID.
+   *
+   * @param request the current request
+   * @return the response with the dog breed, or 404 if not found
+   */
+  public Mono<ServerResponse> getBreedById(ServerRequest request) {
+    long id = parseId(request.pathVariable("id"));
+    return repository
+        .findById(id)
+        .switchIfEmpty(Mono.error(() -> new DogBreedNotFoundException(id)))
+        .flatMap(
+            breed -> {
+              String etag = "\"" + breed.getId() + "-" + breed.getVersion() + "\"";
+              return request
+                  .checkNotModified(etag)
+                  .switchIfEmpty(
+                      Mono.defer(
+                          () ->
+                              ServerResponse.ok()
+                                  .eTag(etag)
+                                  .cacheControl(CacheControl.noCache())
+                                  .bodyValue(breed)));
+            });
+  }
+
+  /**
+   * Maps a {@link DogBreedNotFoundException} like the servlet API does.
+   *
+   * @param ex the exception
+   * @param request the current request
+   * @return the 404 response
+   */
+  public Mono<ServerResponse> handleNotFound(
+      DogBreedNotFoundException ex, ServerRequest request) {
+    return toServerResponse(exceptionHandler.handleNotFound(ex));
+  }
+
+  private static long parseId(String id) {
+    try {
+      return Long.parseLong(id);
+    } catch (NumberFormatException e) {
+      throw new ServerWebInputException("Invalid dog breed ID: " + id);
+    }
+  }
+
+  private static Mono<ServerResponse> toServerResponse(ResponseEntity<?> entity) {
+    ServerResponse.BodyBuilder builder =
+        ServerResponse.status(entity.getStatusCode())
+            .headers(headers -> headers.addAll(entity.getHeaders()));
+    return entity.hasBody() ? builder.bodyValue(entity.getBody()) : builder.build();
+  }
+}
@@ -0,0 +1,116 @@
+package com.github.vcxxxx.dogapi.reactive;
+
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import io.r2dbc.h2.H2ConnectionConfiguration;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking read access to the {@code dog_breeds} table over R2DBC.
+ *
+ * <p>Connects to the same H2 database as the JPA repositories, derived from {@code
+ * spring.datasource.url}, through a pool of its own. The pool is deliberately not exposed as a
+ * {@code ConnectionFactory} bean, which would make Spring Boot back off from creating the JDBC
+ * data source that writes and the seed load still use.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveDogBreedRepository implements DisposableBean {
+
+  private static final String JDBC_H2_PREFIX = "jdbc:h2:";
+  private static final String SELECT_BREEDS =
+      "select id, breed, sub_breed, version from dog_breeds";
+
+  private final ConnectionPool connectionPool;
+  private final DatabaseClient databaseClient;
+
+  /**
+   * Constructs the repository and its connection pool.
+   *
+   * @param url the JDBC URL of the H2 database
+   * @param username the database user
+   * @param password the database password
+   * @param poolSize the maximum number of R2DBC connections
+   */
+  public ReactiveDogBreedRepository(
+      @Value("${spring.datasource.url}") String url,
+      @Value("${spring.datasource.username:sa}") String username,
+      @Value("${spring.datasource.password:}") String password,
+      @Value("${dogapi.reactive.pool-size:10}") int poolSize) {
+    if (!url.startsWith(JDBC_H2_PREFIX)) {
+      throw new IllegalStateException("The reactive read API requires an H2 database: " + url);
+    }
+    H2ConnectionConfiguration configuration =
+        H2ConnectionConfiguration.builder()
+            .url(url.substring(JDBC_H2_PREFIX.length()))
+            .username(username)
+            .password(password)
+            .build();
+    this.connectionPool =
+        new ConnectionPool(
+            ConnectionPoolConfiguration.builder(new H2ConnectionFactory(configuration))
+                .maxSize(poolSize)
+                .build());
+    this.databaseClient = DatabaseClient.create(connectionPool);
+  }
+
+  /**
+   * Streams all dog breeds in ascending ID order. Rows are fetched as the subscriber requests
+   * them.
+   *
+   * @return the dog breeds
+   */
+  public Flux<DogBreed> findAll() {
+    return databaseClient.sql(SELECT_BREEDS + " order by id").map(this::toDogBreed).all();
+  }
+
+  /**
+   * Streams the entries of a breed in ascending ID order.
+   *
+   * @param breed the main breed name
+   * @return the dog breeds with the given breed
+   */
+  public Flux<DogBreed> findByBreed(String breed) {
+    return databaseClient
+        .sql(SELECT_BREEDS + " where breed = :breed order by id")
+        .bind("breed", breed)
+        .map(this::toDogBreed)
+        .all();
+  }
+
+  /**
+   * Finds a dog breed by its ID.
+   *
+   * @param id the dog breed ID
+   * @return the dog breed, or empty if not found
+   */
+  public Mono<DogBreed> findById(long id) {
+    return databaseClient
+        .sql(SELECT_BREEDS + " where id = :id")
+        .bind("id", id)
+        .map(this::toDogBreed)
+        .one();
+  }
+
+  @Override
+  public void destroy() {
+    connectionPool.dispose();
+  }
+
+  private DogBreed toDogBreed(Readable row) {
+    return new DogBreed(
+        row.get(0, Long.class),
+        row.get(1, String.class),
+        row.get(2, String.class),
+        row.get(3, Long.class));
+  }
+}
@@ -0,0 +1,182 @@
+package com.github.vcxxxx.dogapi.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.vcxxxx.dogapi.cache.BoundedCache.CacheStats;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BoundedCacheTest {
+
+  private MutableClock clock;
+  private BoundedCache<String, String> cache;
+  private AtomicInteger loads;
+
+  @BeforeEach
+  void setUp() {
+    clock = new MutableClock();
+    cache = new BoundedCache<>(2, Duration.ofSeconds(10), clock);
+    loads = new AtomicInteger();
+  }
+
+  @Test
+  void get_SecondLookup_IsServedFromCache() {
+    cache.get("a", this::load);
+    String result = cache.get("a", this::load);
+
+    assertEquals("A", result);
+    assertEquals(1, loads.get());
+    assertEquals(new CacheStats(1, 1, 0, 1), cache.stats());
+  }
+
+  @Test
+  void get_AfterTtl_ReloadsValue() {
+    cache.get("a", this::load);
+    clock.advance(Duration.ofSeconds(11));
+
+    cache.get("a", this::load);
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void get_BeyondMaximumSize_EvictsOldestEntry() {
+    cache.get("a", this::load);
+    cache.get("b", this::load);
+    cache.get("c", this::load);
+
+    assertEquals(2, cache.size());
+    assertEquals(1, cache.stats().evictions());
+
+    cache.get("a", this::load);
+    assertEquals(4, loads.get());
+  }
+
+  @Test
+  void invalidate_RemovesEntry() {
+    cache.get("a", this::load);
+
+    cache.invalidate("a");
+    cache.get("a", this::load);
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void get_InvalidatedWhileLoading_DoesNotStoreLoadedValue() {
+    String result =
+        cache.get(
+            "a",
+            key -> {
+              cache.invalidate(key);
+              return "stale";
+            });
+
+    assertEquals("stale", result);
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void get_InvalidatedBeforeLoadedValueIsStored_DoesNotStoreLoadedValue() throws Exception {
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch invalidated = new CountDownLatch(1);
+    CompletableFuture<String> load =
+        CompletableFuture.supplyAsync(
+            () ->
+                cache.get(
+                    "a",
+                    key -> {
+                      loading.countDown();
+                      await(invalidated);
+                      return "stale";
+                    }));
+
+    assertTrue(loading.await(5, TimeUnit.SECONDS));
+    cache.invalidate("a");
+    invalidated.countDown();
+
+    assertEquals("stale", load.get(5, TimeUnit.SECONDS));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void get_ConcurrentWritesAndInvalidations_NeverKeepsOverwrittenValue() throws Exception {
+    BoundedCache<String, Integer> versions = new BoundedCache<>(2, Duration.ofHours(1), clock);
+    AtomicReference<Integer> source = new AtomicReference<>(0);
+    CompletableFuture<?>[] readers = new CompletableFuture<?>[4];
+    for (int i = 0; i < readers.length; i++) {
+      readers[i] =
+          CompletableFuture.runAsync(
+              () -> {
+                for (int read = 0; read < 20_000; read++) {
+                  versions.get("a", key -> source.get());
+                }
+              });
+    }
+    for (int version = 1; version <= 2_000; version++) {
+      source.set(version);
+      versions.invalidate("a");
+    }
+    CompletableFuture.allOf(readers).get(30, TimeUnit.SECONDS);
+
+    assertEquals(2_000, versions.get("a", key -> -1));
+  }
+
+  @Test
+  void invalidateIf_RemovesMatchingValues() {
+    cache.get("a", this::load);
+    cache.get("b", this::load);
+
+    cache.invalidateIf("A"::equals);
+
+    assertEquals(1, cache.size());
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      assertTrue(latch.await(5, TimeUnit.SECONDS));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private String load(String key) {
+    loads.incrementAndGet();
+    return key.toUpperCase();
+  }
+
+  private static class MutableClock extends Clock {
+
+    private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
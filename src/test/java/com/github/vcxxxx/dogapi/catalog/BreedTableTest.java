@@ -0,0 +1,60 @@
+package com.github.vcxxxx.dogapi.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class BreedTableTest {
+
+  private final BreedTable table =
+      BreedTable.of(
+          List.of(
+              new DogBreed(5L, "hound", "afghan", 2L),
+              new DogBreed(1L, "bulldog", "boston", 0L),
+              new DogBreed(3L, "bulldog", null, null)));
+
+  @Test
+  void of_SortsRowsByIdAndStoresEachNameOnce() {
+    assertEquals(List.of(1L, 3L, 5L), table.rows().stream().map(DogBreed::getId).toList());
+    assertEquals(4, table.nameCount());
+    assertEquals(new DogBreed(5L, "hound", "afghan", 2L), table.get(5L));
+    assertEquals(new DogBreed(3L, "bulldog", null, null), table.get(3L));
+    assertNull(table.get(4L));
+  }
+
+  @Test
+  void get_ReturnsFreshEntities() {
+    DogBreed first = table.get(1L);
+    first.setSubBreed("french");
+
+    assertEquals("boston", table.get(1L).getSubBreed());
+    assertNotSame(table.rows().get(0), table.rows().get(0));
+  }
+
+  @Test
+  void getByBreed_ReturnsEntriesInIdOrder() {
+    List<DogBreed> bulldogs = table.getByBreed("bulldog");
+
+    assertEquals(List.of(1L, 3L), bulldogs.stream().map(DogBreed::getId).toList());
+    assertEquals(List.of(), table.getByBreed("afghan"));
+    assertEquals(List.of(), table.getByBreed("collie"));
+  }
+
+  @Test
+  void with_ReplacesAddsAndRemovesRowsWithoutChangingThisTable() {
+    BreedTable next =
+        table.with(
+            List.of(new DogBreed(1L, "bulldog", "french", 1L), new DogBreed(2L, "collie", null)),
+            List.of(5L));
+
+    assertEquals(List.of(1L, 2L, 3L), next.rows().stream().map(DogBreed::getId).toList());
+    assertEquals("french", next.get(1L).getSubBreed());
+    assertEquals(1L, next.get(1L).getVersion());
+    assertEquals(1, next.getByBreed("collie").size());
+    assertEquals(List.of(), next.getByBreed("hound"));
+    assertEquals(3, table.size());
+    assertEquals("boston", table.get(1L).getSubBreed());
+  }
+}
@@ -0,0 +1,68 @@
+package com.github.vcxxxx.dogapi.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import com.github.vcxxxx.dogapi.repository.DogBreedRepository;
+import com.github.vcxxxx.dogapi.service.DogBreedChangedEvent;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class BreedTreeHolderTest {
+
+  @Mock private DogBreedRepository dogBreedRepository;
+
+  private BreedTreeHolder holder;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    when(dogBreedRepository.findAll())
+        .thenReturn(
+            List.of(
+                new DogBreed(1L, "bulldog", "boston", 0L),
+                new DogBreed(2L, "bulldog", "french", 0L)));
+    holder = new BreedTreeHolder(dogBreedRepository, new ObjectMapper());
+  }
+
+  @Test
+  void onDogBreedChanged_ChangesAppliedOutOfCommitOrder_KeepsNewestState() {
+    holder.get();
+
+    holder.onDogBreedChanged(
+        DogBreedChangedEvent.updated(
+            new DogBreed(2L, "bulldog", "french", 0L), new DogBreed(2L, "bulldog", "second", 2L)));
+    holder.onDogBreedChanged(
+        DogBreedChangedEvent.updated(
+            new DogBreed(2L, "bulldog", "french", 0L), new DogBreed(2L, "bulldog", "first", 1L)));
+    holder.onDogBreedChanged(DogBreedChangedEvent.deleted(1L));
+    holder.onDogBreedChanged(
+        DogBreedChangedEvent.updated(
+            new DogBreed(1L, "bulldog", "boston", 0L), new DogBreed(1L, "bulldog", "gone", 1L)));
+
+    assertEquals(
+        "{\"bulldog\":[\"second\"]}", new String(holder.get().json(), StandardCharsets.UTF_8));
+    verify(dogBreedRepository, times(1)).findAll();
+  }
+
+  @Test
+  void onDogBreedChanged_Reload_RebuildsAndAcceptsChangesAgain() {
+    holder.get();
+    holder.onDogBreedChanged(DogBreedChangedEvent.deleted(1L));
+
+    holder.onDogBreedChanged(DogBreedChangedEvent.reloaded());
+    holder.onDogBreedChanged(
+        DogBreedChangedEvent.updated(
+            new DogBreed(1L, "bulldog", "boston", 0L), new DogBreed(1L, "bulldog", "toy", 1L)));
+
+    assertEquals(
+        "{\"bulldog\":[\"french\",\"toy\"]}",
+        new String(holder.get().json(), StandardCharsets.UTF_8));
+  }
+}
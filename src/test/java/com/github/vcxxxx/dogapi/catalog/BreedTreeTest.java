@@ -0,0 +1,54 @@
+package com.github.vcxxxx.dogapi.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class BreedTreeTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  private final BreedTree tree =
+      BreedTree.of(
+          List.of(
+              new DogBreed(1L, "bulldog", "french"),
+              new DogBreed(2L, "akita", null),
+              new DogBreed(3L, "bulldog", "boston")),
+          objectMapper);
+
+  @Test
+  void of_GroupsSubBreedsInSortedOrder() {
+    assertEquals("{\"akita\":[],\"bulldog\":[\"boston\",\"french\"]}", json(tree.json()));
+    assertEquals("{\"bulldog\":[\"boston\",\"french\"]}", json(tree.json("bulldog")));
+    assertNull(tree.json("collie"));
+  }
+
+  @Test
+  void with_ReencodesOnlyTouchedBreeds() {
+    BreedTree next =
+        tree.with(
+            List.of(new DogBreed(3L, "collie", "border"), new DogBreed(4L, "akita", "shiba")),
+            List.of(1L),
+            objectMapper);
+
+    assertEquals("{\"akita\":[\"shiba\"],\"collie\":[\"border\"]}", json(next.json()));
+    assertNull(next.json("bulldog"));
+    assertEquals("{\"akita\":[],\"bulldog\":[\"boston\",\"french\"]}", json(tree.json()));
+  }
+
+  @Test
+  void with_UnchangedBreed_KeepsFragment() {
+    BreedTree next = tree.with(List.of(new DogBreed(5L, "collie", null)), List.of(), objectMapper);
+
+    assertSame(tree.json("bulldog"), next.json("bulldog"));
+    assertEquals(3, next.breedCount());
+  }
+
+  private static String json(byte[] bytes) {
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
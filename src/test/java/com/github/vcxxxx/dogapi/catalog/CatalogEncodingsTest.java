@@ -0,0 +1,60 @@
+package com.github.vcxxxx.dogapi.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+class CatalogEncodingsTest {
+
+  private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+  private final MappingJackson2SmileHttpMessageConverter smileConverter =
+      new MappingJackson2SmileHttpMessageConverter();
+  private final CatalogEncodings encodings =
+      new CatalogEncodings(
+          true, List.of(new MappingJackson2HttpMessageConverter(), smileConverter));
+  private final CatalogSnapshot snapshot =
+      CatalogSnapshot.of(
+          List.of(new DogBreed(1L, "bulldog", "boston"), new DogBreed(2L, "bulldog", "french")),
+          new ObjectMapper());
+
+  @Test
+  void encode_SmileEncodedOncePerSnapshot() throws IOException {
+    assertEquals(List.of(MediaType.APPLICATION_JSON, SMILE), encodings.mediaTypes());
+    assertSame(snapshot.json(), encodings.encode(snapshot, MediaType.APPLICATION_JSON));
+
+    byte[] smile = encodings.encode(snapshot, SMILE);
+
+    assertSame(smile, encodings.encode(snapshot, SMILE));
+    DogBreed[] decoded = smileConverter.getObjectMapper().readValue(smile, DogBreed[].class);
+    assertEquals("french", decoded[1].getSubBreed());
+  }
+
+  @Test
+  void gzip_CompressedOncePerBody() throws IOException {
+    byte[] gzipped = encodings.gzip(snapshot.json());
+
+    assertSame(gzipped, encodings.gzip(snapshot.json()));
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+      assertArrayEquals(snapshot.json(), in.readAllBytes());
+    }
+  }
+
+  @Test
+  void acceptsGzip_HonorsQualityValues() {
+    assertTrue(CatalogEncodings.acceptsGzip("gzip, deflate, br"));
+    assertTrue(CatalogEncodings.acceptsGzip("br;q=1.0, gzip;q=0.8"));
+    assertFalse(CatalogEncodings.acceptsGzip("gzip;q=0"));
+    assertFalse(CatalogEncodings.acceptsGzip("identity"));
+    assertFalse(CatalogEncodings.acceptsGzip(null));
+  }
+}
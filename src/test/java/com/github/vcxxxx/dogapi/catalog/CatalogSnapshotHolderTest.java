@@ -0,0 +1,91 @@
+package com.github.vcxxxx.dogapi.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import com.github.vcxxxx.dogapi.repository.DogBreedRepository;
+import com.github.vcxxxx.dogapi.service.DogBreedChangedEvent;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Sort;
+
+class CatalogSnapshotHolderTest {
+
+  @Mock private DogBreedRepository dogBreedRepository;
+
+  private CatalogSnapshotHolder holder;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    when(dogBreedRepository.findAll(any(Sort.class)))
+        .thenReturn(
+            List.of(new DogBreed(1L, "bulldog", "boston"), new DogBreed(2L, "bulldog", "french")));
+    holder = new CatalogSnapshotHolder(true, dogBreedRepository, new ObjectMapper());
+  }
+
+  @Test
+  void get_BuildsSnapshotOnFirstUse() {
+    CatalogSnapshot snapshot = holder.get();
+
+    assertEquals(2, snapshot.size());
+    assertEquals("french", snapshot.get(2L).getSubBreed());
+    assertEquals(2, snapshot.getByBreed("bulldog").size());
+    assertEquals(
+        "[{\"id\":1,\"breed\":\"bulldog\",\"subBreed\":\"boston\"},"
+            + "{\"id\":2,\"breed\":\"bulldog\",\"subBreed\":\"french\"}]",
+        new String(snapshot.json(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void onDogBreedChanged_PublishesNewSnapshotWithoutTouchingOldOne() {
+    CatalogSnapshot before = holder.get();
+
+    holder.onDogBreedChanged(DogBreedChangedEvent.created(new DogBreed(3L, "collie", "border")));
+    holder.onDogBreedChanged(DogBreedChangedEvent.deleted(1L));
+    CatalogSnapshot after = holder.get();
+
+    assertNotSame(before, after);
+    assertEquals(2, before.size());
+    assertEquals(List.of(2L, 3L), after.breeds().stream().map(DogBreed::getId).toList());
+    assertNull(after.get(1L));
+    assertEquals(1, after.getByBreed("collie").size());
+    verify(dogBreedRepository, times(1)).findAll(any(Sort.class));
+  }
+
+  @Test
+  void onDogBreedChanged_ChangesAppliedOutOfCommitOrder_KeepsNewestState() {
+    holder.get();
+
+    holder.onDogBreedChanged(
+        DogBreedChangedEvent.updated(
+            new DogBreed(2L, "bulldog", "french", 0L), new DogBreed(2L, "bulldog", "second", 2L)));
+    holder.onDogBreedChanged(
+        DogBreedChangedEvent.updated(
+            new DogBreed(2L, "bulldog", "french", 0L), new DogBreed(2L, "bulldog", "first", 1L)));
+    holder.onDogBreedChanged(DogBreedChangedEvent.deleted(1L));
+    holder.onDogBreedChanged(
+        DogBreedChangedEvent.updated(
+            new DogBreed(1L, "bulldog", "boston", 0L), new DogBreed(1L, "bulldog", "gone", 1L)));
+    CatalogSnapshot after = holder.get();
+
+    assertEquals("second", after.get(2L).getSubBreed());
+    assertNull(after.get(1L));
+    assertEquals(1, after.size());
+  }
+
+  @Test
+  void get_Disabled_Throws() {
+    CatalogSnapshotHolder disabled =
+        new CatalogSnapshotHolder(false, dogBreedRepository, new ObjectMapper());
+
+    assertFalse(disabled.isEnabled());
+    assertThrows(IllegalStateException.class, disabled::get);
+  }
+}
@@ -0,0 +1,89 @@
+package com.github.vcxxxx.dogapi.cluster;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.vcxxxx.dogapi.DogBreedApiApplication;
+import com.github.vcxxxx.dogapi.exception.DogBreedNotFoundException;
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import com.github.vcxxxx.dogapi.service.DogBreedService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Runs several nodes of a cluster as application contexts in one JVM, sharing an in-memory
+ * database, and checks that a write on one node is read back on the others.
+ */
+class ClusterInvalidationsTest {
+
+  private final String cluster = UUID.randomUUID().toString();
+  private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+  @AfterEach
+  void stopNodes() {
+    nodes.forEach(ConfigurableApplicationContext::close);
+  }
+
+  @Test
+  void loopback_WritesReadBackOnEveryNode() {
+    DogBreedService first = startNode("loopback", true);
+    DogBreedService second = startNode("loopback", true);
+    DogBreedService third = startNode("loopback", false);
+
+    DogBreed created = first.createBreed(new DogBreed("clusterdog", "alpha"));
+    assertEquals("alpha", second.getBreedById(created.getId()).getSubBreed());
+    assertEquals(1, third.getBreedsByBreed("clusterdog").size());
+    assertNotNull(second.getBreedTreeJson("clusterdog"));
+
+    second.updateBreed(created.getId(), new DogBreed("clusterdog", "beta"));
+    assertEquals("beta", first.getBreedById(created.getId()).getSubBreed());
+    assertEquals("beta", third.getBreedById(created.getId()).getSubBreed());
+    assertEquals(second.getBreedVersion(created.getId()), first.getBreedVersion(created.getId()));
+
+    third.deleteBreed(created.getId());
+    assertThrows(DogBreedNotFoundException.class, () -> first.getBreedById(created.getId()));
+    assertThrows(DogBreedNotFoundException.class, () -> second.getBreedTreeJson("clusterdog"));
+
+    long version = first.getCatalogVersion();
+    assertEquals(version, second.getCatalogVersion());
+    assertEquals(version, third.getCatalogVersion());
+  }
+
+  @Test
+  void changeLog_PeersCatchUpWhenPolling() {
+    DogBreedService writer = startNode("change-log", true);
+    DogBreedService reader = startNode("change-log", true);
+    reader.getBreedTreeJson();
+
+    DogBreed created = writer.createBreed(new DogBreed("polldog", null));
+    assertThrows(DogBreedNotFoundException.class, () -> reader.getBreedTreeJson("polldog"));
+    long stale = reader.getCatalogVersion();
+
+    nodes.get(1).getBean(ChangeLogInvalidationTransport.class).poll();
+
+    assertNotNull(reader.getBreedTreeJson("polldog"));
+    assertEquals(created.getId(), reader.getBreedById(created.getId()).getId());
+    assertEquals(writer.getCatalogVersion(), reader.getCatalogVersion());
+    assertTrue(reader.getCatalogVersion() > stale);
+  }
+
+  private DogBreedService startNode(String transport, boolean snapshot) {
+    ConfigurableApplicationContext node =
+        new SpringApplicationBuilder(DogBreedApiApplication.class)
+            .run(
+                "--spring.main.web-application-type=none",
+                "--spring.datasource.url=jdbc:h2:mem:" + cluster + ";DB_CLOSE_DELAY=-1",
+                "--dogapi.cluster.enabled=true",
+                "--dogapi.cluster.transport=" + transport,
+                "--dogapi.cluster.loopback.group=" + cluster,
+                "--dogapi.cluster.poll-interval=PT1H",
+                "--dogapi.snapshot.enabled=" + snapshot,
+                "--logging.level.root=warn");
+    nodes.add(node);
+    return node.getBean(DogBreedService.class);
+  }
+}
@@ -0,0 +1,98 @@
+package com.github.vcxxxx.dogapi.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.vcxxxx.dogapi.exception.InvalidCatalogArchiveException;
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import com.github.vcxxxx.dogapi.repository.DogBreedRepository;
+import com.github.vcxxxx.dogapi.service.DogBreedService;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+
+/** Exports the seeded catalog and imports it back, intact and corrupted. */
+@SpringBootTest(
+    webEnvironment = WebEnvironment.NONE,
+    properties = "spring.datasource.url=jdbc:h2:mem:archive;DB_CLOSE_DELAY=-1")
+class CatalogArchiveTest {
+
+  @Autowired private CatalogArchive catalogArchive;
+  @Autowired private DogBreedService dogBreedService;
+  @Autowired private DogBreedRepository dogBreedRepository;
+
+  @TempDir Path tempDir;
+
+  @Test
+  void importFrom_ExportedArchive_RestoresBreedsWithTheirIds() throws Exception {
+    Path archive = export();
+    List<DogBreed> exported = sortedBreeds();
+    String header = Files.readAllLines(archive).get(0);
+    assertTrue(header.contains("\"formatVersion\":1"));
+
+    DogBreed added = dogBreedService.createBreed(new DogBreed("archivedog", "new"));
+    dogBreedService.deleteBreed(exported.get(0).getId());
+    long versionBefore = dogBreedService.getCatalogVersion();
+
+    assertEquals(exported.size(), catalogArchive.importFrom(archive));
+
+    List<DogBreed> imported = sortedBreeds();
+    assertEquals(exported.size(), imported.size());
+    for (int i = 0; i < exported.size(); i++) {
+      assertEquals(exported.get(i).getId(), imported.get(i).getId());
+      assertEquals(exported.get(i).getBreed(), imported.get(i).getBreed());
+      assertEquals(exported.get(i).getSubBreed(), imported.get(i).getSubBreed());
+    }
+    assertFalse(dogBreedRepository.existsById(added.getId()));
+    assertEquals(versionBefore + 1, dogBreedService.getCatalogVersion());
+
+    // New breeds get IDs after the imported ones
+    DogBreed created = dogBreedService.createBreed(new DogBreed("archivedog", "after"));
+    assertTrue(created.getId() > imported.get(imported.size() - 1).getId());
+    dogBreedService.deleteBreed(created.getId());
+  }
+
+  @Test
+  void importFrom_CorruptedArchive_IsRejectedAndLeavesCatalogUnchanged() throws Exception {
+    Path archive = export();
+    List<DogBreed> before = sortedBreeds();
+    String content = Files.readString(archive);
+    Files.writeString(archive, content.replaceFirst("\"breed\":\"", "\"breed\":\"x"));
+
+    assertThrows(InvalidCatalogArchiveException.class, () -> catalogArchive.importFrom(archive));
+
+    assertEquals(before.size(), sortedBreeds().size());
+  }
+
+  @Test
+  void importFrom_TruncatedArchive_IsRejected() throws Exception {
+    Path archive = export();
+    List<String> lines = Files.readAllLines(archive);
+    lines.remove(lines.size() - 2);
+    Files.write(archive, lines);
+
+    assertThrows(InvalidCatalogArchiveException.class, () -> catalogArchive.importFrom(archive));
+  }
+
+  private Path export() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    long count = catalogArchive.export(out);
+    assertEquals(dogBreedRepository.count(), count);
+    Path archive = tempDir.resolve("dogbreeds.ndjson");
+    Files.writeString(archive, out.toString(StandardCharsets.UTF_8));
+    return archive;
+  }
+
+  private List<DogBreed> sortedBreeds() {
+    return dogBreedRepository.findAll().stream()
+        .sorted(Comparator.comparing(DogBreed::getId))
+        .toList();
+  }
+}
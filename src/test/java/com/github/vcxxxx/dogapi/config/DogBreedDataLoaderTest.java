@@ -0,0 +1,115 @@
+package com.github.vcxxxx.dogapi.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.vcxxxx.dogapi.DogBreedApiApplication;
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import com.github.vcxxxx.dogapi.service.DogBreedService;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/** Restarts the application with changed seed files against the same database. */
+class DogBreedDataLoaderTest {
+
+  private final String url = "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+
+  @TempDir Path tempDir;
+
+  @AfterEach
+  void stop() throws SQLException {
+    execute("shutdown");
+  }
+
+  @Test
+  void changedSeedFile_RemovesDroppedSeedEntriesButKeepsApiEntries() throws IOException {
+    try (ConfigurableApplicationContext context =
+        start("{\"akita\":[],\"bulldog\":[\"boston\",\"french\"]}")) {
+      context.getBean(DogBreedService.class).createBreed(new DogBreed("pug", null));
+    }
+
+    try (ConfigurableApplicationContext context =
+        start("{\"akita\":[],\"bulldog\":[\"boston\",\"english\"]}")) {
+      assertEquals(
+          List.of("akita/null", "bulldog/boston", "bulldog/english", "pug/null"),
+          names(context));
+    }
+  }
+
+  @Test
+  void firstSyncOfUnrecordedDatabase_DeletesNothingAndAdoptsMatchingEntries() throws Exception {
+    start("{\"akita\":[],\"bulldog\":[\"boston\"]}").close();
+    // A database loaded before seeded entries and checksums were recorded
+    execute("delete from seed_breeds");
+    execute("delete from metadata where meta_key = 'dog_breeds_seed_checksum'");
+
+    try (ConfigurableApplicationContext context =
+        start("{\"akita\":[],\"collie\":[\"border\"]}")) {
+      assertEquals(List.of("akita/null", "bulldog/boston", "collie/border"), names(context));
+    }
+
+    // The first sync adopted the entry still in the file, so only that one can be removed
+    try (ConfigurableApplicationContext context = start("{\"collie\":[\"border\"]}")) {
+      assertEquals(List.of("bulldog/boston", "collie/border"), names(context));
+    }
+  }
+
+  @Test
+  void unchangedSeedFile_DoesNotAllocateIds() throws Exception {
+    String seed = "{\"akita\":[]}";
+    start(seed).close();
+    long next = nextSequenceValue();
+
+    start(seed).close();
+
+    assertEquals(next, nextSequenceValue());
+  }
+
+  private ConfigurableApplicationContext start(String seed) throws IOException {
+    Path seedFile = Files.writeString(tempDir.resolve(UUID.randomUUID() + ".json"), seed);
+    return new SpringApplicationBuilder(DogBreedApiApplication.class)
+        .web(WebApplicationType.NONE)
+        .run("--spring.datasource.url=" + url, "--dogapi.seed.location=file:" + seedFile);
+  }
+
+  private static List<String> names(ConfigurableApplicationContext context) {
+    return context.getBean(DogBreedService.class).getAllBreeds().stream()
+        .map(breed -> breed.getBreed() + "/" + breed.getSubBreed())
+        .sorted()
+        .toList();
+  }
+
+  private long nextSequenceValue() throws SQLException {
+    try (Connection connection = DriverManager.getConnection(url, "sa", "");
+        Statement statement = connection.createStatement();
+        ResultSet rs =
+            statement.executeQuery(
+                "select base_value from information_schema.sequences"
+                    + " where lower(sequence_name) = '"
+                    + DogBreed.ID_SEQUENCE
+                    + "'")) {
+      assertTrue(rs.next());
+      return rs.getLong(1);
+    }
+  }
+
+  private void execute(String sql) throws SQLException {
+    try (Connection connection = DriverManager.getConnection(url, "sa", "");
+        Statement statement = connection.createStatement()) {
+      statement.execute(sql);
+    }
+  }
+}
@@ -0,0 +1,45 @@
+package com.github.vcxxxx.dogapi.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.vcxxxx.dogapi.cache.DogBreedLookupCache;
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+/** Binds the in-memory metrics to a simple registry and reads them back. */
+class MetricsConfigurationTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  @Test
+  void lookupCacheMetrics_ExposeHitsMissesAndSizePerLookup() {
+    DogBreedLookupCache lookupCache = new DogBreedLookupCache(100, Duration.ofMinutes(1));
+    new MetricsConfiguration().lookupCacheMetrics(lookupCache).bindTo(registry);
+
+    DogBreed breed = new DogBreed(1L, "hound", "afghan");
+    lookupCache.findById(1L, id -> Optional.of(breed));
+    lookupCache.findById(1L, id -> Optional.of(breed));
+    lookupCache.findByBreed("hound", name -> List.of(breed));
+
+    assertEquals(1, gets("byId", "hit"));
+    assertEquals(1, gets("byId", "miss"));
+    assertEquals(0, gets("byBreed", "hit"));
+    assertEquals(1, gets("byBreed", "miss"));
+    assertEquals(1, registry.get("dogapi.cache.size").tag("cache", "byId").gauge().value());
+    assertEquals(
+        0, registry.get("dogapi.cache.evictions").tag("cache", "byId").functionCounter().count());
+  }
+
+  private double gets(String cache, String result) {
+    return registry
+        .get("dogapi.cache.gets")
+        .tag("cache", cache)
+        .tag("result", result)
+        .functionCounter()
+        .count();
+  }
+}
@@ -0,0 +1,131 @@
+package com.github.vcxxxx.dogapi.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.vcxxxx.dogapi.DogBreedApiApplication;
+import com.github.vcxxxx.dogapi.cluster.ClusterInvalidations;
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import com.github.vcxxxx.dogapi.service.DogBreedService;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Runs the application with the prod profile, which creates the schema from a script and only
+ * validates it, initializes beans lazily and resolves clients behind the reverse proxy.
+ */
+class ProductionProfileTest {
+
+  private final String url = "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+  private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+
+  @AfterEach
+  void stop() throws SQLException {
+    contexts.forEach(ConfigurableApplicationContext::close);
+    try (Connection connection = DriverManager.getConnection(url, "sa", "");
+        Statement statement = connection.createStatement()) {
+      statement.execute("shutdown");
+    }
+  }
+
+  @Test
+  void schemaScript_MatchesTheEntities() {
+    ConfigurableApplicationContext context = start("prod");
+    DogBreedService service = context.getBean(DogBreedService.class);
+    int seeded = service.getAllBreeds().size();
+    assertTrue(seeded > 0);
+    service.createBreed(new DogBreed("prodprofiledog", null));
+    context.close();
+
+    // The second start runs the script against the existing schema
+    DogBreedService restarted = start("prod").getBean(DogBreedService.class);
+    assertEquals(seeded + 1, restarted.getAllBreeds().size());
+  }
+
+  @Test
+  void schemaCreatedByHibernate_PassesValidation() {
+    start("default").close();
+
+    DogBreedService service = start("prod").getBean(DogBreedService.class);
+
+    assertFalse(service.getAllBreeds().isEmpty());
+  }
+
+  @Test
+  void lazyInitialization_KeepsBeansWithStartupWorkEager() {
+    // Seed first, so the next start publishes no change event that would create the listeners
+    start("prod").close();
+    ConfigurableApplicationContext context =
+        start(
+            "prod",
+            "--dogapi.cluster.enabled=true",
+            "--dogapi.cluster.transport=loopback",
+            "--dogapi.cluster.loopback.group=" + UUID.randomUUID());
+    ConfigurableListableBeanFactory beanFactory = context.getBeanFactory();
+
+    assertTrue(isCreated(beanFactory, ClusterInvalidations.class));
+    assertFalse(isCreated(beanFactory, CatalogArchive.class));
+  }
+
+  @Test
+  void rateLimit_BehindProxy_LimitsEachForwardedClient() throws Exception {
+    ConfigurableApplicationContext context =
+        start(
+            "prod",
+            "--spring.main.web-application-type=servlet",
+            "--server.port=0",
+            "--dogapi.rate-limit.enabled=true",
+            "--dogapi.rate-limit.read.limit=1");
+    int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+    assertEquals(200, get(port, "203.0.113.1"));
+    assertEquals(429, get(port, "203.0.113.1"));
+    // Addresses prepended by the client are not trusted, so they do not give a fresh bucket
+    assertEquals(429, get(port, "198.51.100.9, 203.0.113.1"));
+    assertEquals(200, get(port, "203.0.113.2"));
+  }
+
+  private ConfigurableApplicationContext start(String profile, String... args) {
+    List<String> arguments = new ArrayList<>(List.of(args));
+    if (arguments.stream().noneMatch(arg -> arg.startsWith("--spring.main.web-application"))) {
+      arguments.add("--spring.main.web-application-type=none");
+    }
+    arguments.add("--spring.datasource.url=" + url);
+    ConfigurableApplicationContext context =
+        new SpringApplicationBuilder(DogBreedApiApplication.class)
+            .profiles(profile)
+            .run(arguments.toArray(String[]::new));
+    contexts.add(context);
+    return context;
+  }
+
+  private static int get(int port, String forwardedFor) throws Exception {
+    HttpRequest request =
+        HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/dogbreeds"))
+            .header("X-Forwarded-For", forwardedFor)
+            .build();
+    return HttpClient.newHttpClient()
+        .send(request, HttpResponse.BodyHandlers.discarding())
+        .statusCode();
+  }
+
+  private static boolean isCreated(ConfigurableListableBeanFactory beanFactory, Class<?> type) {
+    String[] names = beanFactory.getBeanNamesForType(type, true, false);
+    assertEquals(1, names.length);
+    return beanFactory.containsSingleton(names[0]);
+  }
+}
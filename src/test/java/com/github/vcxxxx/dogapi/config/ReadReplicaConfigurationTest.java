@@ -0,0 +1,110 @@
+package com.github.vcxxxx.dogapi.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.vcxxxx.dogapi.DogBreedApiApplication;
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import com.github.vcxxxx.dogapi.service.DogBreedService;
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Runs the application against a primary database and a second H2 database acting as its read
+ * replica, which is brought up to date by copying the primary on demand.
+ */
+class ReadReplicaConfigurationTest {
+
+  private final String primaryUrl = "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+  private final String replicaUrl = "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+  private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+
+  @AfterEach
+  void stop() throws SQLException {
+    contexts.forEach(ConfigurableApplicationContext::close);
+    for (String url : List.of(primaryUrl, replicaUrl)) {
+      try (Connection connection = DriverManager.getConnection(url, "sa", "");
+          Statement statement = connection.createStatement()) {
+        statement.execute("shutdown");
+      }
+    }
+  }
+
+  @Test
+  void readOnlyTransactions_AreServedByTheReplica() throws SQLException {
+    start(false).close();
+    replicate();
+    ConfigurableApplicationContext context = start(true);
+    DogBreedService service = context.getBean(DogBreedService.class);
+    int seeded = service.getAllBreeds().size();
+
+    // The replica pool is read-only, so the write can only have gone to the primary
+    DogBreed created = service.createBreed(new DogBreed("replicadog", null));
+
+    assertEquals(seeded, service.getAllBreeds().size());
+    replicate();
+    assertEquals(seeded + 1, service.getAllBreeds().size());
+    assertEquals("replicadog", service.getBreedById(created.getId()).getBreed());
+  }
+
+  @Test
+  void pools_AreNamedAndSizedSeparately() throws SQLException {
+    start(false).close();
+    replicate();
+    ConfigurableApplicationContext context = start(true);
+
+    HikariDataSource primary = context.getBean("primaryDataSource", HikariDataSource.class);
+    HikariDataSource replica = context.getBean("replicaDataSource", HikariDataSource.class);
+    assertEquals(ReadReplicaConfiguration.PRIMARY_POOL, primary.getPoolName());
+    assertEquals(ReadReplicaConfiguration.REPLICA_POOL, replica.getPoolName());
+    assertEquals(3, primary.getMaximumPoolSize());
+    assertEquals(7, replica.getMaximumPoolSize());
+    assertTrue(replica.isReadOnly());
+  }
+
+  private ConfigurableApplicationContext start(boolean replicaEnabled) {
+    ConfigurableApplicationContext context =
+        new SpringApplicationBuilder(DogBreedApiApplication.class)
+            .run(
+                "--spring.main.web-application-type=none",
+                "--spring.datasource.url=" + primaryUrl,
+                "--spring.datasource.hikari.maximum-pool-size=3",
+                "--dogapi.datasource.replica.enabled=" + replicaEnabled,
+                "--dogapi.datasource.replica.jdbc-url=" + replicaUrl,
+                "--dogapi.datasource.replica.username=sa",
+                "--dogapi.datasource.replica.maximum-pool-size=7",
+                "--spring.jpa.open-in-view=false",
+                "--logging.level.root=warn");
+    contexts.add(context);
+    return context;
+  }
+
+  /** Replaces the content of the replica with a copy of the primary. */
+  private void replicate() throws SQLException {
+    List<String> script = new ArrayList<>();
+    try (Connection primary = DriverManager.getConnection(primaryUrl, "sa", "");
+        Statement statement = primary.createStatement();
+        ResultSet lines = statement.executeQuery("script")) {
+      while (lines.next()) {
+        script.add(lines.getString(1));
+      }
+    }
+    try (Connection replica = DriverManager.getConnection(replicaUrl, "sa", "");
+        Statement statement = replica.createStatement()) {
+      statement.execute("drop all objects");
+      for (String line : script) {
+        statement.execute(line);
+      }
+    }
+  }
+}
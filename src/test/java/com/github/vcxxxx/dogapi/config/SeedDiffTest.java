@@ -0,0 +1,68 @@
+package com.github.vcxxxx.dogapi.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.vcxxxx.dogapi.config.SeedDiff.SeedKey;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class SeedDiffTest {
+
+  private static final SeedKey AKITA = new SeedKey("akita", null);
+  private static final SeedKey BOSTON = new SeedKey("bulldog", "boston");
+  private static final SeedKey ENGLISH = new SeedKey("bulldog", "english");
+  private static final SeedKey FRENCH = new SeedKey("bulldog", "french");
+  private static final SeedKey BORDER = new SeedKey("collie", "border");
+  private static final SeedKey PUG = new SeedKey("pug", null);
+
+  @Test
+  void diff_DeletesOnlySeededRowsDroppedFromFile() {
+    SeedDiff diff = new SeedDiff(List.of(AKITA, BOSTON, ENGLISH, BORDER), false);
+
+    diff.acceptExisting(1, AKITA, AKITA);
+    diff.acceptExisting(2, BOSTON, BOSTON);
+    diff.acceptExisting(3, FRENCH, FRENCH);
+    // Created through the API
+    diff.acceptExisting(4, PUG, null);
+    diff.finish();
+
+    assertEquals(List.of(ENGLISH, BORDER), diff.inserts());
+    assertEquals(List.of(3L), diff.deletes());
+    assertEquals(List.of(3L), diff.forgotten());
+    assertTrue(diff.adopted().isEmpty());
+  }
+
+  @Test
+  void diff_RowsRenamedThroughApi_AreForgottenNotDeleted() {
+    SeedDiff diff = new SeedDiff(List.of(AKITA), false);
+
+    diff.acceptExisting(1, AKITA, AKITA);
+    diff.acceptExisting(2, new SeedKey("bulldog", "toy"), BOSTON);
+    diff.finish();
+
+    assertTrue(diff.deletes().isEmpty());
+    assertEquals(List.of(2L), diff.forgotten());
+  }
+
+  @Test
+  void diff_NothingSeededYet_AdoptsMatchingRowsAndDeletesNothing() {
+    SeedDiff diff = new SeedDiff(List.of(AKITA, AKITA, BOSTON), true);
+
+    diff.acceptExisting(1, AKITA, null);
+    diff.acceptExisting(2, FRENCH, null);
+    diff.finish();
+
+    assertEquals(List.of(BOSTON), diff.inserts());
+    assertTrue(diff.deletes().isEmpty());
+    assertEquals(Map.of(1L, AKITA), diff.adopted());
+  }
+
+  @Test
+  void diff_RowsOutOfOrder_AreRejected() {
+    SeedDiff diff = new SeedDiff(List.of(AKITA), false);
+    diff.acceptExisting(1, BOSTON, null);
+
+    assertThrows(IllegalStateException.class, () -> diff.acceptExisting(2, AKITA, null));
+  }
+}
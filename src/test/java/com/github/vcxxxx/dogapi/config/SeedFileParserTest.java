@@ -0,0 +1,38 @@
+package com.github.vcxxxx.dogapi.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SeedFileParserTest {
+
+  @Test
+  void parse_EmitsOneEntryPerSubBreedAndOneForBreedsWithout() throws IOException {
+    List<String> entries = new ArrayList<>();
+
+    long count =
+        SeedFileParser.parse(
+            stream("{\"bulldog\":[\"boston\",\"french\"],\"akita\":[]}"),
+            (breed, subBreed) -> entries.add(breed + "/" + subBreed));
+
+    assertEquals(3, count);
+    assertEquals(List.of("bulldog/boston", "bulldog/french", "akita/null"), entries);
+  }
+
+  @Test
+  void parse_UnexpectedStructure_Throws() {
+    assertThrows(
+        IOException.class,
+        () -> SeedFileParser.parse(stream("{\"bulldog\":\"boston\"}"), (breed, subBreed) -> {}));
+  }
+
+  private static InputStream stream(String json) {
+    return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+  }
+}
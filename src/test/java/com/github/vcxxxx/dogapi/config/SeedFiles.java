@@ -0,0 +1,56 @@
+package com.github.vcxxxx.dogapi.config;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/** Generates seed files of arbitrary size for benchmarks. */
+public final class SeedFiles {
+
+  private static final int SUB_BREEDS_PER_BREED = 10;
+
+  private SeedFiles() {}
+
+  /**
+   * Writes a seed file in the {@code dogs.json} format with the given number of entries.
+   *
+   * @param file the file to write
+   * @param rows the number of entries, rounded down to a multiple of ten
+   * @return the written file
+   * @throws IOException if the file cannot be written
+   */
+  public static Path write(Path file, int rows) throws IOException {
+    try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      writer.write('{');
+      for (int breed = 0; breed < rows / SUB_BREEDS_PER_BREED; breed++) {
+        if (breed > 0) {
+          writer.write(',');
+        }
+        writer.write("\"" + name(breed) + "\":[");
+        for (int sub = 0; sub < SUB_BREEDS_PER_BREED; sub++) {
+          writer.write((sub > 0 ? ",\"" : "\"") + name(sub) + "\"");
+        }
+        writer.write(']');
+      }
+      writer.write('}');
+    }
+    return file;
+  }
+
+  /**
+   * Encodes a number as a letters-only name, since breed names may not contain digits.
+   *
+   * @param n a non-negative number
+   * @return a distinct lowercase name for every number
+   */
+  public static String name(long n) {
+    StringBuilder name = new StringBuilder();
+    do {
+      name.append((char) ('a' + n % 26));
+      n /= 26;
+    } while (n > 0);
+    return name.toString();
+  }
+}
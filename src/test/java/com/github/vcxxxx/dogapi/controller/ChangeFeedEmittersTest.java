@@ -0,0 +1,84 @@
+package com.github.vcxxxx.dogapi.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.github.vcxxxx.dogapi.dto.ChangeFeed;
+import com.github.vcxxxx.dogapi.model.DogBreedChange;
+import com.github.vcxxxx.dogapi.service.ChangeLog;
+import com.github.vcxxxx.dogapi.service.DogBreedChangedEvent;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class ChangeFeedEmittersTest {
+
+  private final ChangeLog changeLog = mock(ChangeLog.class);
+  private final ChangeFeedEmitters emitters =
+      new ChangeFeedEmitters(changeLog, Duration.ofMinutes(30), Duration.ofMillis(200));
+
+  @AfterEach
+  void stop() {
+    emitters.shutdown();
+  }
+
+  @Test
+  void subscribe_StalledClient_DoesNotHoldUpOthersAndIsDropped() throws Exception {
+    DogBreedChange change = new DogBreedChange();
+    change.setCatalogVersion(1L);
+    when(changeLog.isAvailable(anyLong())).thenReturn(true);
+    when(changeLog.changesSince(anyLong(), anyInt()))
+        .thenAnswer(
+            invocation ->
+                invocation.getArgument(0, Long.class) == 0L
+                    ? new ChangeFeed(List.of(change), 1L)
+                    : new ChangeFeed(List.of(), invocation.getArgument(0, Long.class)));
+    CountDownLatch release = new CountDownLatch(1);
+    RecordingEmitter stalled = new RecordingEmitter(release);
+    RecordingEmitter fast = new RecordingEmitter(null);
+
+    emitters.subscribe(0L, stalled);
+    emitters.subscribe(0L, fast);
+    emitters.onDogBreedChanged(DogBreedChangedEvent.created(List.of()));
+
+    assertTrue(fast.sent.await(5, TimeUnit.SECONDS));
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (emitters.subscriberCount() > 1 && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(1, emitters.subscriberCount());
+    release.countDown();
+  }
+
+  /** Emitter noting its first send, optionally blocking like a client that stopped reading. */
+  private static final class RecordingEmitter extends SseEmitter {
+
+    private final CountDownLatch sent = new CountDownLatch(1);
+    private final CountDownLatch release;
+
+    private RecordingEmitter(CountDownLatch release) {
+      this.release = release;
+    }
+
+    @Override
+    public void send(SseEventBuilder builder) throws IOException {
+      if (release != null) {
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException(e);
+        }
+      }
+      sent.countDown();
+    }
+  }
+}
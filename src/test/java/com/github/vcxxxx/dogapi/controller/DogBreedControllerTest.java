@@ -0,0 +1,95 @@
+package com.github.vcxxxx.dogapi.controller;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import com.github.vcxxxx.dogapi.service.DogBreedService;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:controller;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class DogBreedControllerTest {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private DogBreedService dogBreedService;
+
+  @Test
+  void getAllBreeds_EachFormatHasItsOwnEtag() throws Exception {
+    String json = etag("application/json");
+    String cbor = etag("application/cbor");
+    String smile = etag("application/x-jackson-smile");
+
+    assertTrue(json.matches("\"catalog-\\d+\""));
+    String tag = json.substring(0, json.length() - 1);
+    assertEquals(tag + "-cbor\"", cbor);
+    assertEquals(tag + "-smile\"", smile);
+
+    mockMvc.perform(cborIfNoneMatch(json)).andExpect(status().isOk());
+    mockMvc
+        .perform(cborIfNoneMatch(cbor))
+        .andExpect(status().isNotModified())
+        .andExpect(header().stringValues(HttpHeaders.VARY, hasItem("Accept")));
+  }
+
+  @Test
+  void createBreeds_MoreThanMaxPageSize_IsRejected() throws Exception {
+    String item = "{\"breed\":\"batchlimitdog\",\"subBreed\":null}";
+    String body =
+        "[" + String.join(",", Collections.nCopies(DogBreedService.MAX_PAGE_SIZE + 1, item)) + "]";
+
+    mockMvc
+        .perform(post("/api/dogbreeds/batch").contentType(MediaType.APPLICATION_JSON).content(body))
+        .andExpect(status().isBadRequest());
+    assertTrue(dogBreedService.getBreedsByBreed("batchlimitdog").isEmpty());
+  }
+
+  @Test
+  void createBreed_RejectedByOtherConstraint_IsBadRequestNotConflict() throws Exception {
+    String body = "{\"breed\":\"" + "a".repeat(300) + "\",\"subBreed\":null}";
+
+    mockMvc
+        .perform(post("/api/dogbreeds").contentType(MediaType.APPLICATION_JSON).content(body))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void updateBreed_ToExistingBreed_IsConflict() throws Exception {
+    dogBreedService.createBreed(new DogBreed("conflictdog", "first"));
+    Long second = dogBreedService.createBreed(new DogBreed("conflictdog", "second")).getId();
+
+    mockMvc
+        .perform(
+            put("/api/dogbreeds/" + second)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"breed\":\"conflictdog\",\"subBreed\":\"first\"}"))
+        .andExpect(status().isConflict());
+  }
+
+  private static MockHttpServletRequestBuilder cborIfNoneMatch(String etag) {
+    return get("/api/dogbreeds").accept("application/cbor").header(HttpHeaders.IF_NONE_MATCH, etag);
+  }
+
+  private String etag(String accept) throws Exception {
+    return mockMvc
+        .perform(get("/api/dogbreeds").accept(accept))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(accept))
+        .andExpect(header().stringValues(HttpHeaders.VARY, hasItem("Accept")))
+        .andReturn()
+        .getResponse()
+        .getHeader(HttpHeaders.ETAG);
+  }
+}
@@ -0,0 +1,91 @@
+package com.github.vcxxxx.dogapi.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.vcxxxx.dogapi.dto.DogBreedRequest;
+import com.github.vcxxxx.dogapi.exception.ValidationError;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+
+class DogBreedRequestValidatorTest {
+
+  private static final String[] NAMES = {
+    null, "", " ", "\t", "labrador", "Labrador", "LABRADOR", " labrador", "labrador ", "lab rador",
+    "lab-rador", "lab1", "z", "Z", "@", "[", "`", "{", "caf\u00e9", "\u0131", "\u212a", "a\u0000"
+  };
+
+  private static ValidatorFactory validatorFactory;
+  private static Validator beanValidator;
+
+  private final DogBreedRequestValidator validator = new DogBreedRequestValidator();
+
+  @BeforeAll
+  static void setUpBeanValidation() {
+    validatorFactory = Validation.buildDefaultValidatorFactory();
+    beanValidator = validatorFactory.getValidator();
+  }
+
+  @AfterAll
+  static void closeBeanValidation() {
+    validatorFactory.close();
+  }
+
+  @Test
+  void validate_AnyNames_ReportsTheErrorsOfTheConstraints() {
+    for (String breed : NAMES) {
+      for (String subBreed : NAMES) {
+        DogBreedRequest request = new DogBreedRequest(breed, subBreed);
+        Set<ValidationError> expected =
+            beanValidator.validate(request).stream()
+                .map(v -> new ValidationError(v.getPropertyPath().toString(), v.getMessage()))
+                .collect(Collectors.toSet());
+
+        List<ValidationError> errors = validator.validate(request);
+
+        String names = Arrays.asList(breed, subBreed).toString();
+        assertEquals(expected, new HashSet<>(errors), names);
+        assertEquals(expected.size(), errors.size());
+      }
+    }
+  }
+
+  @Test
+  void validate_MissingBreed_ReportsBlankBeforePattern() {
+    assertEquals(
+        List.of(
+            new ValidationError("breed", DogBreedRequest.BREED_BLANK),
+            new ValidationError("breed", DogBreedRequest.BREED_NOT_A_WORD),
+            new ValidationError("subBreed", DogBreedRequest.SUB_BREED_NOT_A_WORD)),
+        validator.validate(new DogBreedRequest(" ", "x1")));
+    assertEquals(
+        List.of(new ValidationError("breed", DogBreedRequest.BREED_BLANK)),
+        validator.validate(null));
+  }
+
+  @Test
+  void validate_BindingResult_RecordsFieldErrors() {
+    DogBreedRequest request = new DogBreedRequest("Lab rador", null);
+    BeanPropertyBindingResult errors = new BeanPropertyBindingResult(request, "dogBreedRequest");
+
+    validator.validate(request, errors);
+
+    List<ValidationError> reported = new ArrayList<>();
+    for (FieldError error : errors.getFieldErrors()) {
+      reported.add(new ValidationError(error.getField(), error.getDefaultMessage()));
+    }
+    assertEquals(List.of(new ValidationError("breed", DogBreedRequest.BREED_NOT_A_WORD)), reported);
+    assertEquals("Lab rador", errors.getFieldValue("breed"));
+  }
+}
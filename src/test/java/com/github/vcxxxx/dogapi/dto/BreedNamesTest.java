@@ -0,0 +1,44 @@
+package com.github.vcxxxx.dogapi.dto;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Locale;
+import org.junit.jupiter.api.Test;
+
+class BreedNamesTest {
+
+  @Test
+  void normalize_AnyName_MatchesTrimAndLowerCase() {
+    String[] names = {
+      "", " ", "labrador", "Labrador", "  BEAGLE\t", "lab rador", "\u0001x\u0001", "Caf\u00e9",
+      "\u0130", "x"
+    };
+    for (String name : names) {
+      assertEquals(name.trim().toLowerCase(Locale.ROOT), BreedNames.normalize(name), name);
+    }
+    assertNull(BreedNames.normalize(null));
+  }
+
+  @Test
+  void normalize_EqualNames_ReturnsTheSameInstance() {
+    String first = BreedNames.normalize(new String("Poodle"));
+    String second = BreedNames.normalize(new String(" poodle "));
+    String normalForm = new String("poodle");
+
+    assertSame(first, second);
+    assertSame(first, BreedNames.normalize(normalForm));
+  }
+
+  @Test
+  void isWord_OnlyAcceptsAsciiLetters() {
+    assertTrue(BreedNames.isWord("Akita"));
+    assertTrue(BreedNames.isWord("z"));
+    assertFalse(BreedNames.isWord(""));
+    assertFalse(BreedNames.isWord("@"));
+    assertFalse(BreedNames.isWord("["));
+    assertFalse(BreedNames.isWord("`"));
+    assertFalse(BreedNames.isWord("{"));
+    assertFalse(BreedNames.isWord("akita1"));
+    assertFalse(BreedNames.isWord("\u212a"));
+  }
+}
@@ -0,0 +1,91 @@
+package com.github.vcxxxx.dogapi.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RateLimitFilterTest {
+
+  private final RateLimitFilter filter =
+      new RateLimitFilter(
+          new TokenBucketLimiter(2, Duration.ofMinutes(1)),
+          new TokenBucketLimiter(1, Duration.ofMinutes(1)),
+          Set.of("known-key"));
+
+  @Test
+  void doFilter_WithinLimit_PassesAndSetsHeaders() throws Exception {
+    MockFilterChain chain = new MockFilterChain();
+    MockHttpServletResponse response = send(request("GET", "10.0.0.1", null), chain);
+
+    assertNotNull(chain.getRequest());
+    assertEquals(200, response.getStatus());
+    assertEquals("2", response.getHeader(RateLimitFilter.LIMIT_HEADER));
+    assertEquals("1", response.getHeader(RateLimitFilter.REMAINING_HEADER));
+    assertEquals("30", response.getHeader(RateLimitFilter.RESET_HEADER));
+    assertEquals("2;w=60", response.getHeader(RateLimitFilter.POLICY_HEADER));
+  }
+
+  @Test
+  void doFilter_OverLimit_RejectsWithRetryAfter() throws Exception {
+    send(request("POST", "10.0.0.1", null), new MockFilterChain());
+    MockFilterChain chain = new MockFilterChain();
+    MockHttpServletResponse response = send(request("POST", "10.0.0.1", null), chain);
+
+    assertNull(chain.getRequest());
+    assertEquals(429, response.getStatus());
+    assertEquals("60", response.getHeader(HttpHeaders.RETRY_AFTER));
+    assertEquals("0", response.getHeader(RateLimitFilter.REMAINING_HEADER));
+
+    // Reads have their own budget
+    assertEquals(200, send(request("GET", "10.0.0.1", null), new MockFilterChain()).getStatus());
+  }
+
+  @Test
+  void doFilter_KnownApiKey_IsLimitedApartFromItsAddress() throws Exception {
+    send(request("DELETE", "10.0.0.1", null), new MockFilterChain());
+
+    assertEquals(
+        200, send(request("DELETE", "10.0.0.1", "known-key"), new MockFilterChain()).getStatus());
+    assertEquals(
+        429, send(request("DELETE", "10.0.0.1", "known-key"), new MockFilterChain()).getStatus());
+    // An unknown key does not give a fresh bucket
+    assertEquals(
+        429, send(request("DELETE", "10.0.0.1", "other-key"), new MockFilterChain()).getStatus());
+  }
+
+  @Test
+  void doFilter_CorsPreflight_IsNotLimited() throws Exception {
+    for (int i = 0; i < 5; i++) {
+      MockHttpServletRequest preflight = request("OPTIONS", "10.0.0.1", null);
+      preflight.addHeader(HttpHeaders.ORIGIN, "http://localhost:3000");
+      preflight.addHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "POST");
+      MockHttpServletResponse response = send(preflight, new MockFilterChain());
+      assertNull(response.getHeader(RateLimitFilter.LIMIT_HEADER));
+    }
+  }
+
+  private MockHttpServletResponse send(MockHttpServletRequest request, FilterChain chain)
+      throws ServletException, IOException {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    filter.doFilter(request, response, chain);
+    return response;
+  }
+
+  private static MockHttpServletRequest request(String method, String address, String apiKey) {
+    MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/dogbreeds");
+    request.setRemoteAddr(address);
+    if (apiKey != null) {
+      request.addHeader(RateLimitFilter.API_KEY_HEADER, apiKey);
+    }
+    return request;
+  }
+}
@@ -0,0 +1,76 @@
+package com.github.vcxxxx.dogapi.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.vcxxxx.dogapi.ratelimit.TokenBucketLimiter.Decision;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketLimiterTest {
+
+  private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  private final AtomicLong clock = new AtomicLong(1_000 * SECOND);
+  private final TokenBucketLimiter limiter =
+      new TokenBucketLimiter(3, Duration.ofSeconds(3), clock::get);
+
+  @Test
+  void tryAcquire_AllowsBurstUpToLimit() {
+    assertEquals(2, limiter.tryAcquire("a").remaining());
+    assertEquals(1, limiter.tryAcquire("a").remaining());
+    Decision last = limiter.tryAcquire("a");
+    assertTrue(last.allowed());
+    assertEquals(0, last.remaining());
+    assertEquals(3 * SECOND, last.resetNanos());
+
+    Decision rejected = limiter.tryAcquire("a");
+    assertFalse(rejected.allowed());
+    assertEquals(SECOND, rejected.retryAfterNanos());
+    assertEquals(1, limiter.rejectedRequests());
+  }
+
+  @Test
+  void tryAcquire_RefillsContinuously() {
+    for (int i = 0; i < 3; i++) {
+      limiter.tryAcquire("a");
+    }
+    clock.addAndGet(SECOND / 2);
+    assertEquals(SECOND / 2, limiter.tryAcquire("a").retryAfterNanos());
+
+    clock.addAndGet(SECOND / 2);
+    Decision refilled = limiter.tryAcquire("a");
+    assertTrue(refilled.allowed());
+    assertEquals(0, refilled.remaining());
+
+    // A long pause refills the bucket only up to the limit
+    clock.addAndGet(60 * SECOND);
+    assertEquals(2, limiter.tryAcquire("a").remaining());
+  }
+
+  @Test
+  void tryAcquire_KeepsClientsApart() {
+    for (int i = 0; i < 3; i++) {
+      limiter.tryAcquire("a");
+    }
+    assertFalse(limiter.tryAcquire("a").allowed());
+    assertTrue(limiter.tryAcquire("b").allowed());
+    assertEquals(2, limiter.clients());
+  }
+
+  @Test
+  void evictIdle_DropsOnlyFullBuckets() {
+    limiter.tryAcquire("a");
+    clock.addAndGet(SECOND / 2);
+    limiter.tryAcquire("b");
+
+    clock.addAndGet(SECOND / 2);
+    limiter.evictIdle();
+    assertEquals(1, limiter.clients());
+
+    clock.addAndGet(SECOND);
+    limiter.evictIdle();
+    assertEquals(0, limiter.clients());
+  }
+}
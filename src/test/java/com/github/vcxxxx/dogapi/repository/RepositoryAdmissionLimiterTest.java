@@ -0,0 +1,73 @@
+package com.github.vcxxxx.dogapi.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.github.vcxxxx.dogapi.exception.ServiceOverloadedException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.Test;
+
+class RepositoryAdmissionLimiterTest {
+
+  private final RepositoryAdmissionLimiter limiter =
+      new RepositoryAdmissionLimiter(1, Duration.ofMillis(10), Duration.ofSeconds(2));
+
+  @Test
+  void invoke_OverLimit_RejectsWithRetryAfter() throws Throwable {
+    CountDownLatch entered = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    MethodInvocation blocking = mock(MethodInvocation.class);
+    when(blocking.proceed())
+        .thenAnswer(
+            invocation -> {
+              entered.countDown();
+              release.await();
+              return "done";
+            });
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<Object> first = executor.submit(() -> invokeUnchecked(blocking));
+      entered.await();
+
+      ServiceOverloadedException ex =
+          assertThrows(
+              ServiceOverloadedException.class, () -> limiter.invoke(mock(MethodInvocation.class)));
+      assertEquals(Duration.ofSeconds(2), ex.getRetryAfter());
+      assertEquals(1, limiter.activeCalls());
+      assertEquals(1, limiter.rejectedCalls());
+
+      release.countDown();
+      assertEquals("done", first.get());
+      assertEquals(0, limiter.activeCalls());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void invoke_NestedCall_ReusesPermit() throws Throwable {
+    MethodInvocation inner = mock(MethodInvocation.class);
+    when(inner.proceed()).thenReturn("inner");
+    MethodInvocation outer = mock(MethodInvocation.class);
+    when(outer.proceed()).thenAnswer(invocation -> limiter.invoke(inner));
+
+    assertEquals("inner", limiter.invoke(outer));
+    assertEquals(0, limiter.rejectedCalls());
+  }
+
+  private Object invokeUnchecked(MethodInvocation invocation) throws Exception {
+    try {
+      return limiter.invoke(invocation);
+    } catch (Exception | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new IllegalStateException(t);
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package com.github.vcxxxx.dogapi.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import com.github.vcxxxx.dogapi.repository.DogBreedRepository;
+import com.github.vcxxxx.dogapi.service.DogBreedChangedEvent;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class BreedSearchIndexHolderTest {
+
+  @Mock private DogBreedRepository dogBreedRepository;
+
+  private BreedSearchIndexHolder holder;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    when(dogBreedRepository.findAll())
+        .thenReturn(
+            List.of(
+                new DogBreed(1L, "bulldog", "boston", 0L),
+                new DogBreed(2L, "bulldog", "french", 0L)));
+    holder = new BreedSearchIndexHolder(dogBreedRepository);
+  }
+
+  @Test
+  void onDogBreedChanged_ChangesAppliedOutOfCommitOrder_KeepsNewestState() {
+    holder.get();
+
+    holder.onDogBreedChanged(
+        DogBreedChangedEvent.updated(
+            new DogBreed(2L, "bulldog", "french", 0L), new DogBreed(2L, "bulldog", "toy", 2L)));
+    holder.onDogBreedChanged(
+        DogBreedChangedEvent.updated(
+            new DogBreed(2L, "bulldog", "french", 0L), new DogBreed(2L, "bulldog", "old", 1L)));
+    holder.onDogBreedChanged(DogBreedChangedEvent.deleted(1L));
+    holder.onDogBreedChanged(
+        DogBreedChangedEvent.updated(
+            new DogBreed(1L, "bulldog", "boston", 0L), new DogBreed(1L, "bulldog", "gone", 1L)));
+    BreedSearchIndex index = holder.get();
+
+    assertEquals(1, index.size());
+    assertEquals("toy", index.search("bulldog", 10).get(0).getSubBreed());
+    assertTrue(index.search("old", 10).isEmpty());
+    verify(dogBreedRepository, times(1)).findAll();
+  }
+}
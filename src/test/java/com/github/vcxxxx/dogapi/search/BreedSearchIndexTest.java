@@ -0,0 +1,88 @@
+package com.github.vcxxxx.dogapi.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class BreedSearchIndexTest {
+
+  private final BreedSearchIndex index =
+      BreedSearchIndex.of(
+          List.of(
+              new DogBreed(1L, "bulldog", "boston"),
+              new DogBreed(2L, "bulldog", "french"),
+              new DogBreed(3L, "retriever", "golden"),
+              new DogBreed(4L, "retriever", "flatcoated"),
+              new DogBreed(5L, "pug", null),
+              new DogBreed(6L, "poodle", "toy")));
+
+  @Test
+  void search_Prefix_MatchesBreedAndSubBreed() {
+    assertEquals(List.of(1L, 2L), ids(index.search("bull", 10)));
+    assertEquals(List.of(2L, 4L), ids(index.search("F", 10)));
+  }
+
+  @Test
+  void search_Typos_MatchWithinTwoEdits() {
+    assertEquals(List.of(4L, 3L), ids(index.search("retreiver", 10)));
+    assertEquals(List.of(3L), ids(index.search("goldne", 10)));
+    assertEquals(List.of(), ids(index.search("xxxxxxx", 10)));
+  }
+
+  @Test
+  void search_ShortTypo_OnlyVerifiesTermsSharingBigrams() {
+    List<String> candidates = index.candidates("pag", 1);
+
+    assertTrue(candidates.contains("pug"));
+    assertTrue(candidates.size() <= 2, () -> "Not pruned: " + candidates);
+    assertEquals(List.of(5L), ids(index.search("pag", 10)));
+    assertTrue(index.candidates("frnech", 2).size() < index.termCount());
+  }
+
+  @Test
+  void search_ExactMatchesRankFirst() {
+    assertEquals(5L, index.search("pug", 10).get(0).getId());
+  }
+
+  @Test
+  void search_AllWordsMustMatch() {
+    assertEquals(List.of(2L), ids(index.search("french bull", 10)));
+    assertEquals(List.of(), ids(index.search("   ", 10)));
+  }
+
+  @Test
+  void with_AppliesUpsertsAndRemovals() {
+    BreedSearchIndex next =
+        index.with(List.of(new DogBreed(7L, "collie", "border")), List.of(1L, 2L));
+
+    assertEquals(List.of(), ids(next.search("bulldog", 10)));
+    assertEquals(List.of(7L), ids(next.search("bord", 10)));
+    assertEquals(List.of(1L, 2L), ids(index.search("bulldog", 10)));
+  }
+
+  @Test
+  void with_RenameAndRemovalOfSharedTerms_KeepOtherEntries() {
+    BreedSearchIndex next =
+        index.with(List.of(new DogBreed(1L, "bulldog", "french")), List.of(3L));
+
+    assertEquals(List.of(), ids(next.search("boston", 10)));
+    assertEquals(List.of(1L, 2L), ids(next.search("french", 10)));
+    assertEquals(List.of(4L), ids(next.search("retriever", 10)));
+    assertEquals(List.of(), ids(next.search("golden", 10)));
+    assertEquals(index.termCount() - 2, next.termCount());
+    assertEquals(List.of(4L), ids(next.search("retreiver", 10)));
+  }
+
+  @Test
+  void prefixEditDistance_MeasuresAgainstBestPrefix() {
+    assertEquals(0, BreedSearchIndex.prefixEditDistance("retr", "retriever", 2));
+    assertEquals(1, BreedSearchIndex.prefixEditDistance("rettr", "retriever", 2));
+    assertTrue(BreedSearchIndex.prefixEditDistance("zzzz", "retriever", 2) > 2);
+  }
+
+  private static List<Long> ids(List<DogBreed> breeds) {
+    return breeds.stream().map(DogBreed::getId).toList();
+  }
+}
@@ -0,0 +1,65 @@
+package com.github.vcxxxx.dogapi.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.github.vcxxxx.dogapi.repository.MetadataRepository;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+class CatalogVersionTest {
+
+  @Mock private MetadataRepository metadataRepository;
+
+  private CatalogVersion catalogVersion;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    catalogVersion = new CatalogVersion(metadataRepository);
+    TransactionSynchronizationManager.initSynchronization();
+  }
+
+  @AfterEach
+  void tearDown() {
+    TransactionSynchronizationManager.clearSynchronization();
+    TransactionSynchronizationManager.unbindResourceIfPossible(catalogVersion);
+  }
+
+  @Test
+  void onDogBreedChanged_AdvancesToVersionOfEventNotToPersistedOne() {
+    DogBreedChangedEvent event = DogBreedChangedEvent.deleted(1L);
+    when(metadataRepository.findValueByKey(CatalogVersion.CATALOG_VERSION_KEY))
+        .thenReturn(Optional.of("5"));
+    assertEquals(5L, catalogVersion.increment(event));
+
+    // Another writer commits the next version before the listener of this one runs
+    when(metadataRepository.findValueByKey(CatalogVersion.CATALOG_VERSION_KEY))
+        .thenReturn(Optional.of("6"));
+    catalogVersion.onDogBreedChanged(event);
+    catalogVersion.onDogBreedChanged(DogBreedChangedEvent.deleted(2L));
+
+    assertEquals(5L, catalogVersion.current());
+  }
+
+  @Test
+  void increment_VersionsAreDroppedWhenTransactionCompletes() {
+    when(metadataRepository.findValueByKey(CatalogVersion.CATALOG_VERSION_KEY))
+        .thenReturn(Optional.of("5"));
+    catalogVersion.increment(DogBreedChangedEvent.deleted(1L));
+
+    TransactionSynchronizationUtils.invokeAfterCompletion(
+        TransactionSynchronizationManager.getSynchronizations(),
+        TransactionSynchronization.STATUS_ROLLED_BACK);
+
+    assertFalse(TransactionSynchronizationManager.hasResource(catalogVersion));
+    assertTrue(CatalogVersion.APPLY_ORDER < CatalogVersion.ADVANCE_ORDER);
+  }
+}
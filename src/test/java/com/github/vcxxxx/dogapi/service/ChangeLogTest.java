@@ -0,0 +1,61 @@
+package com.github.vcxxxx.dogapi.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.github.vcxxxx.dogapi.exception.ChangeLogCompactedException;
+import com.github.vcxxxx.dogapi.model.DogBreedChange;
+import com.github.vcxxxx.dogapi.model.DogBreedChange.Kind;
+import com.github.vcxxxx.dogapi.repository.DogBreedChangeRepository;
+import com.github.vcxxxx.dogapi.repository.MetadataRepository;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class ChangeLogTest {
+
+  @Mock private DogBreedChangeRepository changeRepository;
+
+  @Mock private MetadataRepository metadataRepository;
+
+  @Mock private CatalogVersion catalogVersion;
+
+  private ChangeLog changeLog;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    changeLog =
+        new ChangeLog(changeRepository, metadataRepository, catalogVersion, Duration.ofDays(7));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void onDogBreedChanging_Deleted_AppendsTombstoneAtNextVersion() {
+    when(catalogVersion.increment(any())).thenReturn(8L);
+
+    changeLog.onDogBreedChanging(DogBreedChangedEvent.deleted(5L));
+
+    ArgumentCaptor<List<DogBreedChange>> appended = ArgumentCaptor.forClass(List.class);
+    verify(changeRepository).saveAll(appended.capture());
+    DogBreedChange entry = appended.getValue().get(0);
+    assertEquals(8L, entry.getCatalogVersion());
+    assertEquals(Kind.TOMBSTONE, entry.getKind());
+    assertEquals(5L, entry.getBreedId());
+    assertNull(entry.getBreed());
+  }
+
+  @Test
+  void changesSince_BelowFloor_ThrowsCompacted() {
+    when(catalogVersion.current()).thenReturn(20L);
+    when(metadataRepository.findValueByKey(ChangeLog.FLOOR_KEY)).thenReturn(Optional.of("10"));
+
+    assertThrows(ChangeLogCompactedException.class, () -> changeLog.changesSince(9, 100));
+    verifyNoInteractions(changeRepository);
+  }
+}
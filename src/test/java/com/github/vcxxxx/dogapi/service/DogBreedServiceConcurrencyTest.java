@@ -0,0 +1,126 @@
+package com.github.vcxxxx.dogapi.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.vcxxxx.dogapi.dto.BatchItemResult;
+import com.github.vcxxxx.dogapi.dto.BatchItemResult.Status;
+import com.github.vcxxxx.dogapi.exception.DogBreedVersionMismatchException;
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import com.github.vcxxxx.dogapi.repository.DogBreedRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+/**
+ * Runs concurrent writers against the real database, where only the unique constraint and the
+ * entity version keep them from creating duplicates or overwriting each other's updates.
+ */
+@SpringBootTest(
+    webEnvironment = WebEnvironment.NONE,
+    properties = "spring.datasource.url=jdbc:h2:mem:concurrency;DB_CLOSE_DELAY=-1")
+class DogBreedServiceConcurrencyTest {
+
+  private static final int WRITERS = 8;
+  private static final int UPDATES_PER_WRITER = 25;
+
+  @Autowired private DogBreedService dogBreedService;
+  @Autowired private DogBreedRepository dogBreedRepository;
+
+  @Test
+  void createBreed_ConcurrentCreators_CreateOneEntry() throws Exception {
+    List<DogBreed> created =
+        runConcurrently(writer -> dogBreedService.createBreed(new DogBreed("stressdog", null)));
+
+    assertEquals(1, dogBreedRepository.findByBreed("stressdog").size());
+    Long id = created.get(0).getId();
+    assertTrue(created.stream().allMatch(breed -> breed.getId().equals(id)));
+  }
+
+  @Test
+  void createBreeds_ConcurrentOverlappingBatches_CreateEachEntryOnce() throws Exception {
+    List<List<BatchItemResult>> results =
+        runConcurrently(
+            writer ->
+                dogBreedService.createBreeds(
+                    List.of(
+                        new DogBreed("batchdog", "shared"),
+                        new DogBreed("batchdog", "own" + writer))));
+
+    assertEquals(WRITERS + 1, dogBreedRepository.findByBreed("batchdog").size());
+    long sharedCreated =
+        results.stream().filter(batch -> batch.get(0).status() == Status.CREATED).count();
+    assertEquals(1, sharedCreated);
+    assertTrue(results.stream().allMatch(batch -> batch.get(1).status() == Status.CREATED));
+  }
+
+  @Test
+  void updateBreed_ConcurrentConditionalUpdates_LoseNoUpdate() throws Exception {
+    DogBreed breed = dogBreedService.createBreed(new DogBreed("racedog", "v0"));
+    long initialVersion = dogBreedService.getBreedVersion(breed.getId());
+
+    runConcurrently(
+        writer -> {
+          for (int i = 0; i < UPDATES_PER_WRITER; i++) {
+            DogBreed update = new DogBreed("racedog", "w" + writer + "-" + i);
+            while (!tryUpdate(breed.getId(), update)) {
+              // Lost the race; read the new version and try again
+            }
+          }
+          return null;
+        });
+
+    // Every successful update moved the version by exactly one, so none was overwritten
+    assertEquals(
+        initialVersion + WRITERS * UPDATES_PER_WRITER,
+        dogBreedService.getBreedVersion(breed.getId()));
+  }
+
+  private boolean tryUpdate(Long id, DogBreed update) {
+    long version = dogBreedService.getBreedVersion(id);
+    try {
+      dogBreedService.updateBreed(id, update, version);
+      return true;
+    } catch (DogBreedVersionMismatchException | OptimisticLockingFailureException e) {
+      return false;
+    }
+  }
+
+  private <T> List<T> runConcurrently(Writer<T> writer) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+    CountDownLatch start = new CountDownLatch(1);
+    try {
+      List<Future<T>> futures = new ArrayList<>();
+      for (int i = 0; i < WRITERS; i++) {
+        int index = i;
+        Callable<T> task =
+            () -> {
+              start.await();
+              return writer.run(index);
+            };
+        futures.add(executor.submit(task));
+      }
+      start.countDown();
+      List<T> results = new ArrayList<>();
+      for (Future<T> future : futures) {
+        results.add(future.get());
+      }
+      return results;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @FunctionalInterface
+  private interface Writer<T> {
+    T run(int writer) throws Exception;
+  }
+}
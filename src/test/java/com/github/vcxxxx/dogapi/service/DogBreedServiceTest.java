@@ -3,27 +3,71 @@ package com.github.vcxxxx.dogapi.service;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.vcxxxx.dogapi.cache.DogBreedLookupCache;
+import com.github.vcxxxx.dogapi.catalog.BreedTreeHolder;
+import com.github.vcxxxx.dogapi.catalog.CatalogSnapshotHolder;
+import com.github.vcxxxx.dogapi.dto.BatchItemResult;
+import com.github.vcxxxx.dogapi.dto.BatchItemResult.Status;
+import com.github.vcxxxx.dogapi.dto.DogBreedPage;
 import com.github.vcxxxx.dogapi.exception.DogBreedNotFoundException;
+import com.github.vcxxxx.dogapi.exception.DogBreedVersionMismatchException;
+import com.github.vcxxxx.dogapi.exception.DuplicateDogBreedException;
 import com.github.vcxxxx.dogapi.model.DogBreed;
 import com.github.vcxxxx.dogapi.repository.DogBreedRepository;
+import com.github.vcxxxx.dogapi.repository.MetadataRepository;
+import com.github.vcxxxx.dogapi.search.BreedSearchIndexHolder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 class DogBreedServiceTest {
 
   @Mock private DogBreedRepository dogBreedRepository;
 
-  @InjectMocks private DogBreedService dogBreedService;
+  @Mock private MetadataRepository metadataRepository;
+
+  @Mock private EntityManager entityManager;
+
+  @Mock private ApplicationEventPublisher eventPublisher;
+
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private DogBreedService dogBreedService;
 
   private DogBreed sampleDog;
 
   @BeforeEach
   void setUp() {
     MockitoAnnotations.openMocks(this);
+    dogBreedService =
+        new DogBreedService(
+            dogBreedRepository,
+            entityManager,
+            new DogBreedLookupCache(100, Duration.ofMinutes(1)),
+            new CatalogSnapshotHolder(false, dogBreedRepository, new ObjectMapper()),
+            new BreedTreeHolder(dogBreedRepository, new ObjectMapper()),
+            new BreedSearchIndexHolder(dogBreedRepository),
+            new CatalogVersion(metadataRepository),
+            eventPublisher,
+            new DogBreedMetrics(meterRegistry),
+            new TransactionTemplate(transactionManager));
     sampleDog = new DogBreed(1L, "bulldog", "french");
   }
 
@@ -38,6 +82,43 @@ class DogBreedServiceTest {
     verify(dogBreedRepository, times(1)).findAll();
   }
 
+  @Test
+  void getBreedsPage_MoreRowsThanLimit_ReturnsNextCursor() {
+    DogBreed second = new DogBreed(2L, "bulldog", "boston");
+    DogBreed third = new DogBreed(3L, "collie", "border");
+    when(dogBreedRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3)))
+        .thenReturn(List.of(sampleDog, second, third));
+
+    DogBreedPage page = dogBreedService.getBreedsPage(null, 2);
+
+    assertEquals(List.of(sampleDog, second), page.items());
+    assertEquals(2L, page.nextCursor());
+  }
+
+  @Test
+  void getBreedsPage_LastPage_HasNoNextCursor() {
+    when(dogBreedRepository.findByIdGreaterThanOrderByIdAsc(1L, Limit.of(3)))
+        .thenReturn(Collections.singletonList(sampleDog));
+
+    DogBreedPage page = dogBreedService.getBreedsPage(1L, 2);
+
+    assertEquals(1, page.items().size());
+    assertFalse(page.hasNext());
+  }
+
+  @Test
+  void streamAllBreeds_DetachesEachRowAfterConsuming() {
+    DogBreed second = new DogBreed(2L, "bulldog", "boston");
+    when(dogBreedRepository.streamAllOrderedById()).thenReturn(Stream.of(sampleDog, second));
+
+    List<DogBreed> consumed = new ArrayList<>();
+    dogBreedService.streamAllBreeds(consumed::add);
+
+    assertEquals(List.of(sampleDog, second), consumed);
+    verify(entityManager).detach(sampleDog);
+    verify(entityManager).detach(second);
+  }
+
   @Test
   void getBreedById_Found_ReturnsDogBreed() {
     when(dogBreedRepository.findById(1L)).thenReturn(Optional.of(sampleDog));
@@ -47,6 +128,32 @@ class DogBreedServiceTest {
     assertEquals("bulldog", result.getBreed());
   }
 
+  @Test
+  void getBreedById_RepeatedLookup_HitsRepositoryOnce() {
+    when(dogBreedRepository.findById(1L)).thenReturn(Optional.of(sampleDog));
+
+    dogBreedService.getBreedById(1L);
+    DogBreed result = dogBreedService.getBreedById(1L);
+
+    assertEquals(sampleDog, result);
+    verify(dogBreedRepository, times(1)).findById(1L);
+  }
+
+  @Test
+  void getBreedVersion_ReadsVersionWithoutLoadingEntity() {
+    when(dogBreedRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+
+    assertEquals(3L, dogBreedService.getBreedVersion(1L));
+    verify(dogBreedRepository, never()).findById(anyLong());
+  }
+
+  @Test
+  void getBreedVersion_NotFound_ThrowsException() {
+    when(dogBreedRepository.findVersionById(2L)).thenReturn(Optional.empty());
+
+    assertThrows(DogBreedNotFoundException.class, () -> dogBreedService.getBreedVersion(2L));
+  }
+
   @Test
   void getBreedById_NotFound_ThrowsException() {
     when(dogBreedRepository.findById(2L)).thenReturn(Optional.empty());
@@ -55,13 +162,97 @@ class DogBreedServiceTest {
   }
 
   @Test
-  void createBreed_SavesAndReturnsDogBreed() {
-    when(dogBreedRepository.save(sampleDog)).thenReturn(sampleDog);
+  void createBreed_InsertsWithoutLookingUpFirst() {
+    when(dogBreedRepository.saveAndFlush(any(DogBreed.class))).thenReturn(sampleDog);
 
-    DogBreed result = dogBreedService.createBreed(sampleDog);
+    DogBreed result = dogBreedService.createBreed(new DogBreed("bulldog", "french"));
 
     assertEquals(sampleDog, result);
-    verify(dogBreedRepository, times(1)).save(sampleDog);
+    verify(dogBreedRepository).saveAndFlush(new DogBreed("bulldog", "french"));
+    verify(dogBreedRepository, never()).findByBreedAndSubBreed(any(), any());
+    verify(eventPublisher).publishEvent(DogBreedChangedEvent.created(sampleDog));
+    verify(transactionManager).commit(any());
+  }
+
+  @Test
+  void createBreed_RejectedByConstraint_RollsBackAndReturnsExisting() {
+    when(dogBreedRepository.saveAndFlush(any(DogBreed.class)))
+        .thenThrow(duplicateKey());
+    when(dogBreedRepository.findByBreedAndSubBreed("bulldog", "french"))
+        .thenReturn(Optional.of(sampleDog));
+
+    DogBreed result = dogBreedService.createBreed(new DogBreed(null, "bulldog", "french"));
+
+    assertEquals(sampleDog, result);
+    verify(transactionManager).rollback(any());
+    verifyNoInteractions(eventPublisher);
+  }
+
+  @Test
+  void createBreed_ConflictingEntryKeepsVanishing_GivesUp() {
+    when(dogBreedRepository.saveAndFlush(any(DogBreed.class)))
+        .thenThrow(duplicateKey());
+    when(dogBreedRepository.findByBreedAndSubBreed("bulldog", "french"))
+        .thenReturn(Optional.empty());
+
+    assertThrows(
+        DataIntegrityViolationException.class,
+        () -> dogBreedService.createBreed(new DogBreed("bulldog", "french")));
+    verify(dogBreedRepository, times(3)).saveAndFlush(any(DogBreed.class));
+  }
+
+  @Test
+  void createBreeds_ResolvesExistingInOneQueryAndInsertsTheRest() {
+    DogBreed boston = new DogBreed(null, "bulldog", "boston");
+    DogBreed french = new DogBreed(null, "bulldog", "french");
+    DogBreed bostonAgain = new DogBreed(null, "bulldog", "boston");
+    when(dogBreedRepository.findByBreedIn(List.of("bulldog"))).thenReturn(List.of(sampleDog));
+
+    List<BatchItemResult> results =
+        dogBreedService.createBreeds(List.of(boston, french, bostonAgain));
+
+    assertEquals(
+        List.of(Status.CREATED, Status.EXISTING, Status.EXISTING),
+        results.stream().map(BatchItemResult::status).toList());
+    assertSame(sampleDog, results.get(1).breed());
+    assertSame(results.get(0).breed(), results.get(2).breed());
+    verify(dogBreedRepository, times(1)).findByBreedIn(anyCollection());
+    verify(dogBreedRepository).saveAllAndFlush(List.of(boston));
+    verify(dogBreedRepository, never()).findByBreedAndSubBreed(any(), any());
+  }
+
+  @Test
+  void createBreeds_ConcurrentDuplicate_RetriesAndReportsItExisting() {
+    DogBreed french = new DogBreed(null, "bulldog", "french");
+    DogBreed boston = new DogBreed(null, "bulldog", "boston");
+    // French is created by another writer between the first lookup and the insert
+    when(dogBreedRepository.findByBreedIn(List.of("bulldog")))
+        .thenReturn(List.of())
+        .thenReturn(List.of(sampleDog));
+    when(dogBreedRepository.saveAllAndFlush(anyCollection()))
+        .thenThrow(duplicateKey())
+        .thenAnswer(invocation -> invocation.getArgument(0));
+
+    List<BatchItemResult> results = dogBreedService.createBreeds(List.of(french, boston));
+
+    assertEquals(
+        List.of(Status.EXISTING, Status.CREATED),
+        results.stream().map(BatchItemResult::status).toList());
+    assertSame(sampleDog, results.get(0).breed());
+    verify(dogBreedRepository).saveAllAndFlush(List.of(boston));
+    verify(transactionManager).rollback(any());
+    verify(eventPublisher, times(1)).publishEvent(DogBreedChangedEvent.created(List.of(boston)));
+  }
+
+  @Test
+  void createBreeds_NonDuplicateViolation_IsNotRetried() {
+    when(dogBreedRepository.saveAllAndFlush(anyCollection()))
+        .thenThrow(new DataIntegrityViolationException("value too long"));
+
+    assertThrows(
+        DataIntegrityViolationException.class,
+        () -> dogBreedService.createBreeds(List.of(new DogBreed("bulldog", "french"))));
+    verify(dogBreedRepository, times(1)).saveAllAndFlush(anyCollection());
   }
 
   @Test
@@ -69,13 +260,51 @@ class DogBreedServiceTest {
     DogBreed updatedDog = new DogBreed(null, "bulldog", "boston");
 
     when(dogBreedRepository.findById(1L)).thenReturn(Optional.of(sampleDog));
-    when(dogBreedRepository.save(any(DogBreed.class)))
+    when(dogBreedRepository.saveAndFlush(any(DogBreed.class)))
         .thenAnswer(invocation -> invocation.getArgument(0));
 
     DogBreed result = dogBreedService.updateBreed(1L, updatedDog);
 
     assertEquals("bulldog", result.getBreed());
     assertEquals("boston", result.getSubBreed());
+    verify(dogBreedRepository, never()).findByBreedAndSubBreed(any(), any());
+  }
+
+  @Test
+  void updateBreed_ExpectedVersionOutdated_ThrowsWithoutWriting() {
+    sampleDog.setVersion(3L);
+    when(dogBreedRepository.findById(1L)).thenReturn(Optional.of(sampleDog));
+
+    assertThrows(
+        DogBreedVersionMismatchException.class,
+        () -> dogBreedService.updateBreed(1L, new DogBreed("bulldog", "boston"), 2L));
+    verify(dogBreedRepository, never()).saveAndFlush(any(DogBreed.class));
+  }
+
+  @Test
+  void updateBreed_RejectedByConstraint_ThrowsDuplicate() {
+    when(dogBreedRepository.findById(1L)).thenReturn(Optional.of(sampleDog));
+    when(dogBreedRepository.saveAndFlush(any(DogBreed.class)))
+        .thenThrow(duplicateKey());
+
+    assertThrows(
+        DuplicateDogBreedException.class,
+        () -> dogBreedService.updateBreed(1L, new DogBreed("bulldog", "boston")));
+    verifyNoInteractions(eventPublisher);
+  }
+
+  @Test
+  void updateBreed_RejectedByOtherConstraint_IsNotReportedAsDuplicate() {
+    DataIntegrityViolationException tooLong =
+        new DataIntegrityViolationException("value too long", new SQLException("long", "22001"));
+    when(dogBreedRepository.findById(1L)).thenReturn(Optional.of(sampleDog));
+    when(dogBreedRepository.saveAndFlush(any(DogBreed.class))).thenThrow(tooLong);
+
+    assertSame(
+        tooLong,
+        assertThrows(
+            DataIntegrityViolationException.class,
+            () -> dogBreedService.updateBreed(1L, new DogBreed("bulldog", "boston"))));
   }
 
   @Test
@@ -89,11 +318,64 @@ class DogBreedServiceTest {
   }
 
   @Test
-  void deleteBreed_Found_DeletesSuccessfully() {
-    when(dogBreedRepository.existsById(1L)).thenReturn(true);
-    doNothing().when(dogBreedRepository).deleteById(1L);
+  void deleteBreed_Found_DeletesWithOneStatement() {
+    when(dogBreedRepository.removeById(1L)).thenReturn(1);
 
     assertDoesNotThrow(() -> dogBreedService.deleteBreed(1L));
-    verify(dogBreedRepository, times(1)).deleteById(1L);
+    verify(dogBreedRepository, times(1)).removeById(1L);
+    verify(dogBreedRepository, never()).existsById(any());
+    verify(dogBreedRepository, never()).findById(any());
+    verify(eventPublisher).publishEvent(DogBreedChangedEvent.deleted(1L));
+  }
+
+  @Test
+  void deleteBreed_NotFound_IgnoredWithoutEvent() {
+    assertDoesNotThrow(() -> dogBreedService.deleteBreed(2L));
+    verifyNoInteractions(eventPublisher);
+  }
+
+  @Test
+  void deleteBreeds_DeletesExistingIdsOnly() {
+    when(dogBreedRepository.findIdsByIdIn(List.of(1L, 2L, 3L))).thenReturn(List.of(1L, 3L));
+    when(dogBreedRepository.removeByIdIn(List.of(1L, 3L))).thenReturn(2);
+
+    assertEquals(2, dogBreedService.deleteBreeds(List.of(1L, 2L, 3L)));
+    verify(eventPublisher).publishEvent(DogBreedChangedEvent.deleted(List.of(1L, 3L)));
+  }
+
+  @Test
+  void deleteBreeds_NoneExist_IgnoredWithoutEvent() {
+    assertEquals(0, dogBreedService.deleteBreeds(List.of(7L, 8L)));
+    verify(dogBreedRepository, never()).removeByIdIn(anyCollection());
+    verifyNoInteractions(eventPublisher);
+  }
+
+  @Test
+  void serviceCalls_RecordedPerOperationAndOutcome() {
+    when(dogBreedRepository.saveAndFlush(any(DogBreed.class)))
+        .thenThrow(duplicateKey());
+    when(dogBreedRepository.findByBreedAndSubBreed("bulldog", "french"))
+        .thenReturn(Optional.of(sampleDog));
+
+    dogBreedService.createBreed(new DogBreed("bulldog", "french"));
+    dogBreedService.deleteBreed(2L);
+    assertThrows(DogBreedNotFoundException.class, () -> dogBreedService.getBreedById(3L));
+
+    assertEquals(1, serviceCalls("create", "existing"));
+    assertEquals(1, serviceCalls("delete", "absent"));
+    assertEquals(1, serviceCalls("get_by_id", "not_found"));
+  }
+
+  private static DataIntegrityViolationException duplicateKey() {
+    return new DataIntegrityViolationException(
+        "uk_dog_breeds_breed_sub_breed", new SQLException("duplicate", "23505"));
+  }
+
+  private long serviceCalls(String operation, String outcome) {
+    return meterRegistry
+        .get(DogBreedMetrics.SERVICE_TIMER)
+        .tags("operation", operation, "outcome", outcome)
+        .timer()
+        .count();
   }
 }
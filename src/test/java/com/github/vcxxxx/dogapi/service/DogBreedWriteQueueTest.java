@@ -0,0 +1,99 @@
+package com.github.vcxxxx.dogapi.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.vcxxxx.dogapi.exception.DogBreedNotFoundException;
+import com.github.vcxxxx.dogapi.exception.DogBreedVersionMismatchException;
+import com.github.vcxxxx.dogapi.exception.DuplicateDogBreedException;
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import com.github.vcxxxx.dogapi.repository.DogBreedRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+
+/**
+ * Queues writes faster than the writer's grouping delay, so that they are committed in one
+ * transaction, and checks that every caller still gets its own outcome.
+ */
+@SpringBootTest(
+    webEnvironment = WebEnvironment.NONE,
+    properties = {
+      "spring.datasource.url=jdbc:h2:mem:writequeue;DB_CLOSE_DELAY=-1",
+      "dogapi.write-queue.enabled=true",
+      "dogapi.write-queue.max-delay=PT0.2S"
+    })
+class DogBreedWriteQueueTest {
+
+  @Autowired private DogBreedWriteQueue writeQueue;
+  @Autowired private DogBreedService dogBreedService;
+  @Autowired private DogBreedRepository dogBreedRepository;
+
+  @Test
+  void createBreed_GroupedCreates_CreateEachEntryOnce() throws Exception {
+    long versionBefore = dogBreedService.getCatalogVersion();
+    List<CompletableFuture<DogBreed>> creates = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      creates.add(writeQueue.createBreed(new DogBreed("queuedog", "s" + (i % 10))));
+    }
+
+    for (int i = 0; i < 20; i++) {
+      DogBreed created = creates.get(i).get();
+      assertEquals("s" + (i % 10), created.getSubBreed());
+      assertEquals(creates.get(i % 10).get().getId(), created.getId());
+    }
+    assertEquals(10, dogBreedRepository.findByBreed("queuedog").size());
+    // Every write is still its own catalog version
+    assertEquals(versionBefore + 10, dogBreedService.getCatalogVersion());
+  }
+
+  @Test
+  void groupedWrites_FailOnlyTheirOwnCaller() throws Exception {
+    DogBreed breed = dogBreedService.createBreed(new DogBreed("groupdog", "a"));
+    dogBreedService.createBreed(new DogBreed("groupdog", "b"));
+    long version = dogBreedService.getBreedVersion(breed.getId());
+
+    CompletableFuture<DogBreed> missing =
+        writeQueue.updateBreed(Long.MAX_VALUE, new DogBreed("groupdog", "x"), null);
+    CompletableFuture<DogBreed> stale =
+        writeQueue.updateBreed(breed.getId(), new DogBreed("groupdog", "x"), version + 1);
+    CompletableFuture<DogBreed> duplicate =
+        writeQueue.updateBreed(breed.getId(), new DogBreed("groupdog", "b"), null);
+    CompletableFuture<DogBreed> updated =
+        writeQueue.updateBreed(breed.getId(), new DogBreed("groupdog", "c"), version);
+    CompletableFuture<DogBreed> created = writeQueue.createBreed(new DogBreed("groupdog", "d"));
+
+    assertCause(DogBreedNotFoundException.class, missing);
+    assertCause(DogBreedVersionMismatchException.class, stale);
+    assertCause(DuplicateDogBreedException.class, duplicate);
+    assertEquals("c", updated.get().getSubBreed());
+    assertEquals(version + 1, updated.get().getVersion());
+    assertNotNull(created.get().getId());
+    assertEquals("c", dogBreedService.getBreedById(breed.getId()).getSubBreed());
+  }
+
+  @Test
+  void groupedWrites_SeeEarlierWritesOfTheirGroup() throws Exception {
+    CompletableFuture<DogBreed> created = writeQueue.createBreed(new DogBreed("seqdog", null));
+    DogBreed breed = created.get();
+
+    CompletableFuture<DogBreed> renamed =
+        writeQueue.updateBreed(breed.getId(), new DogBreed("seqdog", "renamed"), null);
+    CompletableFuture<Void> deleted = writeQueue.deleteBreed(breed.getId());
+    CompletableFuture<DogBreed> recreated = writeQueue.createBreed(new DogBreed("seqdog", null));
+
+    assertEquals("renamed", renamed.get().getSubBreed());
+    deleted.get();
+    assertNotEquals(breed.getId(), recreated.get().getId());
+    assertEquals(1, dogBreedRepository.findByBreed("seqdog").size());
+  }
+
+  private static void assertCause(Class<? extends Throwable> expected, CompletableFuture<?> write) {
+    ExecutionException e = assertThrows(ExecutionException.class, write::get);
+    assertInstanceOf(expected, e.getCause());
+  }
+}
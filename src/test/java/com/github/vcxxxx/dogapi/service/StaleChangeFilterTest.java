@@ -0,0 +1,63 @@
+package com.github.vcxxxx.dogapi.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.vcxxxx.dogapi.model.DogBreed;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class StaleChangeFilterTest {
+
+  private StaleChangeFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    filter = new StaleChangeFilter();
+    filter.reset(List.of(new DogBreed(1L, "bulldog", "boston", 3L)));
+  }
+
+  @Test
+  void accept_NewerUpdate_IsPassedOn() {
+    assertEquals(1, filter.accept(updated(1L, 4L).changes()).size());
+  }
+
+  @Test
+  void accept_UpdateNotNewerThanApplied_IsDropped() {
+    assertTrue(filter.accept(updated(1L, 3L).changes()).isEmpty());
+
+    filter.accept(updated(1L, 5L).changes());
+    assertTrue(filter.accept(updated(1L, 4L).changes()).isEmpty());
+  }
+
+  @Test
+  void accept_ChangesOfDeletedBreed_AreDropped() {
+    assertEquals(1, filter.accept(DogBreedChangedEvent.deleted(1L).changes()).size());
+
+    assertTrue(filter.accept(updated(1L, 9L).changes()).isEmpty());
+    assertTrue(filter.accept(DogBreedChangedEvent.deleted(1L).changes()).isEmpty());
+  }
+
+  @Test
+  void accept_CreateOfUnknownBreed_IsPassedOn() {
+    DogBreedChangedEvent created =
+        DogBreedChangedEvent.created(new DogBreed(2L, "collie", "border", 0L));
+
+    assertEquals(1, filter.accept(created.changes()).size());
+    assertTrue(filter.accept(created.changes()).isEmpty());
+  }
+
+  @Test
+  void reset_BreedFoundAgain_ForgetsItsDeletion() {
+    filter.accept(DogBreedChangedEvent.deleted(1L).changes());
+
+    filter.reset(List.of(new DogBreed(1L, "bulldog", "boston", 0L)));
+
+    assertEquals(1, filter.accept(updated(1L, 1L).changes()).size());
+  }
+
+  private static DogBreedChangedEvent updated(Long id, long version) {
+    return DogBreedChangedEvent.updated(
+        new DogBreed(id, "bulldog", "boston"), new DogBreed(id, "bulldog", "v" + version, version));
+  }
+}